@@ -5,11 +5,16 @@
  */
 package io.jooby;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.Charset;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
@@ -69,7 +74,7 @@ public interface Body extends ValueNode {
   long getSize();
 
   /**
-   * Body as readable channel.
+   * Body as readable channel. Bodies on file system are read with a {@link FileChannel}.
    *
    * @return Body as readable channel.
    */
@@ -82,6 +87,85 @@ public interface Body extends ValueNode {
    */
   @NonNull InputStream stream();
 
+  /**
+   * HTTP body as read-only byte buffer. In-memory bodies are wrapped (no copy), bodies on file
+   * system are memory-mapped, so large uploads don't go through the heap. Body read from a stream
+   * are fully read into memory.
+   *
+   * <p>Buffer is valid while the request is active, don't keep a reference to it.
+   *
+   * @return Body as read-only byte buffer.
+   * @since 3.0.7
+   */
+  default @NonNull ByteBuffer buffer() {
+    return ByteBuffer.wrap(bytes()).asReadOnlyBuffer();
+  }
+
+  /**
+   * Write HTTP body into the given channel. Bodies on file system are transferred with {@link
+   * FileChannel#transferTo(long, long, WritableByteChannel)}, which (most of the time) copies data
+   * without going through the heap.
+   *
+   * @param channel Target channel. Caller is responsible for closing it.
+   * @return Number of bytes written.
+   * @since 3.0.7
+   */
+  default long transferTo(@NonNull WritableByteChannel channel) {
+    try {
+      if (isInMemory()) {
+        ByteBuffer buffer = buffer();
+        long size = buffer.remaining();
+        while (buffer.hasRemaining()) {
+          channel.write(buffer);
+        }
+        return size;
+      }
+      try (ReadableByteChannel source = channel()) {
+        if (source instanceof FileChannel file) {
+          long position = 0;
+          long size = file.size();
+          while (position < size) {
+            position += file.transferTo(position, size - position, channel);
+          }
+          return position;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(ServerOptions._16KB);
+        long size = 0;
+        while (source.read(buffer) != -1) {
+          buffer.flip();
+          size += buffer.remaining();
+          while (buffer.hasRemaining()) {
+            channel.write(buffer);
+          }
+          buffer.clear();
+        }
+        return size;
+      }
+    } catch (IOException x) {
+      throw SneakyThrows.propagate(x);
+    }
+  }
+
+  /**
+   * Write HTTP body into the given file. File is created or truncated.
+   *
+   * @param file Target file.
+   * @return Number of bytes written.
+   * @since 3.0.7
+   */
+  default long transferTo(@NonNull Path file) {
+    try (FileChannel channel =
+        FileChannel.open(
+            file,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING)) {
+      return transferTo(channel);
+    } catch (IOException x) {
+      throw SneakyThrows.propagate(x);
+    }
+  }
+
   @NonNull @Override
   default <T> List<T> toList(@NonNull Class<T> type) {
     return to(Reified.list(type).getType());
@@ -26,6 +26,7 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiFunction;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
@@ -53,6 +54,13 @@ public interface Context extends Registry {
   /** Constant for <code>Accept</code> header. */
   String ACCEPT = "Accept";
 
+  /**
+   * Context attribute with the time (in nanoseconds) a request waited for a worker thread. Only
+   * present when {@link RouterOption#QUEUE_TIME} is enabled and route was dispatched to an
+   * executor.
+   */
+  String QUEUE_TIME = "queueTime";
+
   /** Constant for GMT. */
   ZoneId GMT = ZoneId.of("GMT");
 
@@ -935,6 +943,19 @@ public interface Context extends Registry {
    */
   @NonNull Context dispatch(@NonNull Executor executor, @NonNull Runnable action);
 
+  /**
+   * Run a task once after the given delay, using the server scheduler. Task runs on the IO thread
+   * of the current connection (Netty and Undertow) or on a server worker thread (Jetty, where
+   * response writes are blocking). Task must not block on anything but the response.
+   *
+   * @param task Task to run.
+   * @param delay Delay.
+   * @param unit Delay unit.
+   * @return This context.
+   * @since 3.0.7
+   */
+  @NonNull Context schedule(@NonNull Runnable task, long delay, @NonNull TimeUnit unit);
+
   /**
    * Tells context that response will be generated form a different thread. This operation is
    * similar to {@link #dispatch(Runnable)} except there is no thread dispatching here.
@@ -1163,6 +1184,17 @@ public interface Context extends Registry {
    */
   @NonNull Context responseStream(@NonNull SneakyThrows.Consumer<OutputStream> consumer) throws Exception;
 
+  /**
+   * Write the response into a server buffer and send it, with a <code>Content-Length</code> header,
+   * once the consumer returns. Buffer is discarded and nothing is sent when the consumer fails.
+   * Usually for {@link StreamingMessageEncoder}.
+   *
+   * @param consumer Output stream consumer.
+   * @return This context.
+   * @throws Exception Is something goes wrong.
+   */
+  @NonNull Context responseBuffer(@NonNull SneakyThrows.Consumer<OutputStream> consumer) throws Exception;
+
   /**
    * HTTP response channel as chunker.
    *
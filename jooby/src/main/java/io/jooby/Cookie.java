@@ -9,6 +9,7 @@ import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneId;
@@ -42,6 +43,11 @@ public class Cookie {
   /** Algorithm name. */
   public static final String HMAC_SHA256 = "HmacSHA256";
 
+  /** Per thread HMAC instance, initialized with the last used secret. */
+  private static final ThreadLocal<Hmac> HMAC = new ThreadLocal<>();
+
+  private record Hmac(String secret, Mac mac) {}
+
   private static final DateTimeFormatter fmt =
       DateTimeFormatter.ofPattern("EEE, dd-MMM-yyyy HH:mm:ss z", Locale.US)
           .withZone(ZoneId.of("GMT"));
@@ -457,14 +463,7 @@ public class Cookie {
    * @return A signed value.
    */
   public static @NonNull String sign(final @NonNull String value, final @NonNull String secret) {
-    try {
-      Mac mac = Mac.getInstance(HMAC_SHA256);
-      mac.init(new SecretKeySpec(secret.getBytes(), HMAC_SHA256));
-      byte[] bytes = mac.doFinal(value.getBytes());
-      return Base64.getEncoder().withoutPadding().encodeToString(bytes) + "|" + value;
-    } catch (Exception x) {
-      throw SneakyThrows.propagate(x);
-    }
+    return new String(signature(value, secret), StandardCharsets.US_ASCII) + "|" + value;
   }
 
   /**
@@ -481,7 +480,32 @@ public class Cookie {
       return null;
     }
     String str = value.substring(sep + 1);
-    return sign(str, secret).equals(value) ? str : null;
+    byte[] signature = value.substring(0, sep).getBytes(StandardCharsets.US_ASCII);
+    // constant time comparison
+    return MessageDigest.isEqual(signature(str, secret), signature) ? str : null;
+  }
+
+  /**
+   * Compute the base64 (no padding) HMAC of the given value. Mac instances are reused per thread.
+   *
+   * @param value Value to sign.
+   * @param secret A secret key.
+   * @return Base64 signature.
+   */
+  private static byte[] signature(String value, String secret) {
+    try {
+      Hmac hmac = HMAC.get();
+      if (hmac == null || !hmac.secret.equals(secret)) {
+        Mac mac = Mac.getInstance(HMAC_SHA256);
+        mac.init(new SecretKeySpec(secret.getBytes(), HMAC_SHA256));
+        hmac = new Hmac(secret, mac);
+        HMAC.set(hmac);
+      }
+      byte[] bytes = hmac.mac.doFinal(value.getBytes());
+      return Base64.getEncoder().withoutPadding().encode(bytes);
+    } catch (Exception x) {
+      throw SneakyThrows.propagate(x);
+    }
   }
 
   /**
@@ -5,7 +5,6 @@
  */
 package io.jooby;
 
-import static java.util.Collections.singletonList;
 import static java.util.Optional.ofNullable;
 
 import java.io.FileInputStream;
@@ -23,9 +22,7 @@ import java.time.Instant;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 
@@ -34,6 +31,8 @@ import edu.umd.cs.findbugs.annotations.Nullable;
 import io.jooby.exception.RegistryException;
 import io.jooby.internal.HashValue;
 import io.jooby.internal.MissingValue;
+import io.jooby.internal.ResponseBuffer;
+import io.jooby.internal.RouteEncoder;
 import io.jooby.internal.SingleValue;
 import io.jooby.internal.UrlParser;
 import io.jooby.internal.ValueConverters;
@@ -225,7 +224,16 @@ public interface DefaultContext extends Context {
 
   @Override
   default boolean accept(@NonNull MediaType contentType) {
-    return Objects.equals(accept(singletonList(contentType)), contentType);
+    Value accept = header(ACCEPT);
+    if (accept.isMissing()) {
+      return true;
+    }
+    for (MediaType acceptType : acceptTypes(accept)) {
+      if (contentType.matches(acceptType)) {
+        return true;
+      }
+    }
+    return false;
   }
 
   @Override
@@ -237,12 +245,7 @@ public interface DefaultContext extends Context {
     }
 
     // Sort accept by most relevant/specific first:
-    List<MediaType> acceptTypes =
-        accept.toList().stream()
-            .flatMap(value -> MediaType.parse(value).stream())
-            .distinct()
-            .sorted()
-            .collect(Collectors.toList());
+    List<MediaType> acceptTypes = acceptTypes(accept);
 
     // Find most appropriated type:
     int idx = Integer.MAX_VALUE;
@@ -262,6 +265,11 @@ public interface DefaultContext extends Context {
     return result;
   }
 
+  private List<MediaType> acceptTypes(Value accept) {
+    List<String> values = accept.toList();
+    return MediaType.accept(values.size() == 1 ? values.get(0) : String.join(",", values));
+  }
+
   @Override
   default @NonNull String getRequestURL() {
     return getRequestURL(getRequestPath() + queryString());
@@ -463,7 +471,10 @@ public interface DefaultContext extends Context {
     try {
       Route route = getRoute();
       MessageEncoder encoder = route.getEncoder();
-      byte[] bytes = encoder.encode(this, value);
+      byte[] bytes =
+          encoder instanceof RouteEncoder renderer
+              ? renderer.render(this, value)
+              : encoder.encode(this, value);
       if (bytes == null) {
         if (!isResponseStarted()) {
           throw new IllegalStateException("The response was not encoded");
@@ -500,6 +511,14 @@ public interface DefaultContext extends Context {
     return this;
   }
 
+  @Override
+  default @NonNull Context responseBuffer(@NonNull SneakyThrows.Consumer<OutputStream> consumer)
+      throws Exception {
+    ResponseBuffer buffer = new ResponseBuffer();
+    consumer.accept(buffer);
+    return send(buffer.toByteBuffer());
+  }
+
   @Override
   default @NonNull PrintWriter responseWriter() {
     return responseWriter(MediaType.text);
@@ -0,0 +1,48 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * Receives the file uploads of a multipart request as soon as each part has been read, while the
+ * rest of the request body is still arriving. Route handler runs once the whole body has been read
+ * and file uploads are available from {@link Context#files()} as usual. Example:
+ *
+ * <pre>{@code
+ * {
+ *   post("/upload", ctx -> {
+ *     return ctx.files().size();
+ *   }).setFileUploadListener((ctx, upload) -> {
+ *     storage.save(upload.getFileName(), upload.path());
+ *   });
+ * }
+ * }</pre>
+ *
+ * <p>Uploads up to {@link ServerOptions#getFileSizeThreshold()} are kept in memory, larger uploads
+ * are saved into the application temporary directory while they arrive. Uploads are deleted once
+ * the response has been sent, so the listener must copy or move the content it wants to keep.
+ *
+ * <p>Netty and Undertow call the listener from the IO thread, so it must not block. Jetty reads the
+ * whole form first and then calls the listener for each file, before running the route handler.
+ *
+ * @author edgar
+ * @since 3.0.7
+ */
+@FunctionalInterface
+public interface FileUploadListener {
+
+  /**
+   * Called for each file upload, once its content has been read. Throwing an exception rejects the
+   * request with the status code of a {@link io.jooby.exception.StatusCodeException} or with {@link
+   * StatusCode#BAD_REQUEST} otherwise.
+   *
+   * @param ctx Web context. Only request line and headers are available.
+   * @param upload File upload.
+   * @throws Exception When the upload is rejected.
+   */
+  void onFileUpload(@NonNull Context ctx, @NonNull FileUpload upload) throws Exception;
+}
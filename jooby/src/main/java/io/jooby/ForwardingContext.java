@@ -20,10 +20,12 @@ import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
 import io.jooby.exception.RegistryException;
+import io.jooby.internal.ResponseBuffer;
 
 /**
  * Utility class that helps to wrap and delegate to another context.
@@ -418,6 +420,12 @@ public class ForwardingContext implements Context {
     return this;
   }
 
+  @Override
+  @NonNull public Context schedule(@NonNull Runnable task, long delay, @NonNull TimeUnit unit) {
+    ctx.schedule(task, delay, unit);
+    return this;
+  }
+
   @Override
   @NonNull public Context detach(@NonNull Route.Handler next) throws Exception {
     ctx.detach(next);
@@ -569,6 +577,22 @@ public class ForwardingContext implements Context {
     return ctx.responseStream(consumer);
   }
 
+  /**
+   * Not forwarded: the response is buffered here and sent using {@link #send(ByteBuffer)}, so
+   * subclasses overriding <code>send</code> see the encoded bytes.
+   *
+   * @param consumer Output stream consumer.
+   * @return This context.
+   * @throws Exception Is something goes wrong.
+   */
+  @NonNull @Override
+  public Context responseBuffer(@NonNull SneakyThrows.Consumer<OutputStream> consumer)
+      throws Exception {
+    ResponseBuffer buffer = new ResponseBuffer();
+    consumer.accept(buffer);
+    return send(buffer.toByteBuffer());
+  }
+
   @Override
   @NonNull public Sender responseSender() {
     return ctx.responseSender();
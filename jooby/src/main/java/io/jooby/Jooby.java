@@ -53,6 +53,7 @@ import io.jooby.internal.LocaleUtils;
 import io.jooby.internal.MutedServer;
 import io.jooby.internal.RegistryRef;
 import io.jooby.internal.RouterImpl;
+import io.jooby.internal.VirtualThreads;
 import jakarta.inject.Provider;
 
 /**
@@ -85,6 +86,9 @@ public class Jooby implements Router, Registry {
 
   private static final String JOOBY_RUN_HOOK = "___jooby_run_hook__";
 
+  /** Executor key for routes running on virtual threads. */
+  private static final String VIRTUAL = "virtual";
+
   private final transient AtomicBoolean started = new AtomicBoolean(true);
 
   private final transient AtomicBoolean stopped = new AtomicBoolean(false);
@@ -788,6 +792,27 @@ public class Jooby implements Router, Registry {
     return this;
   }
 
+  /**
+   * Register the <code>virtual</code> executor when there is a route using it and application
+   * didn't provide one.
+   */
+  private void virtualExecutor(ServiceRegistry services) {
+    ServiceKey<Executor> key = ServiceKey.key(Executor.class, VIRTUAL);
+    if (services.getOrNull(key) == null
+        && router.getRoutes().stream().anyMatch(it -> VIRTUAL.equals(it.getExecutorKey()))) {
+      ExecutorService executor = VirtualThreads.newExecutor(VIRTUAL);
+      if (executor == null) {
+        getLog()
+            .warn(
+                "virtual threads requires Java 21 or higher, running on {}: using worker threads",
+                Runtime.version());
+        router.executor(VIRTUAL, getWorker());
+      } else {
+        executor(VIRTUAL, executor);
+      }
+    }
+  }
+
   @NonNull @Override
   public Jooby executor(@NonNull String name, @NonNull Executor executor) {
     if (executor instanceof ExecutorService) {
@@ -983,6 +1008,8 @@ public class Jooby implements Router, Registry {
 
     this.startingCallbacks = fire(this.startingCallbacks);
 
+    virtualExecutor(services);
+
     router.start(this);
 
     return this;
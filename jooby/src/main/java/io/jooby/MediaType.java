@@ -13,6 +13,8 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BinaryOperator;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
@@ -99,6 +101,15 @@ public final class MediaType implements Comparable<MediaType> {
   /** ALL. */
   public static final MediaType all = new MediaType(ALL, null);
 
+  /** Max number of cached <code>Accept</code> header values. */
+  private static final int ACCEPT_CACHE_SIZE = 256;
+
+  /** Longest <code>Accept</code> header value to cache. */
+  private static final int ACCEPT_CACHE_MAX_LENGTH = 512;
+
+  /** <code>Accept</code> header value to media types sorted by relevance. */
+  private static final Map<String, List<MediaType>> ACCEPT_CACHE = new ConcurrentHashMap<>();
+
   private final String raw;
 
   private final Charset charset;
@@ -398,6 +409,28 @@ public final class MediaType implements Comparable<MediaType> {
     return result;
   }
 
+  /**
+   * Parse an <code>Accept</code> header value and sort media types by most relevant/specific first.
+   * Clients send a small number of distinct values, so results are cached.
+   *
+   * @param value Accept header value.
+   * @return Media types sorted by relevance. Read-only.
+   */
+  static @NonNull List<MediaType> accept(@NonNull String value) {
+    List<MediaType> types = ACCEPT_CACHE.get(value);
+    if (types == null) {
+      types = parse(value).stream().distinct().sorted().toList();
+      if (value.length() <= ACCEPT_CACHE_MAX_LENGTH) {
+        if (ACCEPT_CACHE.size() >= ACCEPT_CACHE_SIZE) {
+          // too many distinct values, start over
+          ACCEPT_CACHE.clear();
+        }
+        ACCEPT_CACHE.put(value, types);
+      }
+    }
+    return types;
+  }
+
   static boolean matches(@NonNull String expected, @NonNull String contentType) {
     int start = 0;
     int len1 = expected.length();
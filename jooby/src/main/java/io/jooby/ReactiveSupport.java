@@ -22,14 +22,18 @@ public class ReactiveSupport {
   private static final Route.Filter CONCURRENT = new ConcurrentHandler();
 
   /**
-   * Creates a subscriber from web context.
+   * Creates a subscriber from web context. Items are written as a chunked response, grouped in
+   * chunks. Demand, chunk size and flush timeout are set with the <code>stream.demand</code>
+   * (default: <code>64</code>), <code>stream.chunkSize</code> (default: <code>8kb</code>) and
+   * <code>
+   * stream.flushTimeout</code> (default: <code>50ms</code>) application properties.
    *
    * @param ctx Web Context.
    * @param <T> Flow type.
    * @return New subscriber.
    */
   public static <T> Flow.Subscriber<T> newSubscriber(Context ctx) {
-    return new ChunkedSubscriber(ctx);
+    return new ChunkedSubscriber(ctx, ChunkedSubscriber.Options.get(ctx.getRouter()));
   }
 
   /**
@@ -412,6 +412,8 @@ public class Route {
 
   private Boolean nonBlocking;
 
+  private FileUploadListener fileUploadListener;
+
   private Method mvcMethod;
 
   /**
@@ -809,6 +811,29 @@ public class Route {
     return this;
   }
 
+  /**
+   * Listener of multipart file uploads, called as soon as each file has been read.
+   *
+   * @return File upload listener or <code>null</code>.
+   * @since 3.0.7
+   */
+  public @Nullable FileUploadListener getFileUploadListener() {
+    return fileUploadListener;
+  }
+
+  /**
+   * Set a listener of multipart file uploads, called as soon as each file has been read and before
+   * the route handler runs. See {@link FileUploadListener}.
+   *
+   * @param listener File upload listener.
+   * @return This route.
+   * @since 3.0.7
+   */
+  public @NonNull Route setFileUploadListener(@NonNull FileUploadListener listener) {
+    this.fileUploadListener = listener;
+    return this;
+  }
+
   /**
    * True if route support HTTP OPTIONS.
    *
@@ -884,8 +909,10 @@ public class Route {
    *
    * <p>- <code>null</code>: no specific executor, uses the default Jooby logic to choose one, based
    * on the value of {@link ExecutionMode}; - <code>worker</code>: use the executor provided by the
-   * server. - <code>arbitrary name</code>: use an named executor which as registered using {@link
-   * Router#executor(String, Executor)}.
+   * server. - <code>virtual</code>: run on virtual threads (Java 21 or higher, falls back to <code>
+   * worker</code>), unless an executor with that name was registered. - <code>arbitrary name
+   * </code>: use an named executor which as registered using {@link Router#executor(String,
+   * Executor)}.
    *
    * @param executorKey Executor key.
    * @return This route.
@@ -17,6 +17,9 @@ package io.jooby;
  *       (slashes).
  *   <li>RESET_HEADERS_ON_ERROR: Indicates whenever response headers are clear/reset in case of
  *       exception.
+ *   <li>COMPILE_ROUTES: Flatten the route tree into a read-only dispatch table at application
+ *       start.
+ *   <li>QUEUE_TIME: Record the time a request waits for a worker thread.
  * </ul>
  *
  * @author edgar
@@ -36,5 +39,19 @@ public enum RouterOption {
   NORMALIZE_SLASH,
 
   /** Indicates whenever response headers are clear/reset in case of exception. */
-  RESET_HEADERS_ON_ERROR
+  RESET_HEADERS_ON_ERROR,
+
+  /**
+   * Flatten the route tree into a read-only dispatch table at application start. Routes can't be
+   * added once the application started, so the tree is compiled into primitive arrays with
+   * char-indexed edges and an int index per HTTP method. Matching rules don't change.
+   */
+  COMPILE_ROUTES,
+
+  /**
+   * Record the time a request waits for a worker thread (dispatch to execution) and save it as
+   * {@link Context#QUEUE_TIME} attribute (nanoseconds). Routes running on the event loop are not
+   * affected.
+   */
+  QUEUE_TIME
 }
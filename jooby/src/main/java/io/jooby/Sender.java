@@ -5,6 +5,7 @@
  */
 package io.jooby;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 
@@ -93,6 +94,21 @@ public interface Sender {
    */
   @NonNull Sender write(@NonNull byte[] data, @NonNull Callback callback);
 
+  /**
+   * Write a bytes chunk. Chunk is flushed immediately. Servers send the buffer as it is, so it must
+   * not be modified until the callback runs.
+   *
+   * @param data Bytes chunk.
+   * @param callback Callback.
+   * @return This sender.
+   * @since 3.0.7
+   */
+  @NonNull default Sender write(@NonNull ByteBuffer data, @NonNull Callback callback) {
+    byte[] bytes = new byte[data.remaining()];
+    data.get(bytes);
+    return write(bytes, callback);
+  }
+
   /** Close the sender. */
   void close();
 }
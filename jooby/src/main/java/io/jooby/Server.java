@@ -16,12 +16,16 @@ import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Predicate;
 
+import org.slf4j.LoggerFactory;
+
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
 import io.jooby.internal.MutedServer;
+import io.jooby.internal.VirtualThreads;
 
 /**
  * Web server contract. Defines operations to start, join and stop a web server. Jooby comes with
@@ -94,6 +98,26 @@ public interface Server {
       }
     }
 
+    /**
+     * Creates a worker executor backed by virtual threads, when requested by {@link
+     * ServerOptions#isVirtualThreads()} and supported by the JVM.
+     *
+     * @param options Server options.
+     * @return Virtual thread executor or <code>null</code> to use the server default worker.
+     */
+    protected @Nullable ExecutorService newVirtualWorker(@NonNull ServerOptions options) {
+      if (options.isVirtualThreads()) {
+        if (VirtualThreads.isSupported()) {
+          return VirtualThreads.newExecutor("worker");
+        }
+        LoggerFactory.getLogger(getClass())
+            .warn(
+                "virtual threads requires Java 21 or higher, running on {}: using worker threads",
+                Runtime.version());
+      }
+      return null;
+    }
+
     protected void fireReady(@NonNull List<Jooby> applications) {
       for (Jooby app : applications) {
         app.ready(this);
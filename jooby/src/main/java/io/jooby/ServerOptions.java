@@ -14,6 +14,7 @@ import java.security.Security;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.ServiceLoader;
 import java.util.Set;
@@ -56,6 +57,31 @@ public class ServerOptions {
   /** Default compression level for gzip. */
   public static final int DEFAULT_COMPRESSION_LEVEL = 6;
 
+  /**
+   * Default min response size for compression: <code>32</code> bytes. Smaller responses usually
+   * get bigger once compressed.
+   */
+  public static final int DEFAULT_COMPRESSION_MIN_SIZE = 32;
+
+  /** Default compressible media types. */
+  public static final List<String> DEFAULT_COMPRESSION_MEDIA_TYPES =
+      List.of(
+          "text/*",
+          "application/json",
+          "application/*+json",
+          "application/javascript",
+          "application/xml",
+          "application/*+xml",
+          "application/yaml",
+          "image/svg+xml");
+
+  /**
+   * Default compression encodings, in order of preference. <code>br</code> and <code>zstd</code>
+   * are used only when the server supports them.
+   */
+  public static final List<String> DEFAULT_COMPRESSION_ENCODINGS =
+      List.of("br", "zstd", "gzip", "deflate");
+
   /** 4kb constant in bytes. */
   public static final int _4KB = 4096;
 
@@ -91,6 +117,9 @@ public class ServerOptions {
   /** Number of worker threads (a.k.a application) to use. */
   private Integer workerThreads;
 
+  /** Run application code on virtual threads (Java 21 or higher). */
+  private boolean virtualThreads;
+
   /**
    * Configure server to default headers: <code>Date</code>, <code>Content-Type</code> and <code>
    * Server</code> header.
@@ -106,6 +135,12 @@ public class ServerOptions {
    */
   private int maxRequestSize = _10MB;
 
+  /**
+   * File uploads up to this size in bytes are kept in memory, larger uploads are saved into the
+   * application temporary directory. Default is {@link #bufferSize}.
+   */
+  private Integer fileSizeThreshold;
+
   private String host = LOCAL_HOST;
 
   private SslOptions ssl;
@@ -117,6 +152,12 @@ public class ServerOptions {
 
   private Integer compressionLevel;
 
+  private int compressionMinSize = DEFAULT_COMPRESSION_MIN_SIZE;
+
+  private List<String> compressionMediaTypes = DEFAULT_COMPRESSION_MEDIA_TYPES;
+
+  private List<String> compressionEncodings = DEFAULT_COMPRESSION_ENCODINGS;
+
   private Boolean http2;
 
   private Boolean expectContinue;
@@ -156,12 +197,29 @@ public class ServerOptions {
       if (conf.hasPath("server.compressionLevel")) {
         options.setCompressionLevel(conf.getInt("server.compressionLevel"));
       }
+      if (conf.hasPath("server.compressionMinSize")) {
+        options.setCompressionMinSize(
+            (int) conf.getMemorySize("server.compressionMinSize").toBytes());
+      }
+      if (conf.hasPath("server.compressionMediaTypes")) {
+        options.setCompressionMediaTypes(conf.getStringList("server.compressionMediaTypes"));
+      }
+      if (conf.hasPath("server.compressionEncodings")) {
+        options.setCompressionEncodings(conf.getStringList("server.compressionEncodings"));
+      }
       if (conf.hasPath("server.maxRequestSize")) {
         options.setMaxRequestSize((int) conf.getMemorySize("server.maxRequestSize").toBytes());
       }
+      if (conf.hasPath("server.fileSizeThreshold")) {
+        options.setFileSizeThreshold(
+            (int) conf.getMemorySize("server.fileSizeThreshold").toBytes());
+      }
       if (conf.hasPath("server.workerThreads")) {
         options.setWorkerThreads(conf.getInt("server.workerThreads"));
       }
+      if (conf.hasPath("server.virtualThreads")) {
+        options.setVirtualThreads(conf.getBoolean("server.virtualThreads"));
+      }
       if (conf.hasPath("server.host")) {
         options.setHost(conf.getString("server.host"));
       }
@@ -190,7 +248,11 @@ public class ServerOptions {
     if (!"jetty".equals(server)) {
       buff.append(", ioThreads: ").append(Optional.ofNullable(ioThreads).orElse(IO_THREADS));
     }
-    buff.append(", workerThreads: ").append(getWorkerThreads());
+    if (virtualThreads) {
+      buff.append(", workerThreads: virtual");
+    } else {
+      buff.append(", workerThreads: ").append(getWorkerThreads());
+    }
     buff.append(", bufferSize: ").append(bufferSize);
     buff.append(", maxRequestSize: ").append(maxRequestSize);
     buff.append(", httpsOnly: ").append(httpsOnly);
@@ -360,6 +422,28 @@ public class ServerOptions {
     return this;
   }
 
+  /**
+   * True when application code (worker) runs on virtual threads.
+   *
+   * @return True when application code (worker) runs on virtual threads.
+   */
+  public boolean isVirtualThreads() {
+    return virtualThreads;
+  }
+
+  /**
+   * Run application code on virtual threads, one per task, instead of a fixed pool of worker
+   * threads. Useful for blocking (like JDBC) code. Requires Java 21 or higher: on older versions
+   * the server logs a warning and uses worker threads. Default is: <code>false</code>.
+   *
+   * @param virtualThreads True for virtual threads.
+   * @return This options.
+   */
+  public @NonNull ServerOptions setVirtualThreads(boolean virtualThreads) {
+    this.virtualThreads = virtualThreads;
+    return this;
+  }
+
   /**
    * Indicates compression level to use while producing gzip responses.
    *
@@ -382,6 +466,151 @@ public class ServerOptions {
     return this;
   }
 
+  /**
+   * Min response size (in bytes) for compression. Only applies when compression is on and the
+   * response size is known. Default is <code>32</code>.
+   *
+   * @return Min response size for compression.
+   */
+  public int getCompressionMinSize() {
+    return compressionMinSize;
+  }
+
+  /**
+   * Set min response size (in bytes) for compression. Only applies when compression is on and the
+   * response size is known.
+   *
+   * @param compressionMinSize Min response size for compression.
+   * @return This options.
+   */
+  public @NonNull ServerOptions setCompressionMinSize(int compressionMinSize) {
+    this.compressionMinSize = Math.max(0, compressionMinSize);
+    return this;
+  }
+
+  /**
+   * Compressible media types. Values are media types (<code>application/json</code>), wildcards
+   * (<code>text/*</code>) or suffixes (<code>application/*+json</code>). Default is {@link
+   * #DEFAULT_COMPRESSION_MEDIA_TYPES}.
+   *
+   * @return Compressible media types.
+   */
+  public @NonNull List<String> getCompressionMediaTypes() {
+    return compressionMediaTypes;
+  }
+
+  /**
+   * Set compressible media types. Values are media types (<code>application/json</code>),
+   * wildcards (<code>text/*</code>) or suffixes (<code>application/*+json</code>). Use <code>*
+   * /*</code> to compress any media type.
+   *
+   * @param mediaTypes Compressible media types.
+   * @return This options.
+   */
+  public @NonNull ServerOptions setCompressionMediaTypes(@NonNull List<String> mediaTypes) {
+    List<String> result = new ArrayList<>(mediaTypes.size());
+    for (String mediaType : mediaTypes) {
+      result.add(mediaType.trim().toLowerCase());
+    }
+    this.compressionMediaTypes = List.copyOf(result);
+    return this;
+  }
+
+  /**
+   * Set compressible media types. Values are media types (<code>application/json</code>),
+   * wildcards (<code>text/*</code>) or suffixes (<code>application/*+json</code>). Use <code>*
+   * /*</code> to compress any media type.
+   *
+   * @param mediaTypes Compressible media types.
+   * @return This options.
+   */
+  public @NonNull ServerOptions setCompressionMediaTypes(@NonNull String... mediaTypes) {
+    return setCompressionMediaTypes(Arrays.asList(mediaTypes));
+  }
+
+  /**
+   * True when a response of the given content type must be compressed. Responses without content
+   * type are compressible.
+   *
+   * @param contentType Response content type (parameters are ignored) or <code>null</code>.
+   * @return True when a response of the given content type must be compressed.
+   */
+  public boolean isCompressible(@Nullable String contentType) {
+    if (contentType == null) {
+      return true;
+    }
+    int end = contentType.indexOf(';');
+    String value = (end < 0 ? contentType : contentType.substring(0, end)).trim().toLowerCase();
+    int slash = value.indexOf('/');
+    for (String pattern : compressionMediaTypes) {
+      if (pattern.equals("*/*") || pattern.equals(value)) {
+        return true;
+      }
+      if (pattern.endsWith("/*")) {
+        // text/*
+        if (value.regionMatches(0, pattern, 0, pattern.length() - 1)) {
+          return true;
+        }
+      } else if (slash > 0) {
+        // application/*+json
+        int wildcard = pattern.indexOf("/*+");
+        if (wildcard > 0
+            && wildcard == slash
+            && value.regionMatches(0, pattern, 0, slash + 1)
+            && value.endsWith(pattern.substring(wildcard + 2))) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Allowed compression encodings. Default is {@link #DEFAULT_COMPRESSION_ENCODINGS}. The order of
+   * this list is not significant: the encoding is selected from the <code>Accept-Encoding</code>
+   * header (quality values) and ties are resolved by the server (<code>br</code>, <code>zstd
+   * </code>, <code>gzip</code> and then <code>deflate</code>). Servers ignore the encodings they
+   * don't support:
+   *
+   * <ul>
+   *   <li>Netty: <code>br</code> (requires <code>com.aayushatharva.brotli4j:brotli4j</code>),
+   *       <code>zstd</code> (requires <code>com.github.luben:zstd-jni</code>), <code>gzip</code>
+   *       and <code>deflate</code>.
+   *   <li>Undertow: <code>gzip</code> and <code>deflate</code>.
+   *   <li>Jetty: <code>gzip</code>.
+   * </ul>
+   *
+   * @return Compression encodings.
+   */
+  public @NonNull List<String> getCompressionEncodings() {
+    return compressionEncodings;
+  }
+
+  /**
+   * Set allowed compression encodings. Order is not significant, see {@link
+   * #getCompressionEncodings()}. Servers ignore the encodings they don't support.
+   *
+   * @param encodings Compression encodings: <code>br</code>, <code>zstd</code>, <code>gzip</code>
+   *     and/or <code>deflate</code>.
+   * @return This options.
+   */
+  public @NonNull ServerOptions setCompressionEncodings(@NonNull List<String> encodings) {
+    this.compressionEncodings = List.copyOf(encodings);
+    return this;
+  }
+
+  /**
+   * Set allowed compression encodings. Order is not significant, see {@link
+   * #getCompressionEncodings()}. Servers ignore the encodings they don't support.
+   *
+   * @param encodings Compression encodings: <code>br</code>, <code>zstd</code>, <code>gzip</code>
+   *     and/or <code>deflate</code>.
+   * @return This options.
+   */
+  public @NonNull ServerOptions setCompressionEncodings(@NonNull String... encodings) {
+    return setCompressionEncodings(Arrays.asList(encodings));
+  }
+
   /**
    * True if default headers: <code>Date</code>, <code>Content-Type</code> and <code>Server</code>
    * are enabled.
@@ -447,6 +676,29 @@ public class ServerOptions {
     return this;
   }
 
+  /**
+   * File uploads up to this size in bytes are kept in memory, larger uploads are saved into the
+   * application temporary directory as they arrive. Default is {@link #getBufferSize()}.
+   *
+   * @return File size threshold in bytes.
+   */
+  public int getFileSizeThreshold() {
+    return fileSizeThreshold == null ? bufferSize : fileSizeThreshold;
+  }
+
+  /**
+   * Set file upload size threshold in bytes. Uploads up to this size are kept in memory, larger
+   * uploads are saved into the application temporary directory. Set to <code>0</code> to always
+   * save uploads into the temporary directory.
+   *
+   * @param fileSizeThreshold File size threshold in bytes.
+   * @return This options.
+   */
+  public @NonNull ServerOptions setFileSizeThreshold(int fileSizeThreshold) {
+    this.fileSizeThreshold = fileSizeThreshold;
+    return this;
+  }
+
   /**
    * Server host, defaults is <code>0.0.0.0</code>.
    *
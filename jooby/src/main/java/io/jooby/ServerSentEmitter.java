@@ -195,6 +195,9 @@ public interface ServerSentEmitter {
    * Send a comment message to the client. The comment line can be used to prevent connections from
    * timing out; a server can send a comment periodically to keep the connection alive.
    *
+   * <p>Each emitter schedules its own task. For a large number of emitters see {@link
+   * ServerSentHub}, which uses a single timer for all of them.
+   *
    * @param timeInMillis Period of time in millis.
    * @return This emitter.
    */
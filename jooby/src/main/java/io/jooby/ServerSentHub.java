@@ -0,0 +1,564 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * Server-Sent events hub. Groups emitters by topic and publishes messages to all the emitters of a
+ * topic:
+ *
+ * <ul>
+ *   <li>A published message is encoded once, the same bytes are written to every emitter.
+ *   <li>A single timer sends heartbeats (an empty comment) to all emitters, instead of one task per
+ *       emitter (see {@link ServerSentEmitter#keepAlive(long)}). Emitters are spread over the slots
+ *       of a wheel, so heartbeats are sent in small batches. Emitters that got a message since
+ *       previous heartbeat are skipped.
+ *   <li>A topic keeps the last {@link #setReplaySize(int)} messages. Messages published after the
+ *       <code>Last-Event-ID</code> of a new subscriber are replayed. Messages without ID get a
+ *       sequential one.
+ *   <li>Topics are created on subscribe, or on publish when replay is on. A topic without replay is
+ *       removed with its last emitter. Topics without emitters are evicted (least recently used
+ *       first) once there are more than {@link #setMaxTopics(int)}.
+ *   <li>Messages of a topic are sent in publish order, replay included: a new subscriber gets the
+ *       replay before any newer message. Messages are written while holding a per topic lock, so a
+ *       slow emitter delays the other emitters of the same topic.
+ * </ul>
+ *
+ * Closed emitters are removed on next publish or heartbeat.
+ *
+ * <pre>{@code
+ * {
+ *   ServerSentHub hub = new ServerSentHub();
+ *   onStop(hub);
+ *
+ *   sse("/news", sse -> hub.subscribe("news", sse));
+ *
+ *   post("/news", ctx -> hub.publish("news", ctx.body().value()));
+ * }
+ * }</pre>
+ *
+ * @author edgar
+ * @since 3.0.7
+ */
+public class ServerSentHub implements AutoCloseable {
+
+  /** Pre-encoded message. */
+  private static class Encoded extends ServerSentMessage {
+    private final byte[] bytes;
+
+    Encoded(byte[] bytes) {
+      super(bytes);
+      this.bytes = bytes;
+    }
+
+    Encoded(ServerSentMessage message, byte[] bytes) {
+      super(message.getData());
+      setId(message.getId());
+      setEvent(message.getEvent());
+      setRetry(message.getRetry());
+      this.bytes = bytes;
+    }
+
+    @NonNull @Override
+    public byte[] toByteArray(@NonNull Context ctx) {
+      return bytes;
+    }
+  }
+
+  /** Published message. Encoded on first send, using the context of the receiver. */
+  private static class Event {
+    private final ServerSentMessage message;
+
+    private volatile Encoded encoded;
+
+    Event(ServerSentMessage message) {
+      this.message = message;
+    }
+
+    Encoded encode(ServerSentEmitter emitter) {
+      Encoded result = encoded;
+      if (result == null) {
+        result = new Encoded(message, message.toByteArray(emitter.getContext()));
+        encoded = result;
+      }
+      return result;
+    }
+  }
+
+  private class Subscriber {
+    private final ServerSentEmitter emitter;
+
+    private final int slot;
+
+    private final Set<Topic> topics = ConcurrentHashMap.newKeySet();
+
+    /** True when a message was sent since previous heartbeat. */
+    private volatile boolean active;
+
+    Subscriber(ServerSentEmitter emitter, int slot) {
+      this.emitter = emitter;
+      this.slot = slot;
+    }
+
+    boolean send(Event event) {
+      if (write(event.encode(emitter))) {
+        active = true;
+        return true;
+      }
+      return false;
+    }
+
+    void heartbeat() {
+      if (active) {
+        active = false;
+      } else if (!write(HEARTBEAT)) {
+        remove(this);
+      }
+    }
+
+    /** Write a message. Caller must remove the subscriber on failure. */
+    private boolean write(ServerSentMessage message) {
+      if (emitter.isOpen()) {
+        try {
+          emitter.send(message);
+          return true;
+        } catch (Exception x) {
+          log.debug("connection lost for {}", emitter.getId(), x);
+          emitter.close();
+        }
+      }
+      return false;
+    }
+  }
+
+  /**
+   * Messages are appended and sent under the topic lock, so members get them in sequence order.
+   * Lock order is: topic lock, then hub maps. Subscribers that failed to get a message are removed
+   * by the caller, once the lock is released.
+   */
+  private class Topic {
+    private final String name;
+
+    private final Set<Subscriber> members = ConcurrentHashMap.newKeySet();
+
+    private final Event[] ring;
+
+    private long sequence;
+
+    /** True once the topic was removed from the hub. */
+    private boolean removed;
+
+    /** Time of last publish or subscribe, used for eviction. */
+    private volatile long lastAccess = System.nanoTime();
+
+    Topic(String name, int replaySize) {
+      this.name = name;
+      this.ring = new Event[replaySize];
+    }
+
+    /**
+     * Append a message and send it to all the members.
+     *
+     * @return Number of members the message was sent to or <code>-1</code> when the topic was
+     *     removed.
+     */
+    synchronized int publish(ServerSentMessage message, List<Subscriber> failed) {
+      if (removed) {
+        return -1;
+      }
+      lastAccess = System.nanoTime();
+      long sequence = ++this.sequence;
+      if (message.getId() == null) {
+        message =
+            new ServerSentMessage(message.getData())
+                .setId(sequence)
+                .setEvent(message.getEvent())
+                .setRetry(message.getRetry());
+      }
+      Event event = new Event(message);
+      if (ring.length > 0) {
+        ring[(int) (sequence % ring.length)] = event;
+      }
+      int count = 0;
+      for (Subscriber member : members) {
+        if (member.send(event)) {
+          count += 1;
+        } else {
+          failed.add(member);
+        }
+      }
+      return count;
+    }
+
+    /**
+     * Send messages published after the last event ID, then add the subscriber. Nothing is
+     * published in between.
+     *
+     * @return False when the topic was removed.
+     */
+    synchronized boolean join(Subscriber subscriber, String lastEventId, List<Subscriber> failed) {
+      if (removed) {
+        return false;
+      }
+      lastAccess = System.nanoTime();
+      for (Event event : replay(lastEventId)) {
+        if (!subscriber.send(event)) {
+          failed.add(subscriber);
+          return true;
+        }
+      }
+      members.add(subscriber);
+      subscriber.topics.add(this);
+      return true;
+    }
+
+    /** Remove this topic from the hub when there are no members. */
+    synchronized void removeIfEmpty() {
+      if (!removed && members.isEmpty()) {
+        removed = true;
+        topics.remove(name, this);
+      }
+    }
+
+    private List<Event> replay(String lastEventId) {
+      if (lastEventId == null || ring.length == 0 || sequence == 0) {
+        return Collections.emptyList();
+      }
+      long from = Math.max(1, sequence - ring.length + 1);
+      // unknown ID: replay everything we have
+      long start = from;
+      for (long i = sequence; i >= from; i--) {
+        Event event = ring[(int) (i % ring.length)];
+        if (lastEventId.equals(event.message.getId())) {
+          start = i + 1;
+          break;
+        }
+      }
+      List<Event> events = new ArrayList<>((int) (sequence - start + 1));
+      for (long i = start; i <= sequence; i++) {
+        events.add(ring[(int) (i % ring.length)]);
+      }
+      return events;
+    }
+  }
+
+  private static final int WHEEL_SIZE = 16;
+
+  private static final Encoded HEARTBEAT = new Encoded(":\n\n".getBytes(UTF_8));
+
+  private static final int DEFAULT_REPLAY_SIZE = 100;
+
+  private static final Duration DEFAULT_HEARTBEAT = Duration.ofSeconds(30);
+
+  private static final int DEFAULT_MAX_TOPICS = 1024;
+
+  private final Logger log = LoggerFactory.getLogger(ServerSentHub.class);
+
+  private final Map<String, Topic> topics = new ConcurrentHashMap<>();
+
+  private final Map<ServerSentEmitter, Subscriber> subscribers = new ConcurrentHashMap<>();
+
+  private final Set<Subscriber>[] wheel = new Set[WHEEL_SIZE];
+
+  private final AtomicInteger nextSlot = new AtomicInteger();
+
+  private int replaySize = DEFAULT_REPLAY_SIZE;
+
+  private int maxTopics = DEFAULT_MAX_TOPICS;
+
+  private Duration heartbeat = DEFAULT_HEARTBEAT;
+
+  private volatile ScheduledExecutorService timer;
+
+  private int tick;
+
+  /** Creates a new hub. */
+  public ServerSentHub() {
+    for (int i = 0; i < WHEEL_SIZE; i++) {
+      wheel[i] = ConcurrentHashMap.newKeySet();
+    }
+  }
+
+  /**
+   * Number of messages per topic to keep for replay. Default is <code>100</code>. Applies to topics
+   * created after this call.
+   *
+   * @param replaySize Number of messages per topic to keep for replay or <code>0</code> to turn off
+   *     replay.
+   * @return This hub.
+   */
+  public @NonNull ServerSentHub setReplaySize(int replaySize) {
+    if (replaySize < 0) {
+      throw new IllegalArgumentException("Replay size must be positive: " + replaySize);
+    }
+    this.replaySize = replaySize;
+    return this;
+  }
+
+  /**
+   * Max number of topics. Default is <code>1024</code>. When exceeded, topics without emitters are
+   * evicted, least recently used first. Topics with emitters are never evicted.
+   *
+   * @param maxTopics Max number of topics.
+   * @return This hub.
+   */
+  public @NonNull ServerSentHub setMaxTopics(int maxTopics) {
+    if (maxTopics <= 0) {
+      throw new IllegalArgumentException("Max topics must be positive: " + maxTopics);
+    }
+    this.maxTopics = maxTopics;
+    return this;
+  }
+
+  /**
+   * Heartbeat interval. Default is <code>30s</code>. Must be set before first subscribe.
+   *
+   * @param heartbeat Heartbeat interval or {@link Duration#ZERO} to turn off heartbeats.
+   * @return This hub.
+   */
+  public @NonNull ServerSentHub setHeartbeat(@NonNull Duration heartbeat) {
+    if (heartbeat.isNegative()) {
+      throw new IllegalArgumentException("Heartbeat must be positive: " + heartbeat);
+    }
+    this.heartbeat = heartbeat;
+    return this;
+  }
+
+  /**
+   * Subscribe an emitter to a topic. Messages published after the <code>Last-Event-ID</code> of the
+   * emitter (if any) are sent right away.
+   *
+   * @param topic Topic name.
+   * @param emitter Emitter.
+   * @return This hub.
+   */
+  public @NonNull ServerSentHub subscribe(
+      @NonNull String topic, @NonNull ServerSentEmitter emitter) {
+    Subscriber subscriber =
+        subscribers.computeIfAbsent(
+            emitter,
+            key -> {
+              Subscriber result =
+                  new Subscriber(key, Math.floorMod(nextSlot.getAndIncrement(), WHEEL_SIZE));
+              wheel[result.slot].add(result);
+              return result;
+            });
+    List<Subscriber> failed = new ArrayList<>(1);
+    Topic target;
+    do {
+      // retry when the topic was removed before we got the lock
+      target = topics.computeIfAbsent(topic, name -> new Topic(name, replaySize));
+    } while (!target.join(subscriber, emitter.getLastEventId(), failed));
+    failed.forEach(this::remove);
+    evict();
+    if (timer == null && !heartbeat.isZero()) {
+      startHeartbeat();
+    }
+    return this;
+  }
+
+  /**
+   * Remove an emitter from a topic.
+   *
+   * @param topic Topic name.
+   * @param emitter Emitter.
+   * @return This hub.
+   */
+  public @NonNull ServerSentHub unsubscribe(
+      @NonNull String topic, @NonNull ServerSentEmitter emitter) {
+    Subscriber subscriber = subscribers.get(emitter);
+    Topic target = topics.get(topic);
+    if (subscriber != null && target != null) {
+      target.members.remove(subscriber);
+      subscriber.topics.remove(target);
+      release(target);
+      if (subscriber.topics.isEmpty()) {
+        remove(subscriber);
+      }
+    }
+    return this;
+  }
+
+  /**
+   * Remove an emitter from all its topics.
+   *
+   * @param emitter Emitter.
+   * @return This hub.
+   */
+  public @NonNull ServerSentHub unsubscribe(@NonNull ServerSentEmitter emitter) {
+    Subscriber subscriber = subscribers.get(emitter);
+    if (subscriber != null) {
+      remove(subscriber);
+    }
+    return this;
+  }
+
+  /**
+   * Publish a message to a topic.
+   *
+   * @param topic Topic name.
+   * @param data Message data.
+   * @return Number of emitters the message was sent to.
+   */
+  public int publish(@NonNull String topic, @NonNull Object data) {
+    return publish(
+        topic, data instanceof ServerSentMessage message ? message : new ServerSentMessage(data));
+  }
+
+  /**
+   * Publish a message to a topic. Message is encoded once, using the route encoder of the first
+   * emitter. When replay is off, messages published to a topic without emitters are discarded.
+   *
+   * @param topic Topic name.
+   * @param message Message.
+   * @return Number of emitters the message was sent to.
+   */
+  public int publish(@NonNull String topic, @NonNull ServerSentMessage message) {
+    List<Subscriber> failed = new ArrayList<>();
+    int count;
+    do {
+      Topic target = topics.get(topic);
+      if (target == null) {
+        if (replaySize == 0) {
+          // nobody to send or replay to
+          return 0;
+        }
+        target = topics.computeIfAbsent(topic, name -> new Topic(name, replaySize));
+      }
+      // retry when the topic was removed before we got the lock
+      count = target.publish(message, failed);
+    } while (count < 0);
+    failed.forEach(this::remove);
+    evict();
+    return count;
+  }
+
+  /**
+   * Number of emitters.
+   *
+   * @return Number of emitters.
+   */
+  public int size() {
+    return subscribers.size();
+  }
+
+  /**
+   * Number of emitters subscribed to a topic.
+   *
+   * @param topic Topic name.
+   * @return Number of emitters subscribed to a topic.
+   */
+  public int size(@NonNull String topic) {
+    Topic target = topics.get(topic);
+    return target == null ? 0 : target.members.size();
+  }
+
+  /**
+   * Number of topics.
+   *
+   * @return Number of topics.
+   */
+  public int topics() {
+    return topics.size();
+  }
+
+  /** Stop the heartbeat timer. Emitters are not closed. */
+  @Override
+  public synchronized void close() {
+    if (timer != null) {
+      timer.shutdownNow();
+    }
+    subscribers.clear();
+    for (Set<Subscriber> slot : wheel) {
+      slot.clear();
+    }
+  }
+
+  private synchronized void startHeartbeat() {
+    if (timer == null) {
+      timer =
+          Executors.newSingleThreadScheduledExecutor(
+              task -> {
+                Thread thread = new Thread(task, "sse-heartbeat");
+                thread.setDaemon(true);
+                return thread;
+              });
+      long period = Math.max(1, heartbeat.toMillis() / WHEEL_SIZE);
+      timer.scheduleAtFixedRate(this::heartbeat, period, period, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  private void heartbeat() {
+    // each slot is visited once per heartbeat interval
+    Set<Subscriber> slot = wheel[tick];
+    tick = (tick + 1) % WHEEL_SIZE;
+    for (Subscriber subscriber : slot) {
+      try {
+        subscriber.heartbeat();
+      } catch (Throwable x) {
+        log.error("heartbeat resulted in exception: {}", subscriber.emitter.getId(), x);
+        if (SneakyThrows.isFatal(x)) {
+          throw SneakyThrows.propagate(x);
+        }
+      }
+    }
+  }
+
+  private void remove(Subscriber subscriber) {
+    subscribers.remove(subscriber.emitter, subscriber);
+    wheel[subscriber.slot].remove(subscriber);
+    for (Topic topic : subscriber.topics) {
+      topic.members.remove(subscriber);
+      release(topic);
+    }
+    subscriber.topics.clear();
+  }
+
+  /** Remove a topic without replay once its last emitter is gone. */
+  private void release(Topic topic) {
+    if (topic.ring.length == 0) {
+      topic.removeIfEmpty();
+    }
+  }
+
+  /** Remove topics without emitters, least recently used first, until we are under the limit. */
+  private void evict() {
+    if (topics.size() > maxTopics) {
+      List<Topic> candidates = new ArrayList<>();
+      for (Topic topic : topics.values()) {
+        if (topic.members.isEmpty()) {
+          candidates.add(topic);
+        }
+      }
+      candidates.sort(Comparator.comparingLong(topic -> topic.lastAccess));
+      for (Topic candidate : candidates) {
+        if (topics.size() <= maxTopics) {
+          break;
+        }
+        candidate.removeIfEmpty();
+      }
+    }
+  }
+}
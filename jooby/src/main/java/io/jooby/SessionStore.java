@@ -27,6 +27,28 @@ public interface SessionStore {
   /** Default session timeout in minutes. */
   int DEFAULT_TIMEOUT = 30;
 
+  /**
+   * Session store statistics. Implemented by the {@link #memory()} session store.
+   *
+   * @author edgar
+   * @since 3.0.7
+   */
+  interface Stats {
+    /**
+     * Number of live sessions.
+     *
+     * @return Number of live sessions.
+     */
+    long getSessionCount();
+
+    /**
+     * Number of sessions deleted due to inactivity.
+     *
+     * @return Number of sessions deleted due to inactivity.
+     */
+    long getEvictionCount();
+  }
+
   /**
    * Base class for in-memory session store.
    *
@@ -49,6 +71,15 @@ public interface SessionStore {
         Duration timeElapsed = Duration.between(lastAccessedTime, Instant.now());
         return timeElapsed.compareTo(timeout) > 0;
       }
+
+      /**
+       * Last time the session was accessed.
+       *
+       * @return Last time the session was accessed.
+       */
+      public @NonNull Instant getLastAccessedTime() {
+        return lastAccessedTime;
+      }
     }
 
     private SessionToken token;
@@ -0,0 +1,57 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby;
+
+import java.nio.ByteBuffer;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+/**
+ * Message decoder able to parse the request body incrementally, while it is being received. The
+ * server asks for a {@link Parser} once request headers are available and feeds each body chunk as
+ * it arrives, so the body is neither copied into a byte array nor saved to a temporary file.
+ * Parsers are free to keep a decoded representation of the body (like parsed tokens) in memory.
+ *
+ * <p>Once a parser is created, raw body access ({@link Context#body()}) is empty for the request
+ * and the decoded value is available from {@link Context#body(Class)} as usual.
+ *
+ * <p>Servers that don't support incremental parsing ignore this interface and call {@link
+ * #decode(Context, java.lang.reflect.Type)} with a fully read body.
+ *
+ * @author edgar
+ * @since 3.0.7
+ */
+public interface StreamingMessageDecoder extends MessageDecoder {
+
+  /** Incremental body parser. */
+  interface Parser {
+    /**
+     * Parse next body chunk. Called from the IO thread so it must not block. Chunk is only valid
+     * during the call.
+     *
+     * @param chunk Body chunk.
+     * @throws Exception When the chunk can't be parsed. Server replies with a bad request.
+     */
+    void feed(@NonNull ByteBuffer chunk) throws Exception;
+
+    /**
+     * Notify end of body.
+     *
+     * @throws Exception When the body is incomplete. Server replies with a bad request.
+     */
+    void end() throws Exception;
+  }
+
+  /**
+   * Creates a parser for current request body or <code>null</code> to use the default (fully read)
+   * body.
+   *
+   * @param ctx Web context. Only request line and headers are available.
+   * @return Parser or <code>null</code>.
+   */
+  @Nullable Parser parser(@NonNull Context ctx);
+}
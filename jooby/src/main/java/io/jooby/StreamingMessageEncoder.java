@@ -0,0 +1,36 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby;
+
+import java.io.OutputStream;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * Message encoder that writes a route output straight into the response buffer, instead of creating
+ * an intermediate byte array. The byte array version of {@link #encode(Context, Object)} is still
+ * required and used by callers that need the encoded bytes (like web sockets or tests).
+ *
+ * <p>Selected by content negotiation, just like any other {@link MessageEncoder}. The output stream
+ * is provided by {@link Context#responseBuffer(SneakyThrows.Consumer)}: it is a pooled buffer on
+ * servers that support it and nothing is sent to the client if encoding fails.
+ *
+ * @author edgar
+ * @since 3.0.7
+ */
+public interface StreamingMessageEncoder extends MessageEncoder {
+
+  /**
+   * Encode a value into the given output. Closing the output is allowed but not required.
+   *
+   * @param ctx Web context.
+   * @param value Value to render.
+   * @param output Response output.
+   * @throws Exception If something goes wrong.
+   */
+  void encode(@NonNull Context ctx, @NonNull Object value, @NonNull OutputStream output)
+      throws Exception;
+}
@@ -5,6 +5,9 @@
  */
 package io.jooby;
 
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.List;
@@ -15,10 +18,15 @@ import edu.umd.cs.findbugs.annotations.NonNull;
  * Template engine renderer. This class renderer instances of {@link ModelAndView} objects. Template
  * engine rendering is done by checking view name and supported file {@link #extensions()}.
  *
+ * <p>Template engines are streaming encoders: when possible, templates are rendered straight into
+ * the response buffer (see {@link Context#responseBuffer(SneakyThrows.Consumer)}). Engines able to
+ * write into a {@link Writer} should override {@link #render(Context, ModelAndView, Writer)}, so
+ * the output never exists as a {@link String}.
+ *
  * @since 2.0.0
  * @author edgar
  */
-public interface TemplateEngine extends MessageEncoder {
+public interface TemplateEngine extends StreamingMessageEncoder {
 
   /** Name of application property that defines the template path. */
   String TEMPLATE_PATH = "templates.path";
@@ -36,6 +44,19 @@ public interface TemplateEngine extends MessageEncoder {
    */
   String render(Context ctx, ModelAndView modelAndView) throws Exception;
 
+  /**
+   * Render a model and view instance into the given writer. Default implementation writes the
+   * output of {@link #render(Context, ModelAndView)}.
+   *
+   * @param ctx Web context.
+   * @param modelAndView Model and view.
+   * @param writer Output writer.
+   * @throws Exception If something goes wrong.
+   */
+  default void render(Context ctx, ModelAndView modelAndView, Writer writer) throws Exception {
+    writer.write(render(ctx, modelAndView));
+  }
+
   @Override
   default byte[] encode(@NonNull Context ctx, @NonNull Object value) throws Exception {
     // initialize flash and session attributes (if any)
@@ -47,6 +68,19 @@ public interface TemplateEngine extends MessageEncoder {
     return output.getBytes(StandardCharsets.UTF_8);
   }
 
+  @Override
+  default void encode(@NonNull Context ctx, @NonNull Object value, @NonNull OutputStream output)
+      throws Exception {
+    // initialize flash and session attributes (if any)
+    ctx.flash();
+    ctx.sessionOrNull();
+
+    ctx.setDefaultResponseType(MediaType.html);
+    Writer writer = new OutputStreamWriter(output, StandardCharsets.UTF_8);
+    render(ctx, (ModelAndView) value, writer);
+    writer.flush();
+  }
+
   /**
    * True if the template engine is able to render the given view. This method checks if the view
    * name matches one of the {@link #extensions()}.
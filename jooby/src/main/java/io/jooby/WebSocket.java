@@ -120,6 +120,9 @@ public interface WebSocket {
   /** Max message size for websocket (128K). */
   int MAX_BUFFER_SIZE = 131072;
 
+  /** Max number of broadcast messages waiting to be written to a session. */
+  int MAX_PENDING_BROADCASTS = 64;
+
   /**
    * Originating HTTP context. Please note this is a read-only context, so you are not allowed to
    * modify or produces a response from it.
@@ -189,6 +192,9 @@ public interface WebSocket {
    *
    * }</pre>
    *
+   * To send the same value to all the sessions use {@link #broadcast(Object)}, which encodes the
+   * value once.
+   *
    * @param callback Callback.
    */
   void forEach(SneakyThrows.Consumer<WebSocket> callback);
@@ -307,6 +313,62 @@ public interface WebSocket {
    */
   @NonNull WebSocket renderBinary(@NonNull Object value, @NonNull WriteCallback callback);
 
+  /**
+   * Encode a value once and send a text message to all the live sessions (including this).
+   *
+   * <p>Sessions with more than <code>websocket.maxPendingBroadcasts</code> (default: {@link
+   * #MAX_PENDING_BROADCASTS}) broadcast messages waiting to be written are considered slow
+   * consumers: the message is dropped for them.
+   *
+   * @param value Value to send.
+   * @return This websocket.
+   */
+  default @NonNull WebSocket broadcast(@NonNull Object value) {
+    return broadcast(value, WriteCallback.NOOP);
+  }
+
+  /**
+   * Encode a value once and send a text message to all the live sessions (including this).
+   *
+   * <p>Sessions with more than <code>websocket.maxPendingBroadcasts</code> (default: {@link
+   * #MAX_PENDING_BROADCASTS}) broadcast messages waiting to be written are considered slow
+   * consumers: the message is dropped for them and the callback gets an {@link
+   * IllegalStateException}.
+   *
+   * @param value Value to send.
+   * @param callback Write callback, called once per session.
+   * @return This websocket.
+   */
+  default @NonNull WebSocket broadcast(@NonNull Object value, @NonNull WriteCallback callback) {
+    forEach(ws -> ws.render(value, callback));
+    return this;
+  }
+
+  /**
+   * Encode a value once and send a binary message to all the live sessions (including this).
+   *
+   * @param value Value to send.
+   * @return This websocket.
+   * @see #broadcast(Object)
+   */
+  default @NonNull WebSocket broadcastBinary(@NonNull Object value) {
+    return broadcastBinary(value, WriteCallback.NOOP);
+  }
+
+  /**
+   * Encode a value once and send a binary message to all the live sessions (including this).
+   *
+   * @param value Value to send.
+   * @param callback Write callback, called once per session.
+   * @return This websocket.
+   * @see #broadcast(Object, WriteCallback)
+   */
+  default @NonNull WebSocket broadcastBinary(
+      @NonNull Object value, @NonNull WriteCallback callback) {
+    forEach(ws -> ws.renderBinary(value, callback));
+    return this;
+  }
+
   /**
    * Close the web socket and send a {@link WebSocketCloseStatus#NORMAL} code to client.
    *
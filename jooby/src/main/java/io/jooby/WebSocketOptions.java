@@ -0,0 +1,127 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby;
+
+import java.time.Duration;
+
+import com.typesafe.config.Config;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * WebSocket options. Loaded from application configuration:
+ *
+ * <pre>{@code
+ * websocket.maxSize = 128K
+ * websocket.idleTimeout = 5m
+ * websocket.maxPendingBroadcasts = 64
+ * }</pre>
+ *
+ * @author edgar
+ * @since 3.0.7
+ */
+public class WebSocketOptions {
+
+  private int maxSize = WebSocket.MAX_BUFFER_SIZE;
+
+  private Duration idleTimeout = Duration.ofMinutes(5);
+
+  private int maxPendingBroadcasts = WebSocket.MAX_PENDING_BROADCASTS;
+
+  /**
+   * Max message size. Default is: {@link WebSocket#MAX_BUFFER_SIZE}.
+   *
+   * @return Max message size.
+   */
+  public int getMaxSize() {
+    return maxSize;
+  }
+
+  /**
+   * Set max message size.
+   *
+   * @param maxSize Max message size.
+   * @return This options.
+   */
+  public @NonNull WebSocketOptions setMaxSize(int maxSize) {
+    this.maxSize = maxSize;
+    return this;
+  }
+
+  /**
+   * Idle timeout. Zero or negative means no timeout. Default is: <code>5m</code>.
+   *
+   * @return Idle timeout.
+   */
+  public @NonNull Duration getIdleTimeout() {
+    return idleTimeout;
+  }
+
+  /**
+   * Set idle timeout.
+   *
+   * @param idleTimeout Idle timeout.
+   * @return This options.
+   */
+  public @NonNull WebSocketOptions setIdleTimeout(@NonNull Duration idleTimeout) {
+    this.idleTimeout = idleTimeout;
+    return this;
+  }
+
+  /**
+   * Max number of broadcast messages waiting to be written to a session. Default is: {@link
+   * WebSocket#MAX_PENDING_BROADCASTS}.
+   *
+   * @return Max number of pending broadcast messages.
+   */
+  public int getMaxPendingBroadcasts() {
+    return maxPendingBroadcasts;
+  }
+
+  /**
+   * Set max number of broadcast messages waiting to be written to a session.
+   *
+   * @param maxPendingBroadcasts Max number of pending broadcast messages.
+   * @return This options.
+   */
+  public @NonNull WebSocketOptions setMaxPendingBroadcasts(int maxPendingBroadcasts) {
+    this.maxPendingBroadcasts = maxPendingBroadcasts;
+    return this;
+  }
+
+  /**
+   * Creates websocket options from config object. Missing entries keep their default value.
+   *
+   * @param conf Configuration object.
+   * @return WebSocket options.
+   */
+  public static @NonNull WebSocketOptions from(@NonNull Config conf) {
+    WebSocketOptions options = new WebSocketOptions();
+    if (conf.hasPath("websocket.maxSize")) {
+      options.setMaxSize(conf.getBytes("websocket.maxSize").intValue());
+    }
+    if (conf.hasPath("websocket.idleTimeout")) {
+      options.setIdleTimeout(conf.getDuration("websocket.idleTimeout"));
+    }
+    if (conf.hasPath("websocket.maxPendingBroadcasts")) {
+      options.setMaxPendingBroadcasts(conf.getInt("websocket.maxPendingBroadcasts"));
+    }
+    return options;
+  }
+
+  /**
+   * Websocket options of the given router. Options are loaded from router configuration the first
+   * time and kept as router attribute.
+   *
+   * @param router Router.
+   * @return WebSocket options.
+   */
+  public static @NonNull WebSocketOptions from(@NonNull Router router) {
+    return (WebSocketOptions)
+        router
+            .getAttributes()
+            .computeIfAbsent(WebSocketOptions.class.getName(), key -> from(router.getConfig()));
+  }
+}
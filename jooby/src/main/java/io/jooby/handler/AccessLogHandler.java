@@ -7,6 +7,7 @@ package io.jooby.handler;
 
 import static java.util.Objects.requireNonNull;
 
+import java.nio.file.Path;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
@@ -130,7 +131,8 @@ import io.jooby.Router;
  * }
  * }</pre>
  *
- * <p>You can provide a function or an instance of {@link DateTimeFormatter}.
+ * <p>You can provide a function or an instance of {@link DateTimeFormatter}. The default formatter
+ * (and the time zone variant) formats a timestamp once per second.
  *
  * <p>The default formatter use the default server time zone, provided by {@link
  * ZoneId#systemDefault()}. It's possible to just override the time zone (not the entirely
@@ -143,10 +145,64 @@ import io.jooby.Router;
  * }
  * }</pre>
  *
+ * <h2>async</h2>
+ *
+ * <p>Log lines are produced on the thread that completes the request, usually a server IO thread.
+ * The {@link #async(int, Overflow)} option moves the write to a dedicated thread:
+ *
+ * <pre>{@code
+ * {
+ *   AccessLogHandler accessLog = new AccessLogHandler()
+ *       .async(8192, AccessLogHandler.Overflow.DROP)
+ *       .file(Paths.get("logs", "access.log"));
+ *   use(accessLog);
+ *   onStop(accessLog);
+ * }
+ * }</pre>
+ *
+ * <p>Lines are written into a bounded ring buffer of reusable line buffers and the writer thread
+ * drains them in batches to the {@link #log(Consumer)} function or to a file. When the buffer is
+ * full, lines are dropped (see {@link #getDroppedLines()}) or the request thread waits, depending
+ * on the {@link Overflow} policy.
+ *
  * @author edgar
  * @since 2.5.2
  */
-public class AccessLogHandler implements Route.Filter {
+public class AccessLogHandler implements Route.Filter, AutoCloseable {
+
+  /** What to do with a new line when the async buffer is full. */
+  public enum Overflow {
+    /** Drop the line and increment the dropped lines counter. */
+    DROP,
+
+    /** Wait until the writer thread makes room for the line. */
+    BLOCK
+  }
+
+  /** Format a timestamp once per second. */
+  private static class SecondFormatter implements Function<Long, String> {
+    private record Second(long value, String text) {}
+
+    private final DateTimeFormatter formatter;
+
+    private volatile Second second = new Second(-1, null);
+
+    SecondFormatter(DateTimeFormatter formatter) {
+      this.formatter = formatter;
+    }
+
+    @Override
+    public String apply(Long timestamp) {
+      long value = timestamp / 1000;
+      Second second = this.second;
+      if (second.value != value) {
+        second = new Second(value, formatter.format(Instant.ofEpochMilli(timestamp)));
+        this.second = second;
+      }
+      return second.text;
+    }
+  }
+
   private static final String USER_AGENT = "User-Agent";
 
   private static final String REFERER = "Referer";
@@ -164,7 +220,10 @@ public class AccessLogHandler implements Route.Filter {
       ctx -> Optional.ofNullable(ctx.getUser()).map(Object::toString).orElse(DASH);
 
   /** Default buffer size. */
-  private static final int MESSAGE_SIZE = 256;
+  static final int MESSAGE_SIZE = 256;
+
+  /** Default async buffer size. */
+  private static final int ASYNC_CAPACITY = 8192;
 
   /** The logging system. */
   private final Logger log = LoggerFactory.getLogger(getClass());
@@ -179,6 +238,17 @@ public class AccessLogHandler implements Route.Filter {
 
   private List<String> responseHeaders = Collections.emptyList();
 
+  /** Async buffer size or <code>0</code> for synchronous logging. */
+  private int asyncCapacity;
+
+  private Overflow overflow = Overflow.DROP;
+
+  private Path file;
+
+  private volatile AccessLogWriter writer;
+
+  private boolean closed;
+
   /**
    * Creates a new {@link AccessLogHandler} and use the given function and userId provider. Please
    * note, if the user isn't present this function is allowed to returns <code>-</code> (dash
@@ -188,7 +258,7 @@ public class AccessLogHandler implements Route.Filter {
    */
   public AccessLogHandler(@NonNull Function<Context, String> userId) {
     this.userId = requireNonNull(userId, "User ID provider required.");
-    dateFormatter(FORMATTER);
+    dateFormatter(new SecondFormatter(FORMATTER));
   }
 
   /** Creates a new {@link AccessLogHandler} without user identifier. */
@@ -204,35 +274,66 @@ public class AccessLogHandler implements Route.Filter {
       String remoteAddr = ctx.getRemoteAddress();
       ctx.onComplete(
           context -> {
-            StringBuilder sb = new StringBuilder(MESSAGE_SIZE);
-            sb.append(remoteAddr);
-            sb.append(SP).append(DASH).append(SP);
-            sb.append(userId.apply(ctx));
-            sb.append(SP);
-            sb.append(BL).append(df.apply(timestamp)).append(BR);
-            sb.append(SP);
-            sb.append(Q).append(ctx.getMethod());
-            sb.append(SP);
-            sb.append(ctx.getRequestPath());
-            sb.append(ctx.queryString());
-            sb.append(SP);
-            sb.append(ctx.getProtocol());
-            sb.append(Q).append(SP);
-            sb.append(ctx.getResponseCode().value());
-            sb.append(SP);
-            long responseLength = ctx.getResponseLength();
-            sb.append(responseLength >= 0 ? responseLength : DASH);
-            long now = System.currentTimeMillis();
-            sb.append(SP);
-            sb.append(now - timestamp);
-            appendHeaders(sb, requestHeaders, h -> ctx.header(h).valueOrNull());
-            appendHeaders(sb, responseHeaders, h -> ctx.getResponseHeader(h));
-            logRecord.accept(sb.toString());
+            if (asyncCapacity > 0) {
+              AccessLogWriter writer = writer();
+              long slot = writer == null ? -1 : writer.claim();
+              if (slot >= 0) {
+                append(writer.line(slot), ctx, remoteAddr, timestamp);
+                writer.publish(slot);
+              }
+            } else {
+              StringBuilder sb = new StringBuilder(MESSAGE_SIZE);
+              append(sb, ctx, remoteAddr, timestamp);
+              logRecord.accept(sb.toString());
+            }
           });
       return next.apply(ctx);
     };
   }
 
+  private void append(StringBuilder sb, Context ctx, String remoteAddr, long timestamp) {
+    sb.append(remoteAddr);
+    sb.append(SP).append(DASH).append(SP);
+    sb.append(userId.apply(ctx));
+    sb.append(SP);
+    sb.append(BL).append(df.apply(timestamp)).append(BR);
+    sb.append(SP);
+    sb.append(Q).append(ctx.getMethod());
+    sb.append(SP);
+    sb.append(ctx.getRequestPath());
+    sb.append(ctx.queryString());
+    sb.append(SP);
+    sb.append(ctx.getProtocol());
+    sb.append(Q).append(SP);
+    sb.append(ctx.getResponseCode().value());
+    sb.append(SP);
+    long responseLength = ctx.getResponseLength();
+    if (responseLength >= 0) {
+      sb.append(responseLength);
+    } else {
+      sb.append(DASH);
+    }
+    long now = System.currentTimeMillis();
+    sb.append(SP);
+    sb.append(now - timestamp);
+    appendHeaders(sb, requestHeaders, h -> ctx.header(h).valueOrNull());
+    appendHeaders(sb, responseHeaders, h -> ctx.getResponseHeader(h));
+  }
+
+  private AccessLogWriter writer() {
+    AccessLogWriter writer = this.writer;
+    if (writer == null) {
+      synchronized (this) {
+        writer = this.writer;
+        if (writer == null && !closed) {
+          writer = new AccessLogWriter(asyncCapacity, overflow == Overflow.BLOCK, logRecord, file);
+          this.writer = writer;
+        }
+      }
+    }
+    return writer;
+  }
+
   private void appendHeaders(
       StringBuilder buff, List<String> requestHeaders, Function<String, String> headers) {
     for (String header : requestHeaders) {
@@ -293,7 +394,7 @@ public class AccessLogHandler implements Route.Filter {
    * @return This instance.
    */
   public @NonNull AccessLogHandler dateFormatter(@NonNull ZoneId zoneId) {
-    return dateFormatter(FORMATTER.withZone(zoneId));
+    return dateFormatter(new SecondFormatter(FORMATTER.withZone(zoneId)));
   }
 
   /**
@@ -326,4 +427,70 @@ public class AccessLogHandler implements Route.Filter {
     this.responseHeaders = Arrays.asList(names);
     return this;
   }
+
+  /**
+   * Write log lines from a dedicated thread, using a buffer of <code>8192</code> lines and the
+   * {@link Overflow#DROP} policy.
+   *
+   * @return This instance.
+   */
+  public @NonNull AccessLogHandler async() {
+    return async(ASYNC_CAPACITY, Overflow.DROP);
+  }
+
+  /**
+   * Write log lines from a dedicated thread. Lines are kept in a bounded buffer until the writer
+   * thread process them. The writer thread starts on first request and must be stopped with {@link
+   * #close()}, usually by registering this handler with <code>onStop(accessLog)</code>.
+   *
+   * @param capacity Buffer size, in number of lines. Rounded up to the next power of two.
+   * @param overflow What to do when the buffer is full.
+   * @return This instance.
+   */
+  public @NonNull AccessLogHandler async(int capacity, @NonNull Overflow overflow) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Capacity must be greater than zero: " + capacity);
+    }
+    this.asyncCapacity = capacity;
+    this.overflow = requireNonNull(overflow, "Overflow policy is required.");
+    return this;
+  }
+
+  /**
+   * Append log lines to a file, instead of the {@link #log(Consumer)} function. File is written by
+   * the async writer thread, so this option turns on {@link #async()} mode when it isn't set.
+   *
+   * @param file Log file.
+   * @return This instance.
+   */
+  public @NonNull AccessLogHandler file(@NonNull Path file) {
+    this.file = requireNonNull(file, "File is required.");
+    if (asyncCapacity == 0) {
+      async();
+    }
+    return this;
+  }
+
+  /**
+   * Number of log lines dropped because the async buffer was full or the writer was closed.
+   *
+   * @return Number of dropped lines.
+   */
+  public long getDroppedLines() {
+    AccessLogWriter writer = this.writer;
+    return writer == null ? 0 : writer.dropped();
+  }
+
+  /** Write pending lines (async mode) and stop the writer thread. */
+  @Override
+  public void close() {
+    AccessLogWriter writer;
+    synchronized (this) {
+      closed = true;
+      writer = this.writer;
+    }
+    if (writer != null) {
+      writer.close();
+    }
+  }
 }
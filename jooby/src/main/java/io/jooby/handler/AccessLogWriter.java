@@ -0,0 +1,300 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.handler;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.jooby.SneakyThrows;
+
+/**
+ * Bounded multi-producer single-consumer ring buffer of reusable log lines, drained by a dedicated
+ * writer thread.
+ *
+ * <p>Producers (request completion threads) claim a slot, write the line into the slot buffer and
+ * publish it. No allocation happens on the producer side once slot buffers have grown to the usual
+ * line size. The writer thread drains published lines in batches and writes them to a {@link
+ * FileChannel} (encoded into a reusable direct buffer) or to a line consumer.
+ *
+ * <p>Slot state follows the classic bounded queue algorithm: a slot is free for position <code>p
+ * </code> when its sequence is <code>p</code> and ready to read when its sequence is <code>p + 1
+ * </code>.
+ */
+class AccessLogWriter implements Runnable, AutoCloseable {
+
+  /** Lines longer than this are released after write, to don't keep large buffers around. */
+  private static final int MAX_RETAINED_LINE = 4096;
+
+  /** Writer thread idle sleep time. */
+  private static final long IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+  /** Producer wait time while buffer is full (block policy). */
+  private static final long FULL_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+  private static final int BATCH_SIZE = 256;
+
+  private final Logger log = LoggerFactory.getLogger(AccessLogHandler.class);
+
+  private final StringBuilder[] lines;
+
+  private final AtomicLongArray sequence;
+
+  private final int mask;
+
+  private final AtomicLong tail = new AtomicLong();
+
+  /** Consumer position, owned by writer thread. */
+  private long head;
+
+  private final boolean block;
+
+  private final LongAdder dropped = new LongAdder();
+
+  private final Consumer<String> consumer;
+
+  private final FileChannel channel;
+
+  private final Thread thread;
+
+  private volatile boolean parked;
+
+  private volatile boolean closed;
+
+  /* File output: */
+  private CharsetEncoder encoder;
+
+  private ByteBuffer output;
+
+  private char[] chars;
+
+  private CharBuffer input;
+
+  AccessLogWriter(int capacity, boolean block, Consumer<String> consumer, Path file) {
+    int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+    this.lines = new StringBuilder[size];
+    this.sequence = new AtomicLongArray(size);
+    for (int i = 0; i < size; i++) {
+      lines[i] = new StringBuilder(AccessLogHandler.MESSAGE_SIZE);
+      sequence.set(i, i);
+    }
+    this.mask = size - 1;
+    this.block = block;
+    this.consumer = consumer;
+    if (file == null) {
+      this.channel = null;
+    } else {
+      try {
+        this.channel =
+            FileChannel.open(
+                file,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+      } catch (IOException x) {
+        throw SneakyThrows.propagate(x);
+      }
+      this.encoder =
+          StandardCharsets.UTF_8
+              .newEncoder()
+              .onMalformedInput(CodingErrorAction.REPLACE)
+              .onUnmappableCharacter(CodingErrorAction.REPLACE);
+      this.output = ByteBuffer.allocateDirect(64 * 1024);
+      this.chars = new char[MAX_RETAINED_LINE];
+      this.input = CharBuffer.wrap(chars);
+    }
+    this.thread = new Thread(this, "access-log");
+    this.thread.setDaemon(true);
+    this.thread.start();
+  }
+
+  /**
+   * Claim a slot. Returns a negative value when the line must be dropped (buffer is full or writer
+   * was closed).
+   *
+   * @return Slot position or <code>-1</code>.
+   */
+  long claim() {
+    while (!closed) {
+      long position = tail.get();
+      long available = sequence.get((int) position & mask) - position;
+      if (available == 0) {
+        if (tail.compareAndSet(position, position + 1)) {
+          return position;
+        }
+      } else if (available < 0) {
+        // full
+        if (!block) {
+          break;
+        }
+        LockSupport.unpark(thread);
+        LockSupport.parkNanos(FULL_NANOS);
+      }
+    }
+    dropped.increment();
+    return -1;
+  }
+
+  /**
+   * Line buffer of a claimed slot.
+   *
+   * @param position Slot position.
+   * @return Empty line buffer.
+   */
+  StringBuilder line(long position) {
+    StringBuilder line = lines[(int) position & mask];
+    line.setLength(0);
+    return line;
+  }
+
+  /**
+   * Make a claimed slot available to the writer thread.
+   *
+   * @param position Slot position.
+   */
+  void publish(long position) {
+    sequence.lazySet((int) position & mask, position + 1);
+    if (parked) {
+      LockSupport.unpark(thread);
+    }
+  }
+
+  /**
+   * Number of lines dropped because the buffer was full.
+   *
+   * @return Number of dropped lines.
+   */
+  long dropped() {
+    return dropped.sum();
+  }
+
+  @Override
+  public void run() {
+    while (true) {
+      boolean done = closed;
+      int count = drain();
+      if (count == 0) {
+        if (done) {
+          break;
+        }
+        parked = true;
+        if (!ready()) {
+          LockSupport.parkNanos(this, IDLE_NANOS);
+        }
+        parked = false;
+      }
+    }
+    if (channel != null) {
+      try {
+        channel.close();
+      } catch (IOException x) {
+        log.error("access log close resulted in exception", x);
+      }
+    }
+  }
+
+  private boolean ready() {
+    return sequence.get((int) head & mask) == head + 1;
+  }
+
+  private int drain() {
+    int count = 0;
+    while (count < BATCH_SIZE && ready()) {
+      int index = (int) head & mask;
+      StringBuilder line = lines[index];
+      try {
+        write(line);
+      } catch (Throwable x) {
+        failure(x);
+      } finally {
+        // always release the slot: a failing line must not stop the writer
+        if (line.capacity() > MAX_RETAINED_LINE) {
+          lines[index] = new StringBuilder(AccessLogHandler.MESSAGE_SIZE);
+        }
+        sequence.lazySet(index, head + mask + 1);
+        head += 1;
+        count += 1;
+      }
+    }
+    if (count > 0 && channel != null) {
+      try {
+        flush();
+      } catch (Throwable x) {
+        failure(x);
+      }
+    }
+    return count;
+  }
+
+  private void failure(Throwable x) {
+    log.error("access log write resulted in exception", x);
+    if (channel != null) {
+      // discard partially encoded output
+      encoder.reset();
+      output.clear();
+    }
+    if (SneakyThrows.isFatal(x)) {
+      throw SneakyThrows.propagate(x);
+    }
+  }
+
+  private void write(StringBuilder line) throws IOException {
+    if (channel == null) {
+      consumer.accept(line.toString());
+      return;
+    }
+    line.append('\n');
+    int offset = 0;
+    int length = line.length();
+    while (offset < length) {
+      int count = Math.min(chars.length, length - offset);
+      if (offset + count < length && Character.isHighSurrogate(line.charAt(offset + count - 1))) {
+        // keep surrogate pairs together
+        count -= 1;
+      }
+      line.getChars(offset, offset + count, chars, 0);
+      input.clear().limit(count);
+      offset += count;
+      while (encoder.encode(input, output, false).isOverflow()) {
+        flush();
+      }
+    }
+  }
+
+  private void flush() throws IOException {
+    output.flip();
+    while (output.hasRemaining()) {
+      channel.write(output);
+    }
+    output.clear();
+  }
+
+  @Override
+  public void close() {
+    closed = true;
+    LockSupport.unpark(thread);
+    try {
+      thread.join(TimeUnit.SECONDS.toMillis(5));
+    } catch (InterruptedException x) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -10,10 +10,13 @@ import static java.util.Objects.requireNonNull;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
 import io.jooby.Context;
+import io.jooby.MediaType;
 import io.jooby.Route;
 import io.jooby.StatusCode;
 
@@ -28,6 +31,9 @@ import io.jooby.StatusCode;
 public class AssetHandler implements Route.Handler {
   private static final int ONE_SEC = 1000;
 
+  /** Supported precompressed encodings, in order of preference. */
+  private static final String[] ENCODINGS = {"br", "gzip"};
+
   private final AssetSource[] sources;
 
   private final CacheControl defaults = CacheControl.defaults();
@@ -38,6 +44,15 @@ public class AssetHandler implements Route.Handler {
 
   private Function<String, CacheControl> cacheControl = path -> defaults;
 
+  private boolean precompressed;
+
+  /** Max size of in-memory assets, <code>-1</code> when cache is off. */
+  private long cacheMaxFileSize = -1;
+
+  private Map<String, CachedAsset> cache;
+
+  private Boolean revalidate;
+
   /**
    * Creates a new asset handler that fallback to the given fallback asset when the asset is not
    * found. Instead of produces a <code>404</code> its fallback to the given asset.
@@ -71,10 +86,10 @@ public class AssetHandler implements Route.Handler {
   public Object apply(@NonNull Context ctx) throws Exception {
     final String resolvedPath;
     String filepath = ctx.path(filekey).value("index.html");
-    Asset asset = resolve(filepath);
+    Asset asset = lookup(ctx, filepath);
     if (asset == null) {
       if (fallback != null) {
-        asset = resolve(fallback);
+        asset = lookup(ctx, fallback);
       }
       // Still null?
       if (asset == null) {
@@ -89,6 +104,28 @@ public class AssetHandler implements Route.Handler {
 
     CacheControl cacheParams = cacheControl.apply(resolvedPath);
 
+    MediaType contentType = asset.getContentType();
+    if (precompressed) {
+      ctx.setResponseHeader("Vary", "Accept-Encoding");
+      String acceptEncoding = ctx.header("Accept-Encoding").valueOrNull();
+      if (acceptEncoding != null) {
+        for (String encoding : ENCODINGS) {
+          if (acceptsEncoding(acceptEncoding, encoding)) {
+            Asset encoded =
+                asset instanceof CachedAsset cached
+                    ? cached.encoded(encoding)
+                    : resolve(resolvedPath + (encoding.equals("br") ? ".br" : ".gz"));
+            if (encoded != null) {
+              asset.close();
+              asset = encoded;
+              ctx.setResponseHeader("Content-Encoding", encoding);
+              break;
+            }
+          }
+        }
+      }
+    }
+
     // handle If-None-Match
     if (cacheParams.isEtag()) {
       String ifnm = ctx.header("If-None-Match").value((String) null);
@@ -111,7 +148,11 @@ public class AssetHandler implements Route.Handler {
           asset.close();
           return ctx;
         }
-        ctx.setResponseHeader("Last-Modified", Instant.ofEpochMilli(lastModified));
+        if (asset instanceof CachedAsset cached) {
+          ctx.setResponseHeader("Last-Modified", cached.getLastModifiedHeader());
+        } else {
+          ctx.setResponseHeader("Last-Modified", Instant.ofEpochMilli(lastModified));
+        }
       }
     }
 
@@ -126,10 +167,45 @@ public class AssetHandler implements Route.Handler {
     if (length != -1) {
       ctx.setResponseLength(length);
     }
-    ctx.setResponseType(asset.getContentType());
+    ctx.setResponseType(contentType);
+    if (asset instanceof CachedAsset cached) {
+      return cached.send(ctx);
+    }
     return ctx.send(asset.stream());
   }
 
+  /**
+   * Serve precompressed assets. For an asset <code>app.js</code> it looks for <code>app.js.br
+   * </code> and <code>app.js.gz</code> and sends the first one accepted by the client (<code>
+   * Accept-Encoding</code> header) with the matching <code>Content-Encoding</code> header.
+   *
+   * @param precompressed True for turning on. Default is: false.
+   * @return This handler.
+   */
+  public AssetHandler setPrecompressed(boolean precompressed) {
+    this.precompressed = precompressed;
+    return this;
+  }
+
+  /**
+   * Turn on asset cache. Assets are resolved once, headers (ETag, Last-Modified, Content-Length)
+   * are computed once and content of assets up to <code>maxFileSize</code> bytes is kept in memory.
+   * Larger files are sent with a {@link java.nio.channels.FileChannel}, larger classpath assets
+   * aren't cached.
+   *
+   * <p>While <code>dev</code> environment is active, a cached asset is checked against the file
+   * system on each request and reloaded when it changes.
+   *
+   * @param maxFileSize Max size in bytes of in-memory assets. Use <code>-1</code> to turn off
+   *     cache. Default is: <code>-1</code>.
+   * @return This handler.
+   */
+  public AssetHandler setCache(long maxFileSize) {
+    this.cacheMaxFileSize = maxFileSize;
+    this.cache = maxFileSize < 0 ? null : new ConcurrentHashMap<>();
+    return this;
+  }
+
   /**
    * Turn on/off e-tag support.
    *
@@ -198,6 +274,72 @@ public class AssetHandler implements Route.Handler {
     return this;
   }
 
+  private Asset lookup(Context ctx, String filepath) throws Exception {
+    if (cache == null) {
+      return resolve(filepath);
+    }
+    CachedAsset cached = cache.get(filepath);
+    if (cached != null) {
+      if (!revalidate(ctx) || cached.isFresh()) {
+        return cached;
+      }
+      cache.remove(filepath, cached);
+    }
+    Asset asset = resolve(filepath);
+    if (asset == null || asset.isDirectory()) {
+      return asset;
+    }
+    cached = CachedAsset.create(asset, cacheMaxFileSize);
+    if (cached == null) {
+      // large classpath asset, not cached
+      return asset;
+    }
+    asset.close();
+    if (precompressed) {
+      cached.precompressed(filepath, this::resolve, cacheMaxFileSize);
+    }
+    cache.put(filepath, cached);
+    return cached;
+  }
+
+  private boolean revalidate(Context ctx) {
+    if (revalidate == null) {
+      revalidate = ctx.getRouter().getEnvironment().isActive("dev");
+    }
+    return revalidate;
+  }
+
+  static boolean acceptsEncoding(String acceptEncoding, String encoding) {
+    boolean wildcard = false;
+    for (String value : acceptEncoding.split(",")) {
+      int params = value.indexOf(';');
+      String name = (params < 0 ? value : value.substring(0, params)).trim();
+      // q=0 means not acceptable
+      boolean accepted = params < 0 || !isZero(value.substring(params + 1));
+      if (name.equalsIgnoreCase(encoding)) {
+        return accepted;
+      }
+      if (name.equals("*")) {
+        wildcard = accepted;
+      }
+    }
+    return wildcard;
+  }
+
+  private static boolean isZero(String params) {
+    int q = params.indexOf("q=");
+    if (q < 0) {
+      return false;
+    }
+    try {
+      int end = params.indexOf(';', q);
+      return Double.parseDouble(params.substring(q + 2, end < 0 ? params.length() : end).trim())
+          == 0;
+    } catch (NumberFormatException x) {
+      return false;
+    }
+  }
+
   private Asset resolve(String filepath) {
     for (AssetSource source : sources) {
       Asset asset = source.resolve(filepath);
@@ -0,0 +1,235 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.handler;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.function.Function;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import io.jooby.Context;
+import io.jooby.MediaType;
+import io.jooby.SneakyThrows;
+import io.jooby.internal.FileAsset;
+
+/**
+ * Asset resolved once and kept by {@link AssetHandler}. Content of small assets is kept in a direct
+ * buffer, large file assets are sent with a {@link FileChannel}. Headers are computed once.
+ */
+class CachedAsset implements Asset {
+
+  private final MediaType type;
+
+  private final long size;
+
+  private final long lastModified;
+
+  private final String etag;
+
+  /** Formatted Last-Modified header or <code>null</code>. */
+  private final String lastModifiedHeader;
+
+  /** In-memory content, read-only. Null for large file assets. */
+  private final ByteBuffer content;
+
+  /** File or <code>null</code> for classpath/URL assets. */
+  private final Path file;
+
+  /** Precompressed variants, when present. */
+  private CachedAsset br;
+
+  private CachedAsset gzip;
+
+  private CachedAsset(Asset asset, ByteBuffer content, Path file) {
+    this.type = asset.getContentType();
+    this.size = asset.getSize();
+    this.lastModified = asset.getLastModified();
+    this.etag = asset.getEtag();
+    this.lastModifiedHeader =
+        lastModified > 0 ? Context.RFC1123.format(Instant.ofEpochMilli(lastModified)) : null;
+    this.content = content;
+    this.file = file;
+  }
+
+  /**
+   * Read and cache an asset. Caller is responsible for closing the asset.
+   *
+   * @param asset Asset.
+   * @param maxFileSize Max size of in-memory content.
+   * @return Cached asset or <code>null</code> for large non-file assets.
+   */
+  static @Nullable CachedAsset create(@NonNull Asset asset, long maxFileSize) {
+    try {
+      Path file = asset instanceof FileAsset fileAsset ? fileAsset.getPath() : null;
+      long size = asset.getSize();
+      if (size >= 0 && size <= maxFileSize) {
+        try (InputStream in = asset.stream()) {
+          byte[] bytes = in.readAllBytes();
+          ByteBuffer content = ByteBuffer.allocateDirect(bytes.length).put(bytes).flip();
+          return new CachedAsset(asset, content.asReadOnlyBuffer(), file);
+        }
+      }
+      return file == null ? null : new CachedAsset(asset, null, file);
+    } catch (Exception x) {
+      throw SneakyThrows.propagate(x);
+    }
+  }
+
+  /**
+   * Look for precompressed siblings: <code>.br</code> and <code>.gz</code>.
+   *
+   * @param path Asset path.
+   * @param resolver Asset resolver.
+   * @param maxFileSize Max size of in-memory content.
+   * @return This asset.
+   */
+  CachedAsset precompressed(String path, Function<String, Asset> resolver, long maxFileSize) {
+    br = sibling(resolver.apply(path + ".br"), maxFileSize);
+    gzip = sibling(resolver.apply(path + ".gz"), maxFileSize);
+    return this;
+  }
+
+  private static CachedAsset sibling(Asset asset, long maxFileSize) {
+    if (asset == null) {
+      return null;
+    }
+    try (asset) {
+      return create(asset, maxFileSize);
+    } catch (Exception x) {
+      throw SneakyThrows.propagate(x);
+    }
+  }
+
+  /**
+   * Precompressed variant.
+   *
+   * @param encoding Encoding: <code>br</code> or <code>gzip</code>.
+   * @return Precompressed variant or <code>null</code>.
+   */
+  @Nullable CachedAsset encoded(String encoding) {
+    return switch (encoding) {
+      case "br" -> br;
+      case "gzip" -> gzip;
+      default -> null;
+    };
+  }
+
+  /**
+   * Check if the underlying file (if any) still matches this asset.
+   *
+   * @return True when asset is still valid.
+   */
+  boolean isFresh() {
+    return isFresh(this) && isFresh(br) && isFresh(gzip);
+  }
+
+  private static boolean isFresh(CachedAsset asset) {
+    if (asset == null || asset.file == null) {
+      return true;
+    }
+    try {
+      return Files.getLastModifiedTime(asset.file).toMillis() == asset.lastModified
+          && Files.size(asset.file) == asset.size;
+    } catch (IOException x) {
+      // deleted
+      return false;
+    }
+  }
+
+  /**
+   * Formatted Last-Modified header.
+   *
+   * @return Formatted Last-Modified header.
+   */
+  @Nullable String getLastModifiedHeader() {
+    return lastModifiedHeader;
+  }
+
+  /**
+   * Send asset content. Range requests of in-memory content are sent as a stream, so server handles
+   * the range.
+   *
+   * @param ctx Web context.
+   * @return Web context.
+   */
+  Context send(Context ctx) {
+    try {
+      if (content == null) {
+        return ctx.send(FileChannel.open(file));
+      }
+      if (ctx.header("Range").isMissing()) {
+        return ctx.send(content.duplicate());
+      }
+      return ctx.send(stream());
+    } catch (IOException x) {
+      throw SneakyThrows.propagate(x);
+    }
+  }
+
+  @Override
+  public long getSize() {
+    return size;
+  }
+
+  @Override
+  public long getLastModified() {
+    return lastModified;
+  }
+
+  @Override
+  public boolean isDirectory() {
+    return false;
+  }
+
+  @NonNull @Override
+  public String getEtag() {
+    return etag;
+  }
+
+  @NonNull @Override
+  public MediaType getContentType() {
+    return type;
+  }
+
+  @Override
+  public InputStream stream() {
+    if (content == null) {
+      try {
+        return Files.newInputStream(file);
+      } catch (IOException x) {
+        throw SneakyThrows.propagate(x);
+      }
+    }
+    ByteBuffer buffer = content.duplicate();
+    return new InputStream() {
+      @Override
+      public int read() {
+        return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+      }
+
+      @Override
+      public int read(byte[] bytes, int offset, int len) {
+        if (!buffer.hasRemaining()) {
+          return -1;
+        }
+        int count = Math.min(len, buffer.remaining());
+        buffer.get(bytes, offset, count);
+        return count;
+      }
+    };
+  }
+
+  @Override
+  public void close() {
+    // NOOP
+  }
+}
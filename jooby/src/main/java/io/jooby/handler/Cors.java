@@ -10,11 +10,15 @@ import static java.util.Objects.requireNonNull;
 import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 import com.typesafe.config.Config;
 import edu.umd.cs.findbugs.annotations.NonNull;
@@ -51,10 +55,14 @@ public class Cors {
 
     private boolean wild;
 
+    /** Values as a comma separated header value. */
+    private String header;
+
     Matcher(final List<String> values, final Predicate<T> predicate) {
       this.values = values;
       this.predicate = predicate;
       this.wild = values.contains("*");
+      this.header = String.join(",", values);
     }
 
     @Override
@@ -68,6 +76,74 @@ public class Cors {
     }
   }
 
+  /**
+   * Values without wildcard are kept in a hash set (lower case), values with wildcard (or regex)
+   * are combined into a single pattern. Pattern results are cached by value.
+   */
+  private static class FirstMatch implements Predicate<String> {
+    private static final int CACHE_SIZE = 1024;
+
+    private static final int MAX_CACHED_VALUE = 256;
+
+    private final Set<String> exact = new HashSet<>();
+
+    private final Pattern pattern;
+
+    private final Map<String, Boolean> cache;
+
+    FirstMatch(List<String> values) {
+      StringBuilder regex = new StringBuilder();
+      for (String value : values) {
+        if (isLiteral(value)) {
+          exact.add(value.toLowerCase(Locale.ROOT));
+        } else {
+          if (regex.length() > 0) {
+            regex.append('|');
+          }
+          regex.append("(?:").append(rewrite(value)).append(')');
+        }
+      }
+      if (regex.length() > 0) {
+        pattern = Pattern.compile(regex.toString(), Pattern.CASE_INSENSITIVE);
+        cache = new ConcurrentHashMap<>();
+      } else {
+        pattern = null;
+        cache = null;
+      }
+    }
+
+    @Override
+    public boolean test(String value) {
+      if (exact.contains(value.toLowerCase(Locale.ROOT))) {
+        return true;
+      }
+      if (pattern == null) {
+        return false;
+      }
+      if (value.length() > MAX_CACHED_VALUE) {
+        return pattern.matcher(value).matches();
+      }
+      Boolean result = cache.get(value);
+      if (result == null) {
+        result = pattern.matcher(value).matches();
+        if (cache.size() >= CACHE_SIZE) {
+          cache.clear();
+        }
+        cache.put(value, result);
+      }
+      return result;
+    }
+
+    private static boolean isLiteral(String value) {
+      for (int i = 0; i < value.length(); i++) {
+        if ("*\\[](){}|^$?+".indexOf(value.charAt(i)) >= 0) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+
   /** Default max-age in minutes. */
   private static final int _30 = 30;
 
@@ -190,6 +266,15 @@ public class Cors {
     return methods.values;
   }
 
+  /**
+   * Allowed methods as header value.
+   *
+   * @return Comma separated list of allowed methods.
+   */
+  String getMethodsHeader() {
+    return methods.header;
+  }
+
   /**
    * Set one or more allowed methods.
    *
@@ -246,6 +331,15 @@ public class Cors {
     return headers.values;
   }
 
+  /**
+   * Allowed headers as header value.
+   *
+   * @return Comma separated list of allowed headers.
+   */
+  String getHeadersHeader() {
+    return headers.header;
+  }
+
   /**
    * Set one or more allowed headers. Possible values are a header name or <code>*</code> if any
    * header is allowed.
@@ -363,23 +457,24 @@ public class Cors {
 
   private static Matcher<List<String>> allMatch(final List<String> values) {
     Predicate<String> predicate = firstMatch(values);
-    Predicate<List<String>> allmatch = it -> it.stream().allMatch(predicate);
+    Predicate<List<String>> allmatch =
+        it -> {
+          for (String value : it) {
+            if (!predicate.test(value)) {
+              return false;
+            }
+          }
+          return true;
+        };
     return new Matcher<>(values, allmatch);
   }
 
   private static Matcher<String> firstMatch(final List<String> values) {
-    List<Pattern> patterns = values.stream().map(Cors::rewrite).collect(Collectors.toList());
-    Predicate<String> predicate =
-        it ->
-            patterns.stream()
-                .filter(pattern -> pattern.matcher(it).matches())
-                .findFirst()
-                .isPresent();
-
+    Predicate<String> predicate = values.contains("*") ? it -> true : new FirstMatch(values);
     return new Matcher<>(values, predicate);
   }
 
-  private static Pattern rewrite(final String origin) {
-    return Pattern.compile(origin.replace(".", "\\.").replace("*", ".*"), Pattern.CASE_INSENSITIVE);
+  private static String rewrite(final String origin) {
+    return origin.replace(".", "\\.").replace("*", ".*");
   }
 }
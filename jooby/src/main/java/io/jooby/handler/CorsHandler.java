@@ -8,6 +8,7 @@ package io.jooby.handler;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -49,6 +50,8 @@ public class CorsHandler implements Route.Filter {
 
   private static final String AC_ALLOW_METHODS = "Access-Control-Allow-Methods";
 
+  private static final Pattern HEADER_SEPARATOR = Pattern.compile("\\s*,\\s*");
+
   private final Cors options;
 
   private static final Logger log = LoggerFactory.getLogger(CorsHandler.class);
@@ -168,7 +171,7 @@ public class CorsHandler implements Route.Filter {
     List<String> headers =
         ctx.header(AC_REQUEST_HEADERS)
             .toOptional()
-            .map(header -> Arrays.asList(header.split("\\s*,\\s*")))
+            .map(header -> Arrays.asList(HEADER_SEPARATOR.split(header)))
             .orElse(Collections.emptyList());
     if (!options.allowHeaders(headers)) {
       return false;
@@ -177,12 +180,11 @@ public class CorsHandler implements Route.Filter {
     /*
      Allowed methods
     */
-    ctx.setResponseHeader(
-        AC_ALLOW_METHODS, options.getMethods().stream().collect(Collectors.joining(",")));
+    ctx.setResponseHeader(AC_ALLOW_METHODS, options.getMethodsHeader());
 
-    List<String> allowedHeaders = options.anyHeader() ? headers : options.getHeaders();
     ctx.setResponseHeader(
-        AC_ALLOW_HEADERS, allowedHeaders.stream().collect(Collectors.joining(",")));
+        AC_ALLOW_HEADERS,
+        options.anyHeader() ? String.join(",", headers) : options.getHeadersHeader());
 
     /*
      Allow credentials
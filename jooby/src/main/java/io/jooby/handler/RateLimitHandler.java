@@ -6,7 +6,9 @@
 package io.jooby.handler;
 
 import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
 
+import java.time.Duration;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
@@ -20,9 +22,31 @@ import io.jooby.SneakyThrows;
 import io.jooby.StatusCode;
 
 /**
- * Rate limit handler using https://github.com/vladimir-bukhtoyarov/bucket4j.
+ * Rate limit handler using the built-in {@link RateLimiter} or
+ * https://github.com/vladimir-bukhtoyarov/bucket4j.
  *
- * <p>NOTE: bucket4j must be included as part of your project dependencies (classpath).
+ * <p>Built-in limiter: 10 requests per minute per IP address
+ *
+ * <pre>{@code
+ * {
+ *   before(new RateLimitHandler(10, Duration.ofMinutes(1)));
+ * }
+ * }</pre>
+ *
+ * Built-in limiter: 10 requests per minute using an <code>ApiKey</code> header.
+ *
+ * <pre>{@code
+ * {
+ *   before(new RateLimitHandler(new RateLimiter(10, Duration.ofMinutes(1)), "ApiKey"));
+ * }
+ * }</pre>
+ *
+ * <p>The built-in limiter sets the <code>RateLimit-Limit</code>, <code>RateLimit-Remaining</code>
+ * and <code>RateLimit-Reset</code> response headers. Rejected requests get a <code>429</code>
+ * response with a <code>Retry-After</code> header. Values are in seconds.
+ *
+ * <p>NOTE: For the next examples bucket4j must be included as part of your project dependencies
+ * (classpath).
  *
  * <p>Example 1: 10 requests per minute
  *
@@ -78,7 +102,53 @@ import io.jooby.StatusCode;
  */
 public class RateLimitHandler implements Route.Before {
 
-  private final Function<Context, Bucket> factory;
+  private final Route.Before limiter;
+
+  /**
+   * Rate limit per IP/Remote Address using the built-in limiter.
+   *
+   * @param limit Number of requests allowed per period.
+   * @param period Time to refill the limit.
+   */
+  public RateLimitHandler(long limit, @NonNull Duration period) {
+    this(new RateLimiter(limit, period));
+  }
+
+  /**
+   * Rate limit per IP/Remote Address using the built-in limiter.
+   *
+   * @param limiter Rate limiter.
+   */
+  public RateLimitHandler(@NonNull RateLimiter limiter) {
+    this(limiter, Context::getRemoteAddress);
+  }
+
+  /**
+   * Rate limit per header key using the built-in limiter.
+   *
+   * @param limiter Rate limiter.
+   * @param headerName Header to use as key.
+   */
+  public RateLimitHandler(@NonNull RateLimiter limiter, @NonNull String headerName) {
+    this(limiter, ctx -> ctx.header(headerName).value());
+  }
+
+  /**
+   * Rate limit with a custom key provider using the built-in limiter. Example, per user:
+   *
+   * <pre>{@code
+   * {
+   *   before(new RateLimitHandler(limiter, ctx -> String.valueOf(ctx.getUser())));
+   * }
+   * }</pre>
+   *
+   * @param limiter Rate limiter.
+   * @param classifier Key provider.
+   */
+  public RateLimitHandler(
+      @NonNull RateLimiter limiter, @NonNull SneakyThrows.Function<Context, String> classifier) {
+    this.limiter = ctx -> consume(ctx, limiter.tryConsume(classifier.apply(ctx)));
+  }
 
   /**
    * Rate limit per IP/Remote Address.
@@ -122,7 +192,7 @@ public class RateLimitHandler implements Route.Before {
   }
 
   private RateLimitHandler(Function<Context, Bucket> factory) {
-    this.factory = factory;
+    this.limiter = ctx -> consume(ctx, factory.apply(ctx));
   }
 
   /**
@@ -164,7 +234,10 @@ public class RateLimitHandler implements Route.Before {
 
   @Override
   public void apply(@NonNull Context ctx) throws Exception {
-    Bucket bucket = factory.apply(ctx);
+    limiter.apply(ctx);
+  }
+
+  private static void consume(Context ctx, Bucket bucket) {
     // tryConsume returns false immediately if no tokens available with the bucket
     ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(1);
     if (probe.isConsumed()) {
@@ -177,6 +250,21 @@ public class RateLimitHandler implements Route.Before {
     }
   }
 
+  private static void consume(Context ctx, RateLimiter.Probe probe) {
+    ctx.setResponseHeader("RateLimit-Limit", probe.limit());
+    ctx.setResponseHeader("RateLimit-Remaining", probe.remaining());
+    ctx.setResponseHeader("RateLimit-Reset", seconds(probe.resetNanos()));
+    if (!probe.consumed()) {
+      ctx.setResponseHeader("Retry-After", seconds(probe.retryNanos()));
+      ctx.send(StatusCode.TOO_MANY_REQUESTS);
+    }
+  }
+
+  private static long seconds(long nanos) {
+    long seconds = SECONDS.convert(nanos, NANOSECONDS);
+    return nanos > SECONDS.toNanos(seconds) ? seconds + 1 : seconds;
+  }
+
   private static Function<Context, Bucket> byKey(
       SneakyThrows.Function<String, Bucket> bucketFactory,
       SneakyThrows.Function<Context, String> classifier) {
@@ -0,0 +1,197 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.handler;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * In-process token bucket rate limiter. Each key (IP address, API key, user, etc.) gets a bucket of
+ * <code>limit</code> tokens, refilled at <code>limit</code> tokens per <code>period</code>.
+ *
+ * <p>A bucket is a single <code>long</code> (the time at which the bucket will be full again)
+ * updated with compare-and-set, so consuming a token never locks. Buckets are spread across
+ * stripes, each one bounded to a share of {@link #setMaxKeys(int)}. When a stripe is full, buckets
+ * that have been refilled (idle keys) are evicted. If there are not enough idle buckets, the ones
+ * that will be full soonest are evicted, so throttled keys are kept. Eviction frees a batch of
+ * buckets (1/8 of the stripe), so the stripe isn't scanned again on every new key.
+ *
+ * <pre>{@code
+ * {
+ *   // 100 requests per minute per IP address
+ *   before(new RateLimitHandler(new RateLimiter(100, Duration.ofMinutes(1))));
+ * }
+ * }</pre>
+ *
+ * @author edgar
+ * @since 3.0.7
+ */
+public class RateLimiter {
+
+  /**
+   * Result of a consume operation.
+   *
+   * @param consumed True when a token was consumed, false when request must be rejected.
+   * @param limit Bucket capacity.
+   * @param remaining Remaining tokens.
+   * @param resetNanos Time until the bucket is full again.
+   * @param retryNanos Time until a token is available, <code>0</code> when consumed.
+   */
+  public record Probe(
+      boolean consumed, long limit, long remaining, long resetNanos, long retryNanos) {}
+
+  /** Eviction candidate. */
+  private record Candidate(String key, AtomicLong bucket, long full) {}
+
+  private static final int STRIPES = 16;
+
+  private static final int DEFAULT_MAX_KEYS = 10_000;
+
+  private final long limit;
+
+  /** Time to refill one token. */
+  private final long interval;
+
+  /** Time to refill a bucket: limit * interval. */
+  private final long capacity;
+
+  private final Map<String, AtomicLong>[] buckets = new ConcurrentHashMap[STRIPES];
+
+  private int maxKeysPerStripe = DEFAULT_MAX_KEYS / STRIPES;
+
+  /**
+   * Creates a rate limiter.
+   *
+   * @param limit Bucket capacity, number of requests allowed per period.
+   * @param period Time to refill a bucket.
+   */
+  public RateLimiter(long limit, @NonNull Duration period) {
+    requireNonNull(period, "Period is required.");
+    if (limit <= 0) {
+      throw new IllegalArgumentException("Limit must be greater than zero: " + limit);
+    }
+    if (period.isZero() || period.isNegative()) {
+      throw new IllegalArgumentException("Period must be greater than zero: " + period);
+    }
+    this.limit = limit;
+    this.interval = Math.max(1, period.toNanos() / limit);
+    this.capacity = interval * limit;
+    for (int i = 0; i < STRIPES; i++) {
+      buckets[i] = new ConcurrentHashMap<>();
+    }
+  }
+
+  /**
+   * Max number of keys (buckets) to keep in memory. Default is <code>10000</code>.
+   *
+   * @param maxKeys Max number of keys.
+   * @return This instance.
+   */
+  public @NonNull RateLimiter setMaxKeys(int maxKeys) {
+    if (maxKeys <= 0) {
+      throw new IllegalArgumentException("Max keys must be greater than zero: " + maxKeys);
+    }
+    this.maxKeysPerStripe = Math.max(1, maxKeys / STRIPES);
+    return this;
+  }
+
+  /**
+   * Bucket capacity.
+   *
+   * @return Bucket capacity.
+   */
+  public long getLimit() {
+    return limit;
+  }
+
+  /**
+   * Number of keys (buckets) in memory.
+   *
+   * @return Number of keys in memory.
+   */
+  public int size() {
+    int size = 0;
+    for (Map<String, AtomicLong> stripe : buckets) {
+      size += stripe.size();
+    }
+    return size;
+  }
+
+  /**
+   * Try to consume a token from the bucket of the given key.
+   *
+   * @param key Bucket key.
+   * @return Consume result.
+   */
+  public @NonNull Probe tryConsume(@NonNull String key) {
+    long now = System.nanoTime();
+    AtomicLong bucket = bucket(key, now);
+    while (true) {
+      // time at which bucket will be full
+      long full = bucket.get();
+      long next = (full - now < 0 ? now : full) + interval;
+      long reset = next - now;
+      if (reset > capacity) {
+        long wait = reset - capacity;
+        return new Probe(false, limit, 0, full - now, wait);
+      }
+      if (bucket.compareAndSet(full, next)) {
+        return new Probe(true, limit, (capacity - reset) / interval, reset, 0);
+      }
+    }
+  }
+
+  private AtomicLong bucket(String key, long now) {
+    Map<String, AtomicLong> stripe = buckets[(key.hashCode() & 0x7fffffff) % STRIPES];
+    AtomicLong bucket = stripe.get(key);
+    if (bucket == null) {
+      if (stripe.size() >= maxKeysPerStripe) {
+        evict(stripe, now);
+      }
+      bucket = stripe.computeIfAbsent(key, k -> new AtomicLong(now));
+    }
+    return bucket;
+  }
+
+  private void evict(Map<String, AtomicLong> stripe, long now) {
+    int batch = Math.max(1, maxKeysPerStripe / 8);
+    // buckets that will be full soonest, head is the latest one
+    PriorityQueue<Candidate> victims =
+        new PriorityQueue<>(batch, Comparator.comparingLong(Candidate::full).reversed());
+    Iterator<Map.Entry<String, AtomicLong>> it = stripe.entrySet().iterator();
+    int removed = 0;
+    while (it.hasNext()) {
+      Map.Entry<String, AtomicLong> entry = it.next();
+      long full = entry.getValue().get();
+      if (full - now <= 0) {
+        // full/idle bucket: nothing to remember
+        it.remove();
+        removed += 1;
+      } else if (removed < batch) {
+        victims.offer(new Candidate(entry.getKey(), entry.getValue(), full));
+        if (victims.size() > batch) {
+          victims.poll();
+        }
+      }
+    }
+    // keep the ones we need, soonest full
+    while (victims.size() > batch - removed) {
+      victims.poll();
+    }
+    for (Candidate victim : victims) {
+      stripe.remove(victim.key, victim.bucket);
+    }
+  }
+}
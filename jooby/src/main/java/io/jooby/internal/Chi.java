@@ -9,6 +9,7 @@ import java.util.Arrays;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -20,12 +21,12 @@ import io.jooby.Router;
 /** Sync: May 22, 2020 Commit: 5704d7ee98edd3fe55169b506531bdd061667c70 */
 class Chi implements RouteTree {
   private static final String EMPTY_STRING = "";
-  private static final byte ntStatic = 0; // /home
-  private static final byte ntRegexp = 1; // /{id:[0-9]+}
-  private static final byte ntParam = 2; // /{user}
-  private static final byte ntCatchAll = 3; // /api/v1/*
+  static final byte ntStatic = 0; // /home
+  static final byte ntRegexp = 1; // /{id:[0-9]+}
+  static final byte ntParam = 2; // /{user}
+  static final byte ntCatchAll = 3; // /api/v1/*
 
-  private static final int NODE_SIZE = ntCatchAll + 1;
+  static final int NODE_SIZE = ntCatchAll + 1;
 
   static final char ZERO_CHAR = (char) 0;
   private MessageEncoder encoder;
@@ -36,6 +37,8 @@ class Chi implements RouteTree {
     void put(String method, StaticRouterMatch route);
 
     boolean matches(String method);
+
+    void forEach(BiConsumer<String, StaticRouterMatch> consumer);
   }
 
   private static class SingleMethodMatcher implements MethodMatcher {
@@ -58,6 +61,11 @@ class Chi implements RouteTree {
       return this.method.equals(method);
     }
 
+    @Override
+    public void forEach(BiConsumer<String, StaticRouterMatch> consumer) {
+      consumer.accept(method, route);
+    }
+
     public void clear() {
       this.method = null;
       this.route = null;
@@ -86,6 +94,11 @@ class Chi implements RouteTree {
     public boolean matches(String method) {
       return this.methods.containsKey(method);
     }
+
+    @Override
+    public void forEach(BiConsumer<String, StaticRouterMatch> consumer) {
+      methods.forEach(consumer);
+    }
   }
 
   static class StaticRoute {
@@ -99,6 +112,10 @@ class Chi implements RouteTree {
       }
       matcher.put(method, new StaticRouterMatch(route));
     }
+
+    public void forEach(BiConsumer<String, StaticRouterMatch> consumer) {
+      matcher.forEach(consumer);
+    }
   }
 
   static class Segment {
@@ -122,7 +139,7 @@ class Chi implements RouteTree {
     }
   }
 
-  private static class Node implements Comparable<Node> {
+  static class Node implements Comparable<Node> {
     // node type: static, regexp, param, catchAll
     byte typ;
 
@@ -434,29 +451,31 @@ class Chi implements RouteTree {
 
     // Recursive edge traversal by checking all nodeTyp groups along the way.
     // It's like searching through a multi-dimensional radix trie.
-    Route findRoute(RouterMatch rctx, String method, String path) {
-
+    // The remaining search is path[from..], path variables are recorded as offsets so no
+    // substring is created while walking the tree.
+    Route findRoute(RouterMatch rctx, String method, String path, int from) {
+      int len = path.length();
       for (int ntyp = 0; ntyp < NODE_SIZE; ntyp++) {
         Node[] nds = this.children[ntyp];
         if (nds != null) {
           Node xn = null;
-          String xsearch = path;
+          int xfrom = from;
 
-          char label = path.length() > 0 ? path.charAt(0) : ZERO_CHAR;
+          char label = from < len ? path.charAt(from) : ZERO_CHAR;
 
           switch (ntyp) {
             case ntStatic:
               xn = findEdge(nds, label);
-              if (xn == null || !xsearch.startsWith(xn.prefix)) {
+              if (xn == null || !path.startsWith(xn.prefix, from)) {
                 continue;
               }
-              xsearch = xsearch.substring(xn.prefix.length());
+              xfrom += xn.prefix.length();
               break;
 
             case ntParam:
             case ntRegexp:
               // short-circuit and return no matching route for empty param values
-              if (xsearch.length() == 0) {
+              if (xfrom == len) {
                 continue;
               }
               // serially loop through each node grouped by the tail delimiter
@@ -464,31 +483,33 @@ class Chi implements RouteTree {
                 xn = nds[idx];
 
                 // label for param nodes is the delimiter byte
-                int p = xsearch.indexOf(xn.tail);
+                int p = path.indexOf(xn.tail, from);
 
                 if (p < 0) {
                   if (xn.tail == '/') {
-                    p = xsearch.length();
+                    p = len;
                   } else {
                     continue;
                   }
                 }
 
                 if (ntyp == ntRegexp && xn.rex != null) {
-                  if (!xn.rex.matcher(xsearch.substring(0, p)).matches()) {
+                  if (!xn.rex.matcher(path).region(from, p).matches()) {
                     continue;
                   }
-                } else if (xsearch.substring(0, p).indexOf('/') != -1) {
+                } else {
                   // avoid a newRuntimeRoute across path segments
-                  continue;
+                  int slash = path.indexOf('/', from);
+                  if (slash != -1 && slash < p) {
+                    continue;
+                  }
                 }
 
-                // rctx.routeParams.Values = append(rctx.routeParams.Values, xsearch[:p])
-                int prevlen = rctx.vars.size();
-                rctx.value(xsearch.substring(0, p));
-                xsearch = xsearch.substring(p);
+                int prevlen = rctx.size();
+                rctx.value(from, p);
+                xfrom = p;
 
-                if (xsearch.length() == 0) {
+                if (xfrom == len) {
                   if (xn.isLeaf()) {
                     Route h = xn.endpoints.get(method);
                     if (h != null) {
@@ -500,24 +521,25 @@ class Chi implements RouteTree {
                 }
 
                 // recursively find the next node on this branch
-                Route fin = xn.findRoute(rctx, method, xsearch);
+                Route fin = xn.findRoute(rctx, method, path, xfrom);
                 if (fin != null) {
                   return fin;
                 }
 
                 // not found on this branch, reset vars
                 rctx.truncate(prevlen);
-                xsearch = path;
+                xfrom = from;
               }
+              // placeholder, so the pop below doesn't remove a parent variable
+              rctx.value(from, from);
               break;
             default:
               // catch-all nodes
-              // rctx.routeParams.Values = append(rctx.routeParams.Values, search)
-              if (xsearch.length() > 0) {
-                rctx.value(xsearch);
+              if (xfrom < len) {
+                rctx.value(xfrom, len);
               }
               xn = nds[0];
-              xsearch = EMPTY_STRING;
+              xfrom = len;
           }
 
           if (xn == null) {
@@ -525,11 +547,10 @@ class Chi implements RouteTree {
           }
 
           // did we returnType it yet?
-          if (xsearch.length() == 0) {
+          if (xfrom == len) {
             if (xn.isLeaf()) {
               Route h = xn.endpoints.get(method);
               if (h != null) {
-                // rctx.routeParams.Keys = append(rctx.routeParams.Keys, h.paramKeys...)
                 rctx.key(h.getPathKeys());
                 return h;
               }
@@ -541,17 +562,13 @@ class Chi implements RouteTree {
           }
 
           // recursively returnType the next node..
-          Route fin = xn.findRoute(rctx, method, xsearch);
+          Route fin = xn.findRoute(rctx, method, path, xfrom);
           if (fin != null) {
             return fin;
           }
 
           // Did not returnType final handler, let's remove the param here if it was set
           if (xn.typ > ntStatic) {
-            //          if len(rctx.routeParams.Values) > 0 {
-            //            rctx.routeParams.Values =
-            // rctx.routeParams.Values[:len(rctx.routeParams.Values) - 1]
-            //          }
             rctx.pop();
           }
         }
@@ -777,8 +794,8 @@ class Chi implements RouteTree {
 
   private Router.Match findInternal(String method, String path) {
     // use radix tree
-    RouterMatch result = new RouterMatch();
-    Route route = root.findRoute(result, method, path);
+    RouterMatch result = new RouterMatch(path);
+    Route route = root.findRoute(result, method, path, 0);
     if (route == null) {
       return result.missing(method, path, encoder);
     }
@@ -788,4 +805,14 @@ class Chi implements RouteTree {
   public void setEncoder(MessageEncoder encoder) {
     this.encoder = encoder;
   }
+
+  /**
+   * Flatten this tree into a read-only dispatch table. Routes added after this call are not visible
+   * to the compiled tree.
+   *
+   * @return Compiled route tree.
+   */
+  public RouteTree compile() {
+    return new CompiledRouteTree(root, staticPaths, encoder);
+  }
 }
@@ -0,0 +1,396 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal;
+
+import static io.jooby.internal.Chi.NODE_SIZE;
+import static io.jooby.internal.Chi.ZERO_CHAR;
+import static io.jooby.internal.Chi.ntCatchAll;
+import static io.jooby.internal.Chi.ntParam;
+import static io.jooby.internal.Chi.ntRegexp;
+import static io.jooby.internal.Chi.ntStatic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import io.jooby.MessageEncoder;
+import io.jooby.Route;
+import io.jooby.Router;
+
+/**
+ * Read-only version of {@link Chi} created at application start. The trie is flattened into arrays
+ * indexed by node id: static edges are resolved with a char-indexed table (binary search when
+ * labels are too sparse), endpoints are indexed by an int method id and regex nodes keep their
+ * compiled pattern. Matching rules are the same as {@link Chi}.
+ */
+class CompiledRouteTree implements RouteTree {
+
+  /** Edge tables wider than this fall back to binary search. */
+  private static final int MAX_EDGE_TABLE = 128;
+
+  private static final String[] METHODS = {
+    Router.GET,
+    Router.POST,
+    Router.PUT,
+    Router.DELETE,
+    Router.PATCH,
+    Router.HEAD,
+    Router.OPTIONS,
+    Router.TRACE
+  };
+
+  private String[] methods;
+
+  private int methodCount;
+
+  /* Nodes: */
+  private byte[] type;
+
+  private char[] label;
+
+  private char[] tail;
+
+  private String[] prefix;
+
+  private Pattern[] rex;
+
+  /* Children: ids grouped by node type, range of node N and type T is at N * NODE_SIZE + T. */
+  private int[] children;
+
+  private int[] childStart;
+
+  private int[] childEnd;
+
+  /* Static edges: char indexed table, or -1 when node uses binary search. */
+  private char[] edgeMin;
+
+  private int[] edgeStart;
+
+  private int[] edgeLength;
+
+  private int[] edges;
+
+  /* Endpoints: route of node N for method M is at N * methodCount + M. */
+  private Route[] endpoints;
+
+  private Set<String>[] allow;
+
+  private Map<String, StaticRouterMatch[]> staticPaths;
+
+  private MessageEncoder encoder;
+
+  CompiledRouteTree(
+      Chi.Node root, Map<Object, Chi.StaticRoute> staticRoutes, MessageEncoder encoder) {
+    this.encoder = encoder;
+
+    /* Collect nodes and methods: */
+    List<Chi.Node> nodes = new ArrayList<>();
+    Map<Chi.Node, Integer> ids = new IdentityHashMap<>();
+    Set<String> methodSet = new LinkedHashSet<>(Arrays.asList(METHODS));
+    collect(root, nodes, ids, methodSet);
+    staticRoutes.values().forEach(it -> it.forEach((method, match) -> methodSet.add(method)));
+    this.methods = methodSet.toArray(new String[0]);
+    this.methodCount = methods.length;
+
+    int size = nodes.size();
+    type = new byte[size];
+    label = new char[size];
+    tail = new char[size];
+    prefix = new String[size];
+    rex = new Pattern[size];
+    childStart = new int[size * NODE_SIZE];
+    childEnd = new int[size * NODE_SIZE];
+    edgeMin = new char[size];
+    edgeStart = new int[size];
+    edgeLength = new int[size];
+    endpoints = new Route[size * methodCount];
+    allow = new Set[size];
+
+    int[] childBuffer = new int[size];
+    int childCount = 0;
+    int[] edgeBuffer = new int[16];
+    int edgeCount = 0;
+    for (int id = 0; id < size; id++) {
+      Chi.Node node = nodes.get(id);
+      type[id] = node.typ;
+      label[id] = node.label;
+      tail[id] = node.tail;
+      prefix[id] = node.prefix;
+      rex[id] = node.rex;
+      if (node.endpoints != null) {
+        allow[id] = Set.copyOf(node.endpoints.keySet());
+        for (Map.Entry<String, Route> e : node.endpoints.entrySet()) {
+          endpoints[id * methodCount + methodIndex(e.getKey())] = e.getValue();
+        }
+      }
+      for (int ntyp = 0; ntyp < NODE_SIZE; ntyp++) {
+        int slot = id * NODE_SIZE + ntyp;
+        childStart[slot] = childCount;
+        Chi.Node[] nds = node.children[ntyp];
+        if (nds != null) {
+          for (Chi.Node child : nds) {
+            childBuffer[childCount++] = ids.get(child);
+          }
+        }
+        childEnd[slot] = childCount;
+      }
+      /* Static edge table: */
+      int start = childStart[id * NODE_SIZE + ntStatic];
+      int end = childEnd[id * NODE_SIZE + ntStatic];
+      edgeLength[id] = -1;
+      if (start < end) {
+        char min = nodes.get(childBuffer[start]).label;
+        char max = nodes.get(childBuffer[end - 1]).label;
+        int range = max - min + 1;
+        if (range <= MAX_EDGE_TABLE) {
+          if (edgeCount + range > edgeBuffer.length) {
+            edgeBuffer =
+                Arrays.copyOf(edgeBuffer, Math.max(edgeBuffer.length * 2, edgeCount + range));
+          }
+          Arrays.fill(edgeBuffer, edgeCount, edgeCount + range, -1);
+          for (int i = start; i < end; i++) {
+            edgeBuffer[edgeCount + nodes.get(childBuffer[i]).label - min] = childBuffer[i];
+          }
+          edgeMin[id] = min;
+          edgeStart[id] = edgeCount;
+          edgeLength[id] = range;
+          edgeCount += range;
+        }
+      }
+    }
+    children = Arrays.copyOf(childBuffer, childCount);
+    edges = Arrays.copyOf(edgeBuffer, edgeCount);
+
+    /* Static paths: */
+    staticPaths = new HashMap<>();
+    staticRoutes.forEach(
+        (path, staticRoute) -> {
+          StaticRouterMatch[] matches = new StaticRouterMatch[methodCount];
+          staticRoute.forEach((method, match) -> matches[methodIndex(method)] = match);
+          staticPaths.put(path.toString(), matches);
+        });
+  }
+
+  private static void collect(
+      Chi.Node node, List<Chi.Node> nodes, Map<Chi.Node, Integer> ids, Set<String> methods) {
+    ids.put(node, nodes.size());
+    nodes.add(node);
+    if (node.endpoints != null) {
+      methods.addAll(node.endpoints.keySet());
+    }
+    for (Chi.Node[] nds : node.children) {
+      if (nds != null) {
+        for (Chi.Node child : nds) {
+          collect(child, nodes, ids, methods);
+        }
+      }
+    }
+  }
+
+  @Override
+  public void insert(String method, String pattern, Route route) {
+    throw new UnsupportedOperationException("Compiled route tree is read-only");
+  }
+
+  @Override
+  public boolean exists(String method, String path) {
+    return find(method, path).matches();
+  }
+
+  @Override
+  public Router.Match find(String method, String path) {
+    int m = methodIndex(method);
+    StaticRouterMatch[] matches = staticPaths.get(path);
+    if (matches != null && m >= 0) {
+      StaticRouterMatch match = matches[m];
+      if (match != null) {
+        return match;
+      }
+    }
+    RouterMatch result = new RouterMatch(path);
+    Route route = findRoute(result, 0, m, path, 0);
+    if (route == null) {
+      return result.missing(method, path, encoder);
+    }
+    return result.found(route);
+  }
+
+  @Override
+  public void destroy() {
+    staticPaths.clear();
+    Arrays.fill(endpoints, null);
+    Arrays.fill(allow, null);
+  }
+
+  private int methodIndex(String method) {
+    switch (method) {
+      case Router.GET:
+        return 0;
+      case Router.POST:
+        return 1;
+      case Router.PUT:
+        return 2;
+      case Router.DELETE:
+        return 3;
+      case Router.PATCH:
+        return 4;
+      case Router.HEAD:
+        return 5;
+      case Router.OPTIONS:
+        return 6;
+      case Router.TRACE:
+        return 7;
+      default:
+        for (int i = METHODS.length; i < methodCount; i++) {
+          if (methods[i].equals(method)) {
+            return i;
+          }
+        }
+        return -1;
+    }
+  }
+
+  private Route endpoint(int node, int method) {
+    return method < 0 ? null : endpoints[node * methodCount + method];
+  }
+
+  private int staticEdge(int node, char c) {
+    int length = edgeLength[node];
+    if (length >= 0) {
+      int i = c - edgeMin[node];
+      return i >= 0 && i < length ? edges[edgeStart[node] + i] : -1;
+    }
+    // sparse labels, children are sorted by label
+    int slot = node * NODE_SIZE + ntStatic;
+    int i = childStart[slot];
+    int j = childEnd[slot] - 1;
+    while (i <= j) {
+      int idx = (i + j) >>> 1;
+      int child = children[idx];
+      if (c > label[child]) {
+        i = idx + 1;
+      } else if (c < label[child]) {
+        j = idx - 1;
+      } else {
+        return child;
+      }
+    }
+    return -1;
+  }
+
+  private Route findRoute(RouterMatch rctx, int node, int method, String path, int from) {
+    int len = path.length();
+    for (int ntyp = 0; ntyp < NODE_SIZE; ntyp++) {
+      int slot = node * NODE_SIZE + ntyp;
+      int start = childStart[slot];
+      int end = childEnd[slot];
+      if (start < end) {
+        int xn;
+        int xfrom = from;
+
+        char c = from < len ? path.charAt(from) : ZERO_CHAR;
+
+        switch (ntyp) {
+          case ntStatic:
+            xn = staticEdge(node, c);
+            if (xn < 0 || !path.startsWith(prefix[xn], from)) {
+              continue;
+            }
+            xfrom += prefix[xn].length();
+            break;
+
+          case ntParam:
+          case ntRegexp:
+            // short-circuit and return no matching route for empty param values
+            if (xfrom == len) {
+              continue;
+            }
+            xn = -1;
+            for (int idx = start; idx < end; idx++) {
+              xn = children[idx];
+
+              int p = path.indexOf(tail[xn], from);
+              if (p < 0) {
+                if (tail[xn] == '/') {
+                  p = len;
+                } else {
+                  continue;
+                }
+              }
+
+              if (ntyp == ntRegexp && rex[xn] != null) {
+                if (!rex[xn].matcher(path).region(from, p).matches()) {
+                  continue;
+                }
+              } else {
+                int slash = path.indexOf('/', from);
+                if (slash != -1 && slash < p) {
+                  continue;
+                }
+              }
+
+              int prevlen = rctx.size();
+              rctx.value(from, p);
+              xfrom = p;
+
+              if (xfrom == len && allow[xn] != null) {
+                Route h = endpoint(xn, method);
+                if (h != null) {
+                  rctx.key(h.getPathKeys());
+                  return h;
+                }
+                rctx.methodNotAllowed(allow[xn]);
+              }
+
+              Route fin = findRoute(rctx, xn, method, path, xfrom);
+              if (fin != null) {
+                return fin;
+              }
+
+              rctx.truncate(prevlen);
+              xfrom = from;
+            }
+            // placeholder, so the pop below doesn't remove a parent variable
+            rctx.value(from, from);
+            break;
+
+          case ntCatchAll:
+          default:
+            if (xfrom < len) {
+              rctx.value(xfrom, len);
+            }
+            xn = children[start];
+            xfrom = len;
+        }
+
+        if (xfrom == len && allow[xn] != null) {
+          Route h = endpoint(xn, method);
+          if (h != null) {
+            rctx.key(h.getPathKeys());
+            return h;
+          }
+          rctx.methodNotAllowed(allow[xn]);
+        }
+
+        Route fin = findRoute(rctx, xn, method, path, xfrom);
+        if (fin != null) {
+          return fin;
+        }
+
+        if (type[xn] > ntStatic) {
+          rctx.pop();
+        }
+      }
+    }
+    return null;
+  }
+}
@@ -36,6 +36,15 @@ public class FileAsset implements Asset {
     this.file = file;
   }
 
+  /**
+   * Asset file.
+   *
+   * @return Asset file.
+   */
+  public @NonNull Path getPath() {
+    return file;
+  }
+
   @Override
   public long getSize() {
     try {
@@ -8,6 +8,8 @@ package io.jooby.internal;
 import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.channels.ReadableByteChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
@@ -50,7 +52,17 @@ public class FileBody implements Body {
   @Override
   public ReadableByteChannel channel() {
     try {
-      return Files.newByteChannel(file);
+      return FileChannel.open(file);
+    } catch (IOException x) {
+      throw SneakyThrows.propagate(x);
+    }
+  }
+
+  @NonNull @Override
+  public ByteBuffer buffer() {
+    // mapping is valid after channel is closed
+    try (FileChannel channel = FileChannel.open(file)) {
+      return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
     } catch (IOException x) {
       throw SneakyThrows.propagate(x);
     }
@@ -184,6 +184,11 @@ public class HeadContext extends ForwardingContext {
       return this;
     }
 
+    @NonNull @Override
+    public Sender write(@NonNull ByteBuffer data, @NonNull Callback callback) {
+      return this;
+    }
+
     @Override
     public void close() {}
   }
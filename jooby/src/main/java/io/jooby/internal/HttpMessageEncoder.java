@@ -7,6 +7,8 @@ package io.jooby.internal;
 
 import java.io.File;
 import java.io.InputStream;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
@@ -15,20 +17,140 @@ import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
-import edu.umd.cs.findbugs.annotations.NonNull;
 import io.jooby.Context;
 import io.jooby.FileDownload;
 import io.jooby.MediaType;
 import io.jooby.MessageEncoder;
 import io.jooby.ModelAndView;
+import io.jooby.Route;
 import io.jooby.StatusCode;
+import io.jooby.StreamingMessageEncoder;
 import io.jooby.TemplateEngine;
 
-public class HttpMessageEncoder implements MessageEncoder {
+public class HttpMessageEncoder implements RouteEncoder {
+
+  /**
+   * Route encoder: type checks and content negotiation are resolved once, at startup. Values of
+   * unexpected type go to the generic encoder.
+   */
+  private abstract static class TypedEncoder implements RouteEncoder {
+    protected final HttpMessageEncoder generic;
+
+    TypedEncoder(HttpMessageEncoder generic) {
+      this.generic = generic;
+    }
+  }
+
+  /** Route returning strings. */
+  private static class StringEncoder extends TypedEncoder {
+    StringEncoder(HttpMessageEncoder generic) {
+      super(generic);
+    }
+
+    @Override
+    public byte[] encode(Context ctx, Object value, boolean stream) throws Exception {
+      if (value instanceof String string) {
+        return string.getBytes(StandardCharsets.UTF_8);
+      }
+      return generic.encode(ctx, value, stream);
+    }
+  }
+
+  /** Route returning byte array. */
+  private static class BytesEncoder extends TypedEncoder {
+    BytesEncoder(HttpMessageEncoder generic) {
+      super(generic);
+    }
+
+    @Override
+    public byte[] encode(Context ctx, Object value, boolean stream) throws Exception {
+      if (value instanceof byte[] bytes) {
+        return bytes;
+      }
+      return generic.encode(ctx, value, stream);
+    }
+  }
+
+  /** Route returning views. */
+  private static class ViewEncoder extends TypedEncoder {
+    private static final int MAX_VIEWS = 256;
+
+    private final Map<String, TemplateEngine> engines = new ConcurrentHashMap<>();
+
+    ViewEncoder(HttpMessageEncoder generic) {
+      super(generic);
+    }
+
+    @Override
+    public byte[] encode(Context ctx, Object value, boolean stream) throws Exception {
+      if (value instanceof ModelAndView modelAndView) {
+        TemplateEngine engine = engines.get(modelAndView.getView());
+        if (engine == null) {
+          engine = generic.templateEngine(modelAndView);
+          if (engines.size() >= MAX_VIEWS) {
+            engines.clear();
+          }
+          engines.put(modelAndView.getView(), engine);
+        }
+        return renderView(ctx, engine, modelAndView, stream);
+      }
+      return generic.encode(ctx, value, stream);
+    }
+  }
+
+  /** Route returning objects, when there is a single message encoder. */
+  private static class SingleEncoder extends TypedEncoder {
+    private final Class<?> returnType;
+
+    private final MediaType type;
+
+    private final MessageEncoder encoder;
+
+    SingleEncoder(
+        HttpMessageEncoder generic, Class<?> returnType, MediaType type, MessageEncoder encoder) {
+      super(generic);
+      this.returnType = returnType;
+      this.type = type;
+      this.encoder = encoder;
+    }
+
+    @Override
+    public byte[] encode(Context ctx, Object value, boolean stream) throws Exception {
+      // a subclass or implementation of return type might still be a built-in type
+      if (value.getClass() != returnType && isBuiltIn(value)) {
+        return generic.encode(ctx, value, stream);
+      }
+      MessageEncoder encoder = ctx.accept(type) ? this.encoder : MessageEncoder.TO_STRING;
+      if (stream && encoder instanceof StreamingMessageEncoder streaming) {
+        ctx.responseBuffer(output -> streaming.encode(ctx, value, output));
+        return null;
+      }
+      return encoder.encode(ctx, value);
+    }
+  }
+
+  /** Types handled by {@link #encode(Context, Object, boolean)} before content negotiation. */
+  private static final List<Class<?>> BUILT_IN =
+      List.of(
+          ModelAndView.class,
+          InputStream.class,
+          StatusCode.class,
+          FileChannel.class,
+          File.class,
+          Path.class,
+          FileDownload.class,
+          CharSequence.class,
+          Number.class,
+          byte[].class,
+          ByteBuffer.class);
 
   private Map<MediaType, MessageEncoder> encoders;
 
+  /** Encoder media types, in registration order. */
+  private List<MediaType> encoderTypes;
+
   private List<TemplateEngine> templateEngineList = new ArrayList<>(2);
 
   public HttpMessageEncoder add(MediaType type, MessageEncoder encoder) {
@@ -40,20 +162,89 @@ public class HttpMessageEncoder implements MessageEncoder {
         encoders = new LinkedHashMap<>();
       }
       encoders.put(type, encoder);
+      encoderTypes = List.copyOf(encoders.keySet());
     }
     return this;
   }
 
+  /**
+   * Choose an encoder for the given route using the route return type. Routes without return type
+   * (or with a type that requires runtime checks) use this encoder.
+   *
+   * @param route Route.
+   * @return Encoder for route.
+   */
+  public RouteEncoder forRoute(Route route) {
+    Class<?> type = rawType(route.getReturnType());
+    if (type == null || type == Object.class) {
+      return this;
+    }
+    if (type == String.class) {
+      return new StringEncoder(this);
+    }
+    if (type == byte[].class) {
+      return new BytesEncoder(this);
+    }
+    if (ModelAndView.class.isAssignableFrom(type)) {
+      return templateEngineList.isEmpty() ? this : new ViewEncoder(this);
+    }
+    if (encoders != null && encoders.size() == 1 && route.getProduces().isEmpty()) {
+      for (Class<?> builtIn : BUILT_IN) {
+        if (builtIn.isAssignableFrom(type) || type.isAssignableFrom(builtIn)) {
+          // might be a built-in type
+          return this;
+        }
+      }
+      Map.Entry<MediaType, MessageEncoder> encoder = encoders.entrySet().iterator().next();
+      return new SingleEncoder(this, type, encoder.getKey(), encoder.getValue());
+    }
+    return this;
+  }
+
+  private static Class<?> rawType(Type type) {
+    if (type instanceof Class<?> classType) {
+      return classType;
+    }
+    if (type instanceof ParameterizedType parameterizedType
+        && parameterizedType.getRawType() instanceof Class<?> classType) {
+      return classType;
+    }
+    return null;
+  }
+
+  private static boolean isBuiltIn(Object value) {
+    for (Class<?> type : BUILT_IN) {
+      if (type.isInstance(value)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static byte[] renderView(
+      Context ctx, TemplateEngine engine, ModelAndView modelAndView, boolean stream)
+      throws Exception {
+    if (stream) {
+      ctx.responseBuffer(output -> engine.encode(ctx, modelAndView, output));
+      return null;
+    }
+    return engine.encode(ctx, modelAndView);
+  }
+
+  private TemplateEngine templateEngine(ModelAndView modelAndView) {
+    for (TemplateEngine engine : templateEngineList) {
+      if (engine.supports(modelAndView)) {
+        return engine;
+      }
+    }
+    throw new IllegalArgumentException("No template engine for: " + modelAndView.getView());
+  }
+
   @Override
-  public byte[] encode(@NonNull Context ctx, @NonNull Object value) throws Exception {
+  public byte[] encode(Context ctx, Object value, boolean stream) throws Exception {
     if (value instanceof ModelAndView) {
       ModelAndView modelAndView = (ModelAndView) value;
-      for (TemplateEngine engine : templateEngineList) {
-        if (engine.supports(modelAndView)) {
-          return engine.encode(ctx, modelAndView);
-        }
-      }
-      throw new IllegalArgumentException("No template engine for: " + modelAndView.getView());
+      return renderView(ctx, templateEngine(modelAndView), modelAndView, stream);
     }
     /** InputStream: */
     if (value instanceof InputStream) {
@@ -102,10 +293,15 @@ public class HttpMessageEncoder implements MessageEncoder {
       // Content negotiation, find best:
       List<MediaType> produces = ctx.getRoute().getProduces();
       if (produces.isEmpty()) {
-        produces = new ArrayList<>(encoders.keySet());
+        produces = encoderTypes;
       }
       MediaType type = ctx.accept(produces);
       MessageEncoder encoder = encoders.getOrDefault(type, MessageEncoder.TO_STRING);
+      if (stream && encoder instanceof StreamingMessageEncoder) {
+        StreamingMessageEncoder streaming = (StreamingMessageEncoder) encoder;
+        ctx.responseBuffer(output -> streaming.encode(ctx, value, output));
+        return null;
+      }
       return encoder.encode(ctx, value);
     } else {
       return MessageEncoder.TO_STRING.encode(ctx, value);
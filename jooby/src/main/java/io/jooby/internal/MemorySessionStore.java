@@ -5,37 +5,108 @@
  */
 package io.jooby.internal;
 
+import java.lang.ref.WeakReference;
 import java.time.Duration;
-import java.util.Iterator;
+import java.time.Instant;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Function;
 
-import io.jooby.Context;
-import io.jooby.Session;
 import io.jooby.SessionStore;
 import io.jooby.SessionToken;
 
-public class MemorySessionStore extends SessionStore.InMemory {
+/**
+ * Expiration is checked lazily when a session is looked up, while a background task sweeps the
+ * sessions that are never looked up again. Session lookup never iterates over other sessions.
+ */
+public class MemorySessionStore extends SessionStore.InMemory implements SessionStore.Stats {
+
+  /** Sweep expired sessions, a sweeper thread is shared by all the stores. */
+  private static class Sweeper implements Runnable {
+    private static final ScheduledExecutorService EXECUTOR =
+        Executors.newSingleThreadScheduledExecutor(
+            task -> {
+              Thread thread = new Thread(task, "session-sweeper");
+              thread.setDaemon(true);
+              return thread;
+            });
+
+    /** Weak, so the task is cancelled once the store (application) is gone. */
+    private final WeakReference<MemorySessionStore> store;
+
+    private ScheduledFuture<?> future;
+
+    Sweeper(MemorySessionStore store) {
+      this.store = new WeakReference<>(store);
+    }
+
+    /**
+     * Schedule the sweep task, cancel the previous one (if any).
+     *
+     * @param timeout Session timeout or <code>null</code> to stop sweeping.
+     */
+    synchronized void schedule(Duration timeout) {
+      if (future != null) {
+        future.cancel(false);
+        future = null;
+      }
+      if (timeout != null) {
+        long period = Math.min(Math.max(timeout.toMillis(), MIN_SWEEP_PERIOD), MAX_SWEEP_PERIOD);
+        future = EXECUTOR.scheduleWithFixedDelay(this, period, period, TimeUnit.MILLISECONDS);
+      }
+    }
+
+    @Override
+    public void run() {
+      MemorySessionStore store = this.store.get();
+      if (store == null) {
+        schedule(null);
+      } else {
+        store.sweep();
+      }
+    }
+  }
+
+  private static final long MIN_SWEEP_PERIOD = TimeUnit.SECONDS.toMillis(1);
+
+  private static final long MAX_SWEEP_PERIOD = TimeUnit.MINUTES.toMillis(1);
+
+  private final ConcurrentHashMap<String, Data> sessions = new ConcurrentHashMap<>();
+
+  private final LongAdder evictions = new LongAdder();
 
-  private ConcurrentHashMap<String, Data> sessions = new ConcurrentHashMap<>();
+  private volatile Duration timeout;
 
-  private Duration timeout;
+  private volatile Sweeper sweeper;
 
   public MemorySessionStore(SessionToken token, Duration timeout) {
     super(token);
-    this.timeout = Optional.ofNullable(timeout).filter(t -> t.toMillis() > 0).orElse(null);
+    this.timeout = timeout(timeout);
   }
 
   @Override
   protected Data getOrCreate(String sessionId, Function<String, Data> factory) {
+    startSweeper();
     return sessions.computeIfAbsent(sessionId, factory);
   }
 
   @Override
   protected Data getOrNull(String sessionId) {
-    return sessions.get(sessionId);
+    Data data = sessions.get(sessionId);
+    Duration timeout = this.timeout;
+    if (data != null && timeout != null && data.isExpired(timeout)) {
+      if (sessions.remove(sessionId, data)) {
+        evictions.increment();
+      }
+      return null;
+    }
+    return data;
   }
 
   @Override
@@ -45,31 +116,59 @@ public class MemorySessionStore extends SessionStore.InMemory {
 
   @Override
   protected void put(String sessionId, Data data) {
+    startSweeper();
     sessions.put(sessionId, data);
   }
 
   @Override
-  public Session findSession(Context ctx) {
-    purge();
-    return super.findSession(ctx);
+  public long getSessionCount() {
+    return sessions.mappingCount();
+  }
+
+  @Override
+  public long getEvictionCount() {
+    return evictions.sum();
+  }
+
+  public SessionStore setTimeout(Duration timeout) {
+    synchronized (this) {
+      this.timeout = timeout(timeout);
+      if (sweeper != null) {
+        sweeper.schedule(this.timeout);
+      }
+    }
+    return this;
   }
 
-  /** Check for expired session and delete them. */
-  private void purge() {
+  /** Delete expired sessions. */
+  private void sweep() {
+    Duration timeout = this.timeout;
     if (timeout != null) {
-      Iterator<Map.Entry<String, Data>> iterator = sessions.entrySet().iterator();
-      while (iterator.hasNext()) {
-        Map.Entry<String, Data> entry = iterator.next();
-        Data session = entry.getValue();
-        if (session.isExpired(timeout)) {
-          iterator.remove();
+      Instant deadline = Instant.now().minus(timeout);
+      for (Map.Entry<String, Data> entry : sessions.entrySet()) {
+        Data data = entry.getValue();
+        // don't remove a session that was saved while sweeping
+        if (data.getLastAccessedTime().isBefore(deadline)
+            && sessions.remove(entry.getKey(), data)) {
+          evictions.increment();
         }
       }
     }
   }
 
-  public SessionStore setTimeout(Duration timeout) {
-    this.timeout = timeout;
-    return this;
+  private void startSweeper() {
+    if (sweeper == null && timeout != null) {
+      synchronized (this) {
+        if (sweeper == null && timeout != null) {
+          Sweeper sweeper = new Sweeper(this);
+          sweeper.schedule(timeout);
+          this.sweeper = sweeper;
+        }
+      }
+    }
+  }
+
+  private static Duration timeout(Duration timeout) {
+    return Optional.ofNullable(timeout).filter(t -> t.toMillis() > 0).orElse(null);
   }
 }
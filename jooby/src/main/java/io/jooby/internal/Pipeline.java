@@ -9,6 +9,7 @@ import static io.jooby.ReactiveSupport.concurrent;
 import static io.jooby.internal.handler.DefaultHandler.DEFAULT;
 import static io.jooby.internal.handler.DetachHandler.DETACH;
 import static io.jooby.internal.handler.SendDirect.DIRECT;
+import static io.jooby.internal.handler.WorkerHandler.TIMED_WORKER;
 import static io.jooby.internal.handler.WorkerHandler.WORKER;
 
 import java.lang.reflect.Type;
@@ -33,7 +34,8 @@ public class Pipeline {
       ExecutionMode mode,
       Executor executor,
       ContextInitializer initializer,
-      Set<ResultHandler> responseHandler) {
+      Set<ResultHandler> responseHandler,
+      boolean queueTime) {
     // Set default wrapper and blocking mode
     if (!route.isNonBlockingSet()) {
       route.setNonBlocking(isDefaultNonblocking(executor, mode));
@@ -85,7 +87,11 @@ public class Pipeline {
       pipeline = route.getPipeline();
     }
     return dispatchHandler(
-        mode, executor, decorate(initializer, wrapper.then(pipeline)), route.isNonBlocking());
+        mode,
+        executor,
+        decorate(initializer, wrapper.then(pipeline)),
+        route.isNonBlocking(),
+        queueTime);
   }
 
   private static boolean isDefaultNonblocking(Executor executor, ExecutionMode mode) {
@@ -99,16 +105,21 @@ public class Pipeline {
   }
 
   private static Handler dispatchHandler(
-      ExecutionMode mode, Executor executor, Handler handler, boolean nonblocking) {
+      ExecutionMode mode,
+      Executor executor,
+      Handler handler,
+      boolean nonblocking,
+      boolean queueTime) {
     if (executor == null) {
+      Route.Filter worker = queueTime ? TIMED_WORKER : WORKER;
       if (mode == ExecutionMode.WORKER) {
-        return WORKER.then(handler);
+        return worker.then(handler);
       }
       if (mode == ExecutionMode.DEFAULT && !nonblocking) {
-        return WORKER.then(handler);
+        return worker.then(handler);
       }
       return handler;
     }
-    return new DispatchHandler(executor).apply(handler);
+    return new DispatchHandler(executor, queueTime).apply(handler);
   }
 }
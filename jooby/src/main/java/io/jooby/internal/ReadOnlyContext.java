@@ -127,6 +127,12 @@ public class ReadOnlyContext extends ForwardingContext {
     throw new IllegalStateException(MESSAGE);
   }
 
+  @NonNull @Override
+  public Context responseBuffer(@NonNull SneakyThrows.Consumer<OutputStream> consumer)
+      throws Exception {
+    throw new IllegalStateException(MESSAGE);
+  }
+
   @NonNull @Override
   public Context responseWriter(
       @NonNull MediaType contentType, @NonNull SneakyThrows.Consumer<PrintWriter> consumer)
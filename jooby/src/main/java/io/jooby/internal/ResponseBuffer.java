@@ -0,0 +1,32 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Growable response buffer. Unlike {@link ByteArrayOutputStream#toByteArray()}, {@link
+ * #toByteBuffer()} wraps the internal array so bytes are never copied before sending them.
+ */
+public class ResponseBuffer extends ByteArrayOutputStream {
+
+  /** Default initial capacity. */
+  public static final int INITIAL_SIZE = 1024;
+
+  public ResponseBuffer() {
+    super(INITIAL_SIZE);
+  }
+
+  /**
+   * View of written bytes, backed by the internal array.
+   *
+   * @return View of written bytes.
+   */
+  public ByteBuffer toByteBuffer() {
+    return ByteBuffer.wrap(buf, 0, count);
+  }
+}
@@ -0,0 +1,46 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import io.jooby.Context;
+import io.jooby.MessageEncoder;
+import io.jooby.StreamingMessageEncoder;
+
+/**
+ * Message encoder able to write straight into the response buffer. Implemented by {@link
+ * HttpMessageEncoder} and by the encoders it creates for each route.
+ */
+public interface RouteEncoder extends MessageEncoder {
+  /**
+   * Encode a value.
+   *
+   * @param ctx Web context.
+   * @param value Value to encode.
+   * @param stream True to let a {@link StreamingMessageEncoder} write into the response buffer.
+   * @return Value as byte array or <code>null</code> when the response was sent.
+   * @throws Exception If something goes wrong.
+   */
+  byte[] encode(Context ctx, Object value, boolean stream) throws Exception;
+
+  @Override
+  default byte[] encode(@NonNull Context ctx, @NonNull Object value) throws Exception {
+    return encode(ctx, value, false);
+  }
+
+  /**
+   * Like {@link #encode(Context, Object)} but a {@link StreamingMessageEncoder} selected by content
+   * negotiation writes straight into the response buffer and <code>null</code> is returned.
+   *
+   * @param ctx Web context.
+   * @param value Value to render.
+   * @return Value as byte array or <code>null</code> when the response was sent.
+   * @throws Exception If something goes wrong.
+   */
+  default byte[] render(@NonNull Context ctx, @NonNull Object value) throws Exception {
+    return encode(ctx, value, true);
+  }
+}
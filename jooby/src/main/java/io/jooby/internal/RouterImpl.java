@@ -629,14 +629,25 @@ public class RouterImpl implements Router {
       /** Response handler: */
       Route.Handler pipeline =
           Pipeline.build(
-              route, forceMode(route, mode), executor, postDispatchInitializer, resultSet);
+              route,
+              forceMode(route, mode),
+              executor,
+              postDispatchInitializer,
+              resultSet,
+              routerOptions.contains(RouterOption.QUEUE_TIME));
       route.setPipeline(pipeline);
-      /** Final render */
-      route.setEncoder(encoder);
+      /** Final render, specialized by route return type */
+      route.setEncoder(encoder.forRoute(route));
     }
     ((Chi) chi).setEncoder(encoder);
 
     /** router options: */
+    if (routerOptions.contains(RouterOption.COMPILE_ROUTES)) {
+      chi = ((Chi) chi).compile();
+      if (predicateMap != null) {
+        predicateMap.replaceAll((predicate, tree) -> ((Chi) tree).compile());
+      }
+    }
     if (routerOptions.contains(RouterOption.IGNORE_CASE)) {
       chi = new RouteTreeLowerCasePath(chi);
     }
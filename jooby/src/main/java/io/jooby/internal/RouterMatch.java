@@ -5,10 +5,14 @@
  */
 package io.jooby.internal;
 
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.LinkedHashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -20,37 +24,142 @@ import io.jooby.Router;
 
 public class RouterMatch implements Router.Match {
 
+  /**
+   * Read-only path variables view. Values are kept as start/end offsets over the request path and
+   * turned into strings the first time they are requested.
+   */
+  private static class PathMap extends AbstractMap<String, String> {
+    private final String path;
+
+    private final List<String> keys;
+
+    private final int[] offsets;
+
+    private final int size;
+
+    private String[] values;
+
+    PathMap(String path, List<String> keys, int[] offsets, int size) {
+      this.path = path;
+      this.keys = keys;
+      this.offsets = offsets;
+      this.size = Math.min(keys.size(), size);
+    }
+
+    @Override
+    public String get(Object key) {
+      for (int i = 0; i < size; i++) {
+        if (keys.get(i).equals(key)) {
+          return value(i);
+        }
+      }
+      return null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+      return get(key) != null;
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+      return new AbstractSet<>() {
+        @Override
+        public Iterator<Entry<String, String>> iterator() {
+          return new Iterator<>() {
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+              return index < size;
+            }
+
+            @Override
+            public Entry<String, String> next() {
+              if (index >= size) {
+                throw new NoSuchElementException();
+              }
+              int i = index++;
+              return new SimpleImmutableEntry<>(keys.get(i), value(i));
+            }
+          };
+        }
+
+        @Override
+        public int size() {
+          return size;
+        }
+      };
+    }
+
+    private String value(int index) {
+      if (values == null) {
+        values = new String[size];
+      }
+      String value = values[index];
+      if (value == null) {
+        int i = index * 2;
+        value = path.substring(offsets[i], offsets[i + 1]);
+        values[index] = value;
+      }
+      return value;
+    }
+  }
+
+  private static final int[] NO_OFFSETS = new int[0];
+
   boolean matches;
 
   private Route route;
 
-  Map vars = Collections.EMPTY_MAP;
+  private final String path;
+
+  /** Path variables as start/end pairs: <code>[start0, end0, start1, end1, ...]</code>. */
+  private int[] offsets = NO_OFFSETS;
+
+  private int size;
+
+  private List<String> keys = Collections.emptyList();
+
+  private Map<String, String> vars;
 
   private Route.Handler handler;
 
-  public RouterMatch() {}
+  public RouterMatch(String path) {
+    this.path = path;
+  }
 
   public void key(List<String> keys) {
-    for (int i = 0; i < Math.min(keys.size(), vars.size()); i++) {
-      vars.put(keys.get(i), vars.remove(i));
-    }
+    this.keys = keys;
+  }
+
+  public int size() {
+    return size;
   }
 
   public void truncate(int size) {
-    while (size < vars.size()) {
-      vars.remove(size++);
-    }
+    this.size = size;
   }
 
-  public void value(String value) {
-    if (vars == Collections.EMPTY_MAP) {
-      vars = new LinkedHashMap();
+  public void value(int start, int end) {
+    int i = size * 2;
+    if (i == offsets.length) {
+      offsets = Arrays.copyOf(offsets, Math.max(8, i * 2));
     }
-    vars.put(vars.size(), value);
+    offsets[i] = start;
+    offsets[i + 1] = end;
+    size += 1;
   }
 
   public void pop() {
-    vars.remove(vars.size() - 1);
+    if (size > 0) {
+      size -= 1;
+    }
   }
 
   public void methodNotAllowed(Set<String> allow) {
@@ -76,6 +185,12 @@ public class RouterMatch implements Router.Match {
 
   @Override
   public Map<String, String> pathMap() {
+    if (vars == null) {
+      vars =
+          size == 0 || keys.isEmpty()
+              ? Collections.emptyMap()
+              : new PathMap(path, keys, offsets, size);
+    }
     return vars;
   }
 
@@ -87,7 +202,7 @@ public class RouterMatch implements Router.Match {
 
   @Override
   public Object execute(@NonNull Context context, @NonNull Route.Handler pipeline) {
-    context.setPathMap(vars);
+    context.setPathMap(pathMap());
     context.setRoute(route);
     try {
       return pipeline.apply(context);
@@ -0,0 +1,68 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Virtual thread support. Jooby is compiled for Java 17, so virtual threads are created
+ * reflectively and are only available when running on Java 21 or higher.
+ */
+public final class VirtualThreads {
+
+  private static final Method OF_VIRTUAL = ofVirtual();
+
+  private VirtualThreads() {}
+
+  /**
+   * True when the running JVM supports virtual threads.
+   *
+   * @return True when the running JVM supports virtual threads.
+   */
+  public static boolean isSupported() {
+    return OF_VIRTUAL != null;
+  }
+
+  /**
+   * Creates an executor that starts a new virtual thread per task. Threads are named <code>
+   * prefix-N</code>.
+   *
+   * @param prefix Thread name prefix.
+   * @return Executor service or <code>null</code> when virtual threads aren't supported.
+   */
+  public static ExecutorService newExecutor(String prefix) {
+    if (OF_VIRTUAL == null) {
+      return null;
+    }
+    try {
+      Object builder = OF_VIRTUAL.invoke(null);
+      Class<?> builderType = OF_VIRTUAL.getReturnType();
+      builder =
+          builderType.getMethod("name", String.class, long.class).invoke(builder, prefix + "-", 0L);
+      ThreadFactory factory = (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+      return (ExecutorService)
+          Executors.class
+              .getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+              .invoke(null, factory);
+    } catch (ReflectiveOperationException x) {
+      throw new IllegalStateException("Unable to create virtual thread executor", x);
+    }
+  }
+
+  private static Method ofVirtual() {
+    try {
+      Method method = Thread.class.getMethod("ofVirtual");
+      // Java 19/20: preview API, fails unless preview features are enabled
+      method.invoke(null);
+      return method;
+    } catch (ReflectiveOperationException | RuntimeException x) {
+      return null;
+    }
+  }
+}
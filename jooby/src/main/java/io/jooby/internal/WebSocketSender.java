@@ -5,6 +5,7 @@
  */
 package io.jooby.internal;
 
+import java.io.OutputStream;
 import java.nio.charset.Charset;
 import java.time.Instant;
 import java.util.Date;
@@ -16,6 +17,7 @@ import io.jooby.Cookie;
 import io.jooby.DefaultContext;
 import io.jooby.ForwardingContext;
 import io.jooby.MediaType;
+import io.jooby.SneakyThrows;
 import io.jooby.StatusCode;
 import io.jooby.WebSocket;
 
@@ -56,6 +58,14 @@ public class WebSocketSender extends ForwardingContext implements DefaultContext
     return this;
   }
 
+  @NonNull @Override
+  public Context responseBuffer(@NonNull SneakyThrows.Consumer<OutputStream> consumer)
+      throws Exception {
+    ResponseBuffer buffer = new ResponseBuffer();
+    consumer.accept(buffer);
+    return send(buffer.toByteArray());
+  }
+
   @NonNull @Override
   public Context render(@NonNull Object value) {
     DefaultContext.super.render(value);
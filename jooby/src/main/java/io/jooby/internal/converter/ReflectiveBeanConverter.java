@@ -8,6 +8,9 @@ package io.jooby.internal.converter;
 import static io.jooby.SneakyThrows.propagate;
 
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Executable;
@@ -17,10 +20,11 @@ import java.lang.reflect.Modifier;
 import java.lang.reflect.Parameter;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Consumer;
@@ -39,14 +43,171 @@ import io.jooby.internal.reflect.$Types;
 import jakarta.inject.Inject;
 import jakarta.inject.Named;
 
+/**
+ * Creates beans from a {@link ValueNode} using a constructor and/or setter methods. Bean metadata
+ * (constructor, parameter names/types and setter method handles) is computed once per class and
+ * reused by subsequent conversions.
+ */
 public class ReflectiveBeanConverter {
 
-  private record Setter(Method method, Object arg) {
-    public void invoke(Object instance) throws InvocationTargetException, IllegalAccessException {
-      method.invoke(instance, arg);
+  /** Constructor or setter parameter, with everything {@link #value} needs precomputed. */
+  private static class Property {
+    final Parameter parameter;
+
+    final Class type;
+
+    /** Collection/Optional element type or type itself. */
+    final Class elementType;
+
+    final boolean nullable;
+
+    Property(Parameter parameter) {
+      this.parameter = parameter;
+      this.type = parameter.getType();
+      this.elementType = $Types.parameterizedType0(parameter.getParameterizedType());
+      this.nullable = isNullable(parameter);
+    }
+
+    boolean isFileUpload(ValueNode node) {
+      return (node instanceof Formdata) && ReflectiveBeanConverter.isFileUpload(type)
+          || ReflectiveBeanConverter.isFileUpload(elementType);
     }
   }
-  ;
+
+  /** A one argument method, candidate for setting a property. */
+  private static class Setter extends Property {
+    /** Position in {@link Class#getMethods()}, used to keep method resolution stable. */
+    private final int index;
+
+    private final Method method;
+
+    /** Method handle or <code>null</code> when method isn't accessible via public lookup. */
+    private final MethodHandle handle;
+
+    Setter(int index, Method method) {
+      super(method.getParameters()[0]);
+      this.index = index;
+      this.method = method;
+      this.handle = setterHandle(method);
+    }
+
+    boolean isSetPrefix() {
+      return method.getName().startsWith("set");
+    }
+
+    void invoke(Object instance, Object arg) throws Throwable {
+      if (handle == null) {
+        method.invoke(instance, arg);
+      } else {
+        handle.invokeExact(instance, arg);
+      }
+    }
+  }
+
+  private record Assignment(Setter setter, Object arg) {
+    void invoke(Object instance) throws Throwable {
+      setter.invoke(instance, arg);
+    }
+  }
+
+  /** Bean metadata, computed once per class. */
+  private static class Binder {
+    private final Constructor constructor;
+
+    /** Constructor handle or <code>null</code> when isn't accessible via public lookup. */
+    private final MethodHandle constructorHandle;
+
+    private final String[] names;
+
+    private final Property[] parameters;
+
+    /** One argument methods by name. */
+    private final Map<String, List<Setter>> methods = new HashMap<>();
+
+    private final boolean emptyBean;
+
+    Binder(Class type) throws NoSuchMethodException {
+      Constructor[] constructors = type.getConstructors();
+      this.constructor =
+          constructors.length == 0
+              ? type.getDeclaredConstructor()
+              : selectConstructor(constructors);
+      this.constructorHandle = constructorHandle(constructor);
+      Parameter[] parameters = constructor.getParameters();
+      this.names = new String[parameters.length];
+      this.parameters = new Property[parameters.length];
+      for (int i = 0; i < parameters.length; i++) {
+        this.names[i] = paramName(parameters[i]);
+        this.parameters[i] = new Property(parameters[i]);
+      }
+      Method[] methods = type.getMethods();
+      for (int i = 0; i < methods.length; i++) {
+        if (methods[i].getParameterCount() == 1) {
+          this.methods
+              .computeIfAbsent(methods[i].getName(), k -> new ArrayList<>())
+              .add(new Setter(i, methods[i]));
+        }
+      }
+      this.emptyBean = type.getAnnotation(EmptyBean.class) != null;
+    }
+
+    Object newInstance(Object[] args) throws Throwable {
+      if (constructorHandle == null) {
+        return constructor.newInstance(args);
+      }
+      return (Object) constructorHandle.invokeExact(args);
+    }
+
+    /**
+     * Find a setter for property. A <code>setXxx</code> method is preferred over a <code>xxx
+     * </code> method.
+     *
+     * @param name Property name.
+     * @return Setter or <code>null</code>.
+     */
+    Setter findSetter(String name) {
+      var setter = "set" + Character.toUpperCase(name.charAt(0)) + name.substring(1);
+      Setter result = findSetter(methods.get(setter), null);
+      return findSetter(methods.get(name), result);
+    }
+
+    private static Setter findSetter(List<Setter> candidates, Setter result) {
+      if (candidates != null) {
+        for (Setter candidate : candidates) {
+          if (result == null) {
+            result = candidate;
+          } else if (candidate.isSetPrefix()) {
+            // last set method wins
+            if (!result.isSetPrefix() || candidate.index > result.index) {
+              result = candidate;
+            }
+          } else if (!result.isSetPrefix() && candidate.index < result.index) {
+            // first non-set method wins
+            result = candidate;
+          }
+        }
+      }
+      return result;
+    }
+  }
+
+  private static final ClassValue<Binder> BINDERS =
+      new ClassValue<>() {
+        @Override
+        protected Binder computeValue(Class<?> type) {
+          try {
+            return new Binder(type);
+          } catch (NoSuchMethodException x) {
+            throw propagate(x);
+          }
+        }
+      };
+
+  private static final MethodType SETTER_TYPE =
+      MethodType.methodType(void.class, Object.class, Object.class);
+
+  private static final MethodType CONSTRUCTOR_TYPE =
+      MethodType.methodType(Object.class, Object[].class);
 
   private static final String AMBIGUOUS_CONSTRUCTOR =
       "Ambiguous constructor found. Expecting a single constructor or only one annotated with "
@@ -57,43 +218,32 @@ public class ReflectiveBeanConverter {
   public Object convert(@NonNull ValueNode node, @NonNull Class type, boolean allowEmptyBean) {
     try {
       return newInstance(type, node, allowEmptyBean);
-    } catch (InstantiationException | IllegalAccessException | NoSuchMethodException x) {
-      throw propagate(x);
     } catch (InvocationTargetException x) {
       throw propagate(x.getCause());
+    } catch (Throwable x) {
+      throw propagate(x);
     }
   }
 
   private static Object newInstance(Class type, ValueNode node, boolean allowEmptyBean)
-      throws IllegalAccessException,
-          InstantiationException,
-          InvocationTargetException,
-          NoSuchMethodException {
-    Constructor[] constructors = type.getConstructors();
+      throws Throwable {
+    Binder binder = BINDERS.get(type);
     Set<ValueNode> state = new HashSet<>();
-    Constructor constructor;
-    if (constructors.length == 0) {
-      constructor = type.getDeclaredConstructor();
-    } else {
-      constructor = selectConstructor(constructors);
-    }
     Object[] args =
-        constructor.getParameterCount() == 0 ? NO_ARGS : inject(node, constructor, state::add);
-    List<Setter> setters = setters(type, node, state);
-    if (!allowEmptyBean(type, allowEmptyBean) && state.stream().allMatch(Value::isMissing)) {
+        binder.parameters.length == 0
+            ? NO_ARGS
+            : inject(node, binder.names, binder.parameters, state::add);
+    List<Assignment> setters = setters(binder, node, state);
+    if (!(allowEmptyBean || binder.emptyBean) && state.stream().allMatch(Value::isMissing)) {
       return null;
     }
-    var instance = constructor.newInstance(args);
-    for (Setter setter : setters) {
+    var instance = binder.newInstance(args);
+    for (Assignment setter : setters) {
       setter.invoke(instance);
     }
     return instance;
   }
 
-  private static boolean allowEmptyBean(Class type, boolean defaults) {
-    return type.getAnnotation(EmptyBean.class) == null ? defaults : true;
-  }
-
   private static Constructor selectConstructor(Constructor[] constructors) {
     if (constructors.length == 1) {
       return constructors[0];
@@ -129,12 +279,22 @@ public class ReflectiveBeanConverter {
     if (parameters.length == 0) {
       return NO_ARGS;
     }
+    String[] names = new String[parameters.length];
+    Property[] properties = new Property[parameters.length];
+    for (int i = 0; i < parameters.length; i++) {
+      names[i] = paramName(parameters[i]);
+      properties[i] = new Property(parameters[i]);
+    }
+    return inject(scope, names, properties, state);
+  }
+
+  private static Object[] inject(
+      ValueNode scope, String[] names, Property[] parameters, Consumer<ValueNode> state) {
     Object[] args = new Object[parameters.length];
     for (int i = 0; i < parameters.length; i++) {
-      Parameter parameter = parameters[i];
-      String name = paramName(parameter);
+      String name = names[i];
       ValueNode param = scope.get(name);
-      var arg = value(parameter, scope, param);
+      var arg = value(parameters[i], scope, param);
       if (arg == null) {
         state.accept(Value.missing(name));
       } else {
@@ -175,22 +335,20 @@ public class ReflectiveBeanConverter {
     return names;
   }
 
-  private static List<Setter> setters(Class type, ValueNode node, Set<ValueNode> nodes) {
-    var methods = type.getMethods();
-    var result = new ArrayList<Setter>();
+  private static List<Assignment> setters(Binder binder, ValueNode node, Set<ValueNode> nodes) {
+    var result = new ArrayList<Assignment>();
     for (String name : names(node)) {
       ValueNode value = node.get(name);
       if (nodes.add(value)) {
-        Method method = findSetter(methods, name);
-        if (method != null) {
-          Parameter parameter = method.getParameters()[0];
+        Setter setter = binder.findSetter(name);
+        if (setter != null) {
           try {
-            Object arg = value(parameter, node, value);
-            result.add(new Setter(method, arg));
+            Object arg = value(setter, node, value);
+            result.add(new Assignment(setter, arg));
           } catch (ProvisioningException x) {
             throw x;
           } catch (Exception x) {
-            throw new ProvisioningException(parameter, x);
+            throw new ProvisioningException(setter.parameter, x);
           }
         } else {
           nodes.remove(value);
@@ -200,29 +358,29 @@ public class ReflectiveBeanConverter {
     return result;
   }
 
-  private static Object value(Parameter parameter, ValueNode node, ValueNode value) {
+  private static Object value(Property property, ValueNode node, ValueNode value) {
     try {
-      if (isFileUpload(node, parameter)) {
+      if (property.isFileUpload(node)) {
         Formdata formdata = (Formdata) node;
-        if (Set.class.isAssignableFrom(parameter.getType())) {
+        if (Set.class.isAssignableFrom(property.type)) {
           return new HashSet<>(formdata.files(value.name()));
-        } else if (Collection.class.isAssignableFrom(parameter.getType())) {
+        } else if (Collection.class.isAssignableFrom(property.type)) {
           return formdata.files(value.name());
-        } else if (Optional.class.isAssignableFrom(parameter.getType())) {
+        } else if (Optional.class.isAssignableFrom(property.type)) {
           List<FileUpload> files = formdata.files(value.name());
           return files.isEmpty() ? Optional.empty() : Optional.of(files.get(0));
         } else {
           return formdata.file(value.name());
         }
       } else {
-        if (Set.class.isAssignableFrom(parameter.getType())) {
-          return value.toSet($Types.parameterizedType0(parameter.getParameterizedType()));
-        } else if (Collection.class.isAssignableFrom(parameter.getType())) {
-          return value.toList($Types.parameterizedType0(parameter.getParameterizedType()));
-        } else if (Optional.class.isAssignableFrom(parameter.getType())) {
-          return value.toOptional($Types.parameterizedType0(parameter.getParameterizedType()));
+        if (Set.class.isAssignableFrom(property.type)) {
+          return value.toSet(property.elementType);
+        } else if (Collection.class.isAssignableFrom(property.type)) {
+          return value.toList(property.elementType);
+        } else if (Optional.class.isAssignableFrom(property.type)) {
+          return value.toOptional(property.elementType);
         } else {
-          if (isNullable(parameter)) {
+          if (property.nullable) {
             if (value.isSingle()) {
               var str = value.valueOrNull();
               if (str == null || str.length() == 0) {
@@ -230,16 +388,43 @@ public class ReflectiveBeanConverter {
                 return null;
               }
             }
-            return value.toNullable(parameter.getType());
+            return value.toNullable(property.type);
           } else {
-            return value.to(parameter.getType());
+            return value.to(property.type);
           }
         }
       }
     } catch (MissingValueException x) {
-      throw new ProvisioningException(parameter, x);
+      throw new ProvisioningException(property.parameter, x);
     } catch (BadRequestException x) {
-      throw new ProvisioningException(parameter, x);
+      throw new ProvisioningException(property.parameter, x);
+    }
+  }
+
+  private static MethodHandle setterHandle(Method method) {
+    try {
+      MethodHandle handle = MethodHandles.publicLookup().unreflect(method).asFixedArity();
+      if (Modifier.isStatic(method.getModifiers())) {
+        // ignore instance, like Method.invoke does
+        handle = MethodHandles.dropArguments(handle, 0, Object.class);
+      }
+      return handle.asType(SETTER_TYPE);
+    } catch (IllegalAccessException x) {
+      // fallback to reflection
+      return null;
+    }
+  }
+
+  private static MethodHandle constructorHandle(Constructor constructor) {
+    try {
+      return MethodHandles.publicLookup()
+          .unreflectConstructor(constructor)
+          .asFixedArity()
+          .asSpreader(Object[].class, constructor.getParameterCount())
+          .asType(CONSTRUCTOR_TYPE);
+    } catch (IllegalAccessException x) {
+      // fallback to reflection
+      return null;
     }
   }
 
@@ -262,28 +447,7 @@ public class ReflectiveBeanConverter {
     return false;
   }
 
-  private static boolean isFileUpload(ValueNode node, Parameter parameter) {
-    return (node instanceof Formdata) && isFileUpload(parameter.getType())
-        || isFileUpload($Types.parameterizedType0(parameter.getParameterizedType()));
-  }
-
   private static boolean isFileUpload(Class type) {
     return FileUpload.class == type;
   }
-
-  private static Method findSetter(Method[] methods, String name) {
-    var setter = "set" + Character.toUpperCase(name.charAt(0)) + name.substring(1);
-    var candidates = new LinkedList<Method>();
-    for (Method method : methods) {
-      if ((method.getName().equals(name) || method.getName().equals(setter))
-          && method.getParameterCount() == 1) {
-        if (method.getName().startsWith("set")) {
-          candidates.addFirst(method);
-        } else {
-          candidates.addLast(method);
-        }
-      }
-    }
-    return candidates.isEmpty() ? null : candidates.getFirst();
-  }
 }
@@ -6,37 +6,133 @@
 package io.jooby.internal.handler;
 
 import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
 
 import org.slf4j.Logger;
 
+import com.typesafe.config.Config;
 import io.jooby.Context;
 import io.jooby.MediaType;
 import io.jooby.MessageEncoder;
 import io.jooby.Route;
+import io.jooby.Router;
 import io.jooby.Sender;
 import io.jooby.Server;
+import io.jooby.internal.ResponseBuffer;
 
+/**
+ * Write items of a {@link Flow.Publisher} as a chunked response. Items are requested in windows of
+ * {@link Options#demand()} and encoded into a single buffer. First item is sent right away, next
+ * ones are sent as one chunk when the buffer reaches {@link Options#chunkSize()}, when all the
+ * requested items were received or when no item arrived for {@link Options#flushTimeout()}
+ * milliseconds. Next window is requested once the last chunk was written, so at most one window is
+ * kept in memory.
+ *
+ * <p>Items are encoded outside of the lock, which is only held to append encoded bytes and to start
+ * a write. Two buffers are used: the one being written is handed to the {@link Sender} as it is and
+ * new items go to the other one, so bytes are never copied. Idle flushes run on the server
+ * scheduler (see {@link Context#schedule(Runnable, long, TimeUnit)}).
+ */
 public class ChunkedSubscriber implements Flow.Subscriber {
 
+  /**
+   * Stream options.
+   *
+   * @param demand Number of items to request at once.
+   * @param chunkSize Buffered bytes that trigger a write.
+   * @param flushTimeout Milliseconds to wait for more items before writing buffered bytes, <code>
+   *     0</code> waits until the window is complete.
+   */
+  public record Options(int demand, int chunkSize, long flushTimeout) {
+
+    /** Default options. */
+    public static final Options DEFAULT = new Options(64, 8192, 50);
+
+    private static final String KEY = Options.class.getName();
+
+    /**
+     * Get options from application configuration: <code>stream.demand</code>, <code>
+     * stream.chunkSize</code> and <code>stream.flushTimeout</code>. Options are computed once per
+     * router.
+     *
+     * @param router Router.
+     * @return Stream options.
+     */
+    public static Options get(Router router) {
+      return (Options)
+          router.getAttributes().computeIfAbsent(KEY, key -> parse(router.getConfig()));
+    }
+
+    private static Options parse(Config conf) {
+      int demand = DEFAULT.demand;
+      int chunkSize = DEFAULT.chunkSize;
+      long flushTimeout = DEFAULT.flushTimeout;
+      if (conf.hasPath("stream.demand")) {
+        demand = conf.getInt("stream.demand");
+      }
+      if (conf.hasPath("stream.chunkSize")) {
+        chunkSize = conf.getBytes("stream.chunkSize").intValue();
+      }
+      if (conf.hasPath("stream.flushTimeout")) {
+        flushTimeout = conf.getDuration("stream.flushTimeout", TimeUnit.MILLISECONDS);
+      }
+      return new Options(demand, chunkSize, flushTimeout);
+    }
+  }
+
   private static final byte JSON_LBRACKET = '[';
   private static final byte JSON_SEP = ',';
-  private static final byte[] JSON_RBRACKET = {']'};
+  private static final byte JSON_RBRACKET = ']';
   private Flow.Subscription subscription;
   private Context ctx;
   private Sender sender;
   private MediaType responseType;
+  private final Options options;
+
+  /** Buffer receiving new items. */
+  private ResponseBuffer buffer = new ResponseBuffer();
+
+  /** Free buffer, <code>null</code> while it is being written. */
+  private ResponseBuffer spare = new ResponseBuffer();
+
+  /** Items left on current window. */
+  private int requested;
+
+  private boolean writing;
+
+  private boolean completed;
+
+  private volatile boolean failed;
+
+  /** True when an idle flush is scheduled. */
+  private boolean idle;
+
+  /** Identifies the scheduled idle flush, incremented to cancel it. */
+  private long idleId;
 
   public ChunkedSubscriber(Context ctx) {
+    this(ctx, Options.DEFAULT);
+  }
+
+  public ChunkedSubscriber(Context ctx, Options options) {
     this.ctx = ctx;
+    this.options = options;
   }
 
   @Override
   public void onSubscribe(Flow.Subscription subscription) {
     this.subscription = subscription;
-    this.subscription.request(1);
+    synchronized (this) {
+      requested = options.demand();
+    }
+    this.subscription.request(options.demand());
   }
 
   public void onNext(Object item) {
+    if (failed) {
+      return;
+    }
+    byte[] data;
     try {
       Route route = ctx.getRoute();
       Route.After after = route.getAfter();
@@ -44,29 +140,39 @@ public class ChunkedSubscriber implements Flow.Subscriber {
         after.apply(ctx, item, null);
       }
       MessageEncoder encoder = route.getEncoder();
-      byte[] data = encoder.encode(ctx, item);
+      data = encoder.encode(ctx, item);
+    } catch (Exception x) {
+      onError(x, true);
+      return;
+    }
+    append(data);
+  }
 
-      if (responseType == null) {
+  private synchronized void append(byte[] data) {
+    if (failed) {
+      return;
+    }
+    try {
+      boolean first = responseType == null;
+      if (first) {
         responseType = ctx.getResponseType();
         if (responseType.isJson()) {
-          data = prepend(data, JSON_LBRACKET);
+          buffer.write(JSON_LBRACKET);
         }
       } else {
         if (responseType.isJson()) {
-          data = prepend(data, JSON_SEP);
+          buffer.write(JSON_SEP);
         }
       }
+      buffer.write(data, 0, data.length);
+      requested -= 1;
 
-      sender()
-          .write(
-              data,
-              (context, x) -> {
-                if (x == null) {
-                  subscription.request(1);
-                } else {
-                  onError(x, true);
-                }
-              });
+      // first item is sent right away, so response headers go out as soon as possible
+      if (first || buffer.size() >= options.chunkSize() || requested == 0) {
+        flush();
+      } else {
+        scheduleFlush();
+      }
     } catch (Exception x) {
       onError(x, true);
     }
@@ -76,7 +182,13 @@ public class ChunkedSubscriber implements Flow.Subscriber {
     onError(x, false);
   }
 
-  private void onError(Throwable x, boolean cancel) {
+  private synchronized void onError(Throwable x, boolean cancel) {
+    if (failed) {
+      return;
+    }
+    failed = true;
+    cancelFlush();
+    buffer.reset();
     // we use it to mark the response as errored so we don't sent a possible trailing json response.
     responseType = null;
     try {
@@ -101,26 +213,82 @@ public class ChunkedSubscriber implements Flow.Subscriber {
     }
   }
 
-  public void onComplete() {
+  public synchronized void onComplete() {
+    if (failed) {
+      return;
+    }
+    completed = true;
+    cancelFlush();
     if (responseType != null && responseType.isJson()) {
       responseType = null;
-      sender()
-          .write(
-              JSON_RBRACKET,
-              (ctx, x) -> {
-                if (x != null) {
-                  onError(x);
-                }
-              });
-    }
-    sender().close();
+      buffer.write(JSON_RBRACKET);
+    }
+    if (!writing) {
+      if (buffer.size() > 0) {
+        flush();
+      } else {
+        sender().close();
+      }
+    }
+  }
+
+  /** Write buffered bytes, unless there is a write in progress. Must be called while locked. */
+  private void flush() {
+    if (writing || buffer.size() == 0) {
+      return;
+    }
+    cancelFlush();
+    ResponseBuffer data = buffer;
+    buffer = spare;
+    spare = null;
+    writing = true;
+    sender().write(data.toByteBuffer(), (context, x) -> onWrite(data, x));
   }
 
-  private static byte[] prepend(byte[] data, byte c) {
-    byte[] tmp = new byte[data.length + 1];
-    System.arraycopy(data, 0, tmp, 1, data.length);
-    tmp[0] = c;
-    return tmp;
+  private synchronized void onWrite(ResponseBuffer data, Throwable x) {
+    data.reset();
+    spare = data;
+    writing = false;
+    if (failed) {
+      return;
+    }
+    if (x != null) {
+      onError(x, true);
+    } else if (buffer.size() > 0
+        && (completed || requested == 0 || buffer.size() >= options.chunkSize())) {
+      flush();
+    } else if (completed) {
+      sender().close();
+    } else if (requested == 0) {
+      requested = options.demand();
+      subscription.request(options.demand());
+    } else {
+      scheduleFlush();
+    }
+  }
+
+  private void scheduleFlush() {
+    if (!idle && !writing && buffer.size() > 0 && options.flushTimeout() > 0) {
+      idle = true;
+      long id = ++idleId;
+      ctx.schedule(() -> idleFlush(id), options.flushTimeout(), TimeUnit.MILLISECONDS);
+    }
+  }
+
+  private synchronized void idleFlush(long id) {
+    if (idle && id == idleId) {
+      idle = false;
+      if (!failed) {
+        flush();
+      }
+    }
+  }
+
+  private void cancelFlush() {
+    if (idle) {
+      idle = false;
+      idleId += 1;
+    }
   }
 
   private Sender sender() {
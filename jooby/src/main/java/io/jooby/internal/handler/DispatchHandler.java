@@ -8,17 +8,46 @@ package io.jooby.internal.handler;
 import java.util.concurrent.Executor;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
+import io.jooby.Context;
 import io.jooby.Route;
 
 public class DispatchHandler implements Route.Filter {
   private final Executor executor;
 
+  private final boolean queueTime;
+
   public DispatchHandler(Executor executor) {
+    this(executor, false);
+  }
+
+  /**
+   * Creates a dispatch handler.
+   *
+   * @param executor Executor.
+   * @param queueTime True to save the {@link Context#QUEUE_TIME} attribute.
+   */
+  public DispatchHandler(Executor executor, boolean queueTime) {
     this.executor = executor;
+    this.queueTime = queueTime;
   }
 
   @NonNull @Override
   public Route.Handler apply(@NonNull Route.Handler next) {
+    if (queueTime) {
+      return ctx -> {
+        long dispatchedAt = System.nanoTime();
+        return ctx.dispatch(
+            executor,
+            () -> {
+              try {
+                ctx.setAttribute(Context.QUEUE_TIME, System.nanoTime() - dispatchedAt);
+                next.apply(ctx);
+              } catch (Throwable x) {
+                ctx.sendError(x);
+              }
+            });
+      };
+    }
     return ctx ->
         ctx.dispatch(
             executor,
@@ -6,15 +6,37 @@
 package io.jooby.internal.handler;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
+import io.jooby.Context;
 import io.jooby.Route;
 
 public class WorkerHandler implements Route.Filter {
-  public static final Route.Filter WORKER = new WorkerHandler();
+  public static final Route.Filter WORKER = new WorkerHandler(false);
 
-  private WorkerHandler() {}
+  /** Like {@link #WORKER} but saves the {@link Context#QUEUE_TIME} attribute. */
+  public static final Route.Filter TIMED_WORKER = new WorkerHandler(true);
+
+  private final boolean queueTime;
+
+  private WorkerHandler(boolean queueTime) {
+    this.queueTime = queueTime;
+  }
 
   @NonNull @Override
   public Route.Handler apply(@NonNull Route.Handler next) {
+    if (queueTime) {
+      return ctx -> {
+        long dispatchedAt = System.nanoTime();
+        return ctx.dispatch(
+            () -> {
+              try {
+                ctx.setAttribute(Context.QUEUE_TIME, System.nanoTime() - dispatchedAt);
+                next.apply(ctx);
+              } catch (Throwable x) {
+                ctx.sendError(x);
+              }
+            });
+      };
+    }
     return ctx ->
         ctx.dispatch(
             () -> {
@@ -7,6 +7,7 @@ package io.jooby;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import org.junit.jupiter.api.Test;
@@ -51,6 +52,19 @@ public class CookieTest {
         "foo=bar&x=u iq",
         Cookie.unsign(
             "RcFzlzECN2Lv32Ie9jfSWVr13j6OjllJwDDZe4mVS4c|foo=bar&x=u iq", "987654345!$009P"));
+
+    // tampered value, signature or secret
+    assertNull(
+        Cookie.unsign("1bqmVaHYY/O6zMFHI8iwJXLWaNmYKbYkuMX4gnRdO+Y|foo=baz", "987654345!$009P"));
+    assertNull(
+        Cookie.unsign("1bqmVaHYY/O6zMFHI8iwJXLWaNmYKbYkuMX4gnRdO+|foo=bar", "987654345!$009P"));
+    assertNull(
+        Cookie.unsign("1bqmVaHYY/O6zMFHI8iwJXLWaNmYKbYkuMX4gnRdO+Y|foo=bar", "987654345!$009Q"));
+    assertNull(Cookie.unsign("foo=bar", "987654345!$009P"));
+    // secret switch on same thread
+    assertEquals(
+        "1bqmVaHYY/O6zMFHI8iwJXLWaNmYKbYkuMX4gnRdO+Y|foo=bar",
+        Cookie.sign("foo=bar", "987654345!$009P"));
   }
 
   @Test
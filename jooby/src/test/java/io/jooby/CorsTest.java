@@ -76,6 +76,25 @@ public class CorsTest {
           assertEquals(true, cors.allowOrigin("http://foo.com"));
           assertEquals(false, cors.allowOrigin("http://bar.com"));
         });
+
+    cors(
+        baseconf()
+            .withValue(
+                "origin",
+                fromAnyRef(asList("http://foo.com", "https://*.bar.com", "https://(a|b).com"))),
+        cors -> {
+          assertEquals(false, cors.anyOrigin());
+          assertEquals(true, cors.allowOrigin("http://foo.com"));
+          assertEquals(true, cors.allowOrigin("HTTP://FOO.COM"));
+          assertEquals(false, cors.allowOrigin("http://fooXcom"));
+          assertEquals(true, cors.allowOrigin("https://api.bar.com"));
+          // cached
+          assertEquals(true, cors.allowOrigin("https://api.bar.com"));
+          assertEquals(false, cors.allowOrigin("https://api.bar.org"));
+          assertEquals(false, cors.allowOrigin("https://api.bar.org"));
+          assertEquals(true, cors.allowOrigin("https://a.com"));
+          assertEquals(false, cors.allowOrigin("https://c.com"));
+        });
   }
 
   @Test
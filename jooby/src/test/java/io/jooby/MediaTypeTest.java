@@ -7,6 +7,8 @@ package io.jooby;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.Collections;
@@ -178,6 +180,17 @@ public class MediaTypeTest {
         });
   }
 
+  @Test
+  public void acceptCache() {
+    String value = "text/*, text/plain, */*, text/html;level=1, text/plain";
+    List<MediaType> types = MediaType.accept(value);
+    assertEquals(
+        "[text/html;level=1, text/plain, text/*, */*]",
+        types.stream().map(MediaType::toString).toList().toString());
+    assertSame(types, MediaType.accept(value));
+    assertThrows(UnsupportedOperationException.class, () -> types.add(MediaType.json));
+  }
+
   public static void accept(String value, Consumer<List<MediaType>> consumer) {
     List<MediaType> types = MediaType.parse(value);
     Collections.sort(types);
@@ -0,0 +1,76 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import io.jooby.handler.RateLimiter;
+
+public class RateLimiterTest {
+
+  @Test
+  public void consume() {
+    RateLimiter limiter = new RateLimiter(2, Duration.ofMinutes(1));
+
+    RateLimiter.Probe probe = limiter.tryConsume("a");
+    assertTrue(probe.consumed());
+    assertEquals(2, probe.limit());
+    assertEquals(1, probe.remaining());
+
+    probe = limiter.tryConsume("a");
+    assertTrue(probe.consumed());
+    assertEquals(0, probe.remaining());
+
+    probe = limiter.tryConsume("a");
+    assertFalse(probe.consumed());
+    assertEquals(0, probe.remaining());
+    assertTrue(probe.retryNanos() > Duration.ofSeconds(29).toNanos());
+    assertTrue(probe.retryNanos() <= Duration.ofSeconds(30).toNanos());
+    assertTrue(probe.resetNanos() > Duration.ofSeconds(59).toNanos());
+
+    // other keys have their own bucket
+    assertTrue(limiter.tryConsume("b").consumed());
+  }
+
+  @Test
+  public void refill() throws InterruptedException {
+    RateLimiter limiter = new RateLimiter(1, Duration.ofMillis(50));
+    assertTrue(limiter.tryConsume("a").consumed());
+    assertFalse(limiter.tryConsume("a").consumed());
+    Thread.sleep(60);
+    assertTrue(limiter.tryConsume("a").consumed());
+  }
+
+  @Test
+  public void maxKeys() {
+    RateLimiter limiter = new RateLimiter(10, Duration.ofMinutes(1)).setMaxKeys(32);
+    for (int i = 0; i < 1000; i++) {
+      assertTrue(limiter.tryConsume("key" + i).consumed());
+    }
+    assertTrue(limiter.size() <= 32, "size: " + limiter.size());
+  }
+
+  @Test
+  public void keepThrottledKeysWhileOtherKeysChurn() {
+    RateLimiter limiter = new RateLimiter(2, Duration.ofMinutes(1)).setMaxKeys(32);
+    assertTrue(limiter.tryConsume("a").consumed());
+    assertTrue(limiter.tryConsume("a").consumed());
+    assertFalse(limiter.tryConsume("a").consumed());
+
+    // new keys take a single token, so their buckets are full sooner than the throttled one
+    for (int i = 0; i < 1000; i++) {
+      assertTrue(limiter.tryConsume("key" + i).consumed());
+      assertFalse(limiter.tryConsume("a").consumed(), "throttled key evicted after: " + i);
+    }
+    assertTrue(limiter.size() <= 32, "size: " + limiter.size());
+  }
+}
@@ -7,6 +7,10 @@ package io.jooby;
 
 import static com.typesafe.config.ConfigValueFactory.fromAnyRef;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
 
 import org.junit.jupiter.api.Test;
 
@@ -27,6 +31,7 @@ public class ServerOptionsTest {
                     .withValue("server.defaultHeaders", fromAnyRef(false))
                     .withValue("server.compressionLevel", fromAnyRef(8))
                     .withValue("server.maxRequestSize", fromAnyRef(2048))
+                    .withValue("server.fileSizeThreshold", fromAnyRef("1k"))
                     .withValue("server.workerThreads", fromAnyRef(32))
                     .withValue("server.host", fromAnyRef("0.0.0.0"))
                     .withValue("server.httpsOnly", fromAnyRef(true))
@@ -39,11 +44,51 @@ public class ServerOptionsTest {
     assertEquals(1024, options.getBufferSize());
     assertEquals(8, options.getCompressionLevel());
     assertEquals(2048, options.getMaxRequestSize());
+    assertEquals(1024, options.getFileSizeThreshold());
     assertEquals(32, options.getWorkerThreads());
     assertEquals("0.0.0.0", options.getHost());
     assertEquals(true, options.isHttpsOnly());
   }
 
+  @Test
+  public void compressibleMediaTypes() {
+    ServerOptions options = new ServerOptions();
+    assertTrue(options.isCompressible(null));
+    assertTrue(options.isCompressible("text/html; charset=UTF-8"));
+    assertTrue(options.isCompressible("application/json"));
+    assertTrue(options.isCompressible("application/problem+json"));
+    assertTrue(options.isCompressible("Image/SVG+XML"));
+    assertFalse(options.isCompressible("image/png"));
+    assertFalse(options.isCompressible("application/octet-stream"));
+    assertFalse(options.isCompressible("application/jsonx"));
+
+    options.setCompressionMediaTypes("*/*");
+    assertTrue(options.isCompressible("image/png"));
+
+    options =
+        ServerOptions.from(
+                ConfigFactory.empty()
+                    .withValue("server.compressionMinSize", fromAnyRef("1k"))
+                    .withValue("server.compressionMediaTypes", fromAnyRef(List.of("text/css")))
+                    .withValue("server.compressionEncodings", fromAnyRef(List.of("gzip")))
+                    .resolve())
+            .get();
+    assertEquals(1024, options.getCompressionMinSize());
+    assertTrue(options.isCompressible("text/css"));
+    assertFalse(options.isCompressible("text/html"));
+    assertEquals(List.of("gzip"), options.getCompressionEncodings());
+  }
+
+  @Test
+  public void fileSizeThresholdDefaultsToBufferSize() {
+    ServerOptions options = new ServerOptions();
+    assertEquals(ServerOptions._16KB, options.getFileSizeThreshold());
+    options.setBufferSize(1024);
+    assertEquals(1024, options.getFileSizeThreshold());
+    options.setFileSizeThreshold(0);
+    assertEquals(0, options.getFileSizeThreshold());
+  }
+
   @Test
   public void shouldSetCorrectLocalHost() {
     ServerOptions options = new ServerOptions();
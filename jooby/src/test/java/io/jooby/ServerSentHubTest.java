@@ -0,0 +1,297 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+public class ServerSentHubTest {
+
+  private static class Emitter implements ServerSentEmitter {
+    private final Context ctx;
+
+    private final String lastEventId;
+
+    private final List<String> messages = new CopyOnWriteArrayList<>();
+
+    private boolean open = true;
+
+    Emitter(Context ctx, String lastEventId) {
+      this.ctx = ctx;
+      this.lastEventId = lastEventId;
+    }
+
+    @Override
+    public void onClose(SneakyThrows.Runnable task) {}
+
+    @NonNull @Override
+    public Context getContext() {
+      return ctx;
+    }
+
+    @NonNull @Override
+    public ServerSentEmitter send(@NonNull ServerSentMessage data) {
+      messages.add(new String(data.toByteArray(ctx), StandardCharsets.UTF_8));
+      return this;
+    }
+
+    @NonNull @Override
+    public ServerSentEmitter keepAlive(long timeInMillis) {
+      return this;
+    }
+
+    @Override
+    public String getLastEventId() {
+      return lastEventId;
+    }
+
+    @NonNull @Override
+    public String getId() {
+      return "sse";
+    }
+
+    @NonNull @Override
+    public ServerSentEmitter setId(@NonNull String id) {
+      return this;
+    }
+
+    @Override
+    public boolean isOpen() {
+      return open;
+    }
+
+    @Override
+    public void close() {
+      open = false;
+    }
+  }
+
+  @Test
+  public void shouldEncodeOnce() throws Exception {
+    Context ctx = mock(Context.class);
+    MessageEncoder encoder = encoder(ctx);
+    Emitter e1 = new Emitter(ctx, null);
+    Emitter e2 = new Emitter(ctx, null);
+    Emitter e3 = new Emitter(ctx, null);
+
+    try (ServerSentHub hub = new ServerSentHub().setHeartbeat(Duration.ZERO)) {
+      hub.subscribe("news", e1).subscribe("news", e2).subscribe("sports", e3);
+
+      assertEquals(2, hub.publish("news", "hello"));
+      assertEquals(List.of("id:1\ndata:hello\n\n"), e1.messages);
+      assertEquals(List.of("id:1\ndata:hello\n\n"), e2.messages);
+      assertEquals(List.of(), e3.messages);
+      verify(encoder, times(1)).encode(any(), any());
+
+      assertEquals(1, hub.publish("sports", new ServerSentMessage("goal").setId("g1")));
+      assertEquals(List.of("id:g1\ndata:goal\n\n"), e3.messages);
+    }
+  }
+
+  @Test
+  public void shouldReplayFromLastEventId() throws Exception {
+    Context ctx = mock(Context.class);
+    encoder(ctx);
+
+    try (ServerSentHub hub = new ServerSentHub().setHeartbeat(Duration.ZERO).setReplaySize(3)) {
+      for (String message : List.of("a", "b", "c", "d")) {
+        hub.publish("news", message);
+      }
+
+      Emitter next = new Emitter(ctx, "2");
+      hub.subscribe("news", next);
+      assertEquals(List.of("id:3\ndata:c\n\n", "id:4\ndata:d\n\n"), next.messages);
+
+      Emitter unknown = new Emitter(ctx, "x");
+      hub.subscribe("news", unknown);
+      assertEquals(
+          List.of("id:2\ndata:b\n\n", "id:3\ndata:c\n\n", "id:4\ndata:d\n\n"), unknown.messages);
+
+      Emitter latest = new Emitter(ctx, "4");
+      Emitter fresh = new Emitter(ctx, null);
+      hub.subscribe("news", latest).subscribe("news", fresh);
+      assertEquals(List.of(), latest.messages);
+      assertEquals(List.of(), fresh.messages);
+
+      assertEquals(4, hub.publish("news", "e"));
+      assertEquals("id:5\ndata:e\n\n", next.messages.get(2));
+      assertEquals(List.of("id:5\ndata:e\n\n"), fresh.messages);
+    }
+  }
+
+  @Test
+  public void shouldRemoveClosedEmitters() throws Exception {
+    Context ctx = mock(Context.class);
+    encoder(ctx);
+    Emitter e1 = new Emitter(ctx, null);
+    Emitter e2 = new Emitter(ctx, null);
+
+    try (ServerSentHub hub = new ServerSentHub().setHeartbeat(Duration.ZERO)) {
+      hub.subscribe("news", e1).subscribe("news", e2).subscribe("sports", e2);
+      assertEquals(2, hub.size());
+
+      e1.close();
+      assertEquals(1, hub.publish("news", "hello"));
+      assertEquals(1, hub.size());
+      assertEquals(1, hub.size("news"));
+
+      hub.unsubscribe("news", e2);
+      assertEquals(0, hub.size("news"));
+      assertEquals(1, hub.size("sports"));
+
+      hub.unsubscribe(e2);
+      assertEquals(0, hub.size());
+      assertEquals(0, hub.size("sports"));
+    }
+  }
+
+  @Test
+  public void shouldNotKeepTopicsWithoutReplay() throws Exception {
+    Context ctx = mock(Context.class);
+    MessageEncoder encoder = encoder(ctx);
+    Emitter emitter = new Emitter(ctx, null);
+
+    try (ServerSentHub hub = new ServerSentHub().setHeartbeat(Duration.ZERO).setReplaySize(0)) {
+      assertEquals(0, hub.publish("news", "hello"));
+      assertEquals(0, hub.topics());
+      verify(encoder, times(0)).encode(any(), any());
+
+      hub.subscribe("news", emitter);
+      assertEquals(1, hub.topics());
+      assertEquals(1, hub.publish("news", "hello"));
+
+      hub.unsubscribe("news", emitter);
+      assertEquals(0, hub.topics());
+    }
+  }
+
+  @Test
+  public void shouldEvictTopicsWithoutEmitters() throws Exception {
+    Context ctx = mock(Context.class);
+    encoder(ctx);
+    Emitter emitter = new Emitter(ctx, null);
+
+    try (ServerSentHub hub =
+        new ServerSentHub().setHeartbeat(Duration.ZERO).setReplaySize(3).setMaxTopics(2)) {
+      hub.subscribe("live", emitter);
+      for (String topic : List.of("a", "b", "c")) {
+        hub.publish(topic, topic);
+      }
+      assertEquals(2, hub.topics());
+      assertEquals(1, hub.size("live"));
+      assertEquals(1, hub.publish("live", "hello"));
+
+      // most recent topic still has its messages
+      Emitter late = new Emitter(ctx, "x");
+      hub.subscribe("c", late);
+      assertEquals(List.of("id:1\ndata:c\n\n"), late.messages);
+      assertEquals(2, hub.topics());
+    }
+  }
+
+  @Test
+  public void shouldKeepOrderWhilePublishAndSubscribe() throws Exception {
+    Context ctx = mock(Context.class);
+    encoder(ctx);
+    int publishers = 4;
+    int messages = 250;
+    List<Emitter> emitters = new CopyOnWriteArrayList<>();
+
+    try (ServerSentHub hub =
+        new ServerSentHub().setHeartbeat(Duration.ZERO).setReplaySize(publishers * messages)) {
+      ExecutorService executor = Executors.newFixedThreadPool(publishers * 2);
+      CountDownLatch start = new CountDownLatch(1);
+      List<Future<?>> tasks = new ArrayList<>();
+      for (int i = 0; i < publishers; i++) {
+        tasks.add(
+            executor.submit(
+                () -> {
+                  start.await();
+                  for (int j = 0; j < messages; j++) {
+                    hub.publish("news", "m");
+                  }
+                  return null;
+                }));
+        tasks.add(
+            executor.submit(
+                () -> {
+                  start.await();
+                  for (int j = 0; j < messages / 10; j++) {
+                    // unknown ID: replay everything, then get live messages
+                    Emitter emitter = new Emitter(ctx, "x");
+                    emitters.add(emitter);
+                    hub.subscribe("news", emitter);
+                  }
+                  return null;
+                }));
+      }
+      start.countDown();
+      for (Future<?> task : tasks) {
+        task.get(30, TimeUnit.SECONDS);
+      }
+      executor.shutdown();
+
+      assertEquals(publishers * messages / 10, emitters.size());
+      for (Emitter emitter : emitters) {
+        // every message exactly once and in order
+        assertEquals(publishers * messages, emitter.messages.size());
+        for (int i = 0; i < emitter.messages.size(); i++) {
+          assertEquals("id:" + (i + 1) + "\ndata:m\n\n", emitter.messages.get(i));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void shouldSendHeartbeat() throws Exception {
+    Context ctx = mock(Context.class);
+    encoder(ctx);
+    Emitter emitter = new Emitter(ctx, null);
+
+    try (ServerSentHub hub = new ServerSentHub().setHeartbeat(Duration.ofMillis(16))) {
+      hub.subscribe("news", emitter);
+      long deadline = System.currentTimeMillis() + 5000;
+      while (emitter.messages.isEmpty() && System.currentTimeMillis() < deadline) {
+        Thread.sleep(10);
+      }
+      assertTrue(emitter.messages.size() > 0);
+      assertEquals(":\n\n", emitter.messages.get(0));
+    }
+  }
+
+  private MessageEncoder encoder(Context ctx) throws Exception {
+    MessageEncoder encoder = mock(MessageEncoder.class);
+    when(encoder.encode(any(), any()))
+        .thenAnswer(
+            invocation -> invocation.getArgument(1).toString().getBytes(StandardCharsets.UTF_8));
+
+    Route route = mock(Route.class);
+    when(route.getEncoder()).thenReturn(encoder);
+
+    when(ctx.getRoute()).thenReturn(route);
+    return encoder;
+  }
+}
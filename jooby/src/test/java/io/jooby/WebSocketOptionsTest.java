@@ -0,0 +1,61 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby;
+
+import static com.typesafe.config.ConfigValueFactory.fromAnyRef;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.Test;
+
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+
+public class WebSocketOptionsTest {
+
+  @Test
+  public void shouldParseFromConfig() {
+    WebSocketOptions options =
+        WebSocketOptions.from(
+            ConfigFactory.empty()
+                .withValue("websocket.maxSize", fromAnyRef("1k"))
+                .withValue("websocket.idleTimeout", fromAnyRef("30s"))
+                .withValue("websocket.maxPendingBroadcasts", fromAnyRef(8))
+                .resolve());
+    assertEquals(1024, options.getMaxSize());
+    assertEquals(Duration.ofSeconds(30), options.getIdleTimeout());
+    assertEquals(8, options.getMaxPendingBroadcasts());
+  }
+
+  @Test
+  public void shouldUseDefaults() {
+    WebSocketOptions options = WebSocketOptions.from(ConfigFactory.empty());
+    assertEquals(WebSocket.MAX_BUFFER_SIZE, options.getMaxSize());
+    assertEquals(Duration.ofMinutes(5), options.getIdleTimeout());
+    assertEquals(WebSocket.MAX_PENDING_BROADCASTS, options.getMaxPendingBroadcasts());
+  }
+
+  @Test
+  public void shouldReadRouterConfigOnce() {
+    Config config =
+        ConfigFactory.empty().withValue("websocket.maxPendingBroadcasts", fromAnyRef(8));
+    Router router = mock(Router.class);
+    when(router.getAttributes()).thenReturn(new ConcurrentHashMap<>());
+    when(router.getConfig()).thenReturn(config);
+
+    WebSocketOptions options = WebSocketOptions.from(router);
+    assertEquals(8, options.getMaxPendingBroadcasts());
+    assertSame(options, WebSocketOptions.from(router));
+    verify(router, times(1)).getConfig();
+  }
+}
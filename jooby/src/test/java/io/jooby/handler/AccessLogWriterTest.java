@@ -0,0 +1,52 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.handler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.Test;
+
+public class AccessLogWriterTest {
+
+  @Test
+  public void shouldReleaseSlotWhenWriteFails() throws Exception {
+    List<String> lines = new CopyOnWriteArrayList<>();
+    AccessLogWriter writer =
+        new AccessLogWriter(
+            2,
+            true,
+            line -> {
+              if (line.startsWith("fail")) {
+                throw new IllegalStateException(line);
+              }
+              lines.add(line);
+            },
+            null);
+    try {
+      // twice the capacity, so failing slots must be reused to not block forever
+      assertTimeoutPreemptively(
+          Duration.ofSeconds(5),
+          () -> {
+            for (int i = 0; i < 8; i++) {
+              long position = writer.claim();
+              assertTrue(position >= 0);
+              writer.line(position).append(i % 2 == 0 ? "fail" : "line").append(i);
+              writer.publish(position);
+            }
+          });
+    } finally {
+      writer.close();
+    }
+    assertEquals(List.of("line1", "line3", "line5", "line7"), lines);
+    assertEquals(0, writer.dropped());
+  }
+}
@@ -11,6 +11,9 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import java.util.List;
+import java.util.Map;
+
 import org.junit.jupiter.api.Test;
 
 import io.jooby.Context;
@@ -226,6 +229,31 @@ public class ChiTest {
         });
   }
 
+  @Test
+  public void pathVariables() {
+    Chi router = new Chi();
+    router.insert(pathRoute("/{lang}/files/*"));
+    router.insert(pathRoute("/{lang}/users/{id:[0-9]+}"));
+    router.insert(pathRoute("/{lang}/users/{name}/profile"));
+
+    Router.Match files = router.find("GET", "/en/files/css/app.css");
+    assertTrue(files.matches());
+    assertEquals(Map.of("lang", "en", "*", "css/app.css"), files.pathMap());
+
+    Router.Match user = router.find("GET", "/es/users/123");
+    assertTrue(user.matches());
+    assertEquals("es", user.pathMap().get("lang"));
+    assertEquals("123", user.pathMap().get("id"));
+    assertEquals(List.of("lang", "id"), List.copyOf(user.pathMap().keySet()));
+
+    // regex fails, backtrack into param branch
+    Router.Match profile = router.find("GET", "/pt/users/edgar/profile");
+    assertTrue(profile.matches());
+    assertEquals(Map.of("lang", "pt", "name", "edgar"), profile.pathMap());
+
+    assertFalse(router.find("GET", "/pt/users/edgar").matches());
+  }
+
   private void find(
       Chi router, String pattern, SneakyThrows.Consumer2<Context, Router.Match> consumer) {
     Router.Match result = router.find("GET", pattern);
@@ -236,6 +264,12 @@ public class ChiTest {
     return ctx -> foo;
   }
 
+  private Route pathRoute(String pattern) {
+    Route route = route("GET", pattern, stringHandler(pattern));
+    route.setPathKeys(Router.pathKeys(pattern));
+    return route;
+  }
+
   private Route route(String method, String pattern, Route.Handler handler) {
     return new Route(method, pattern, handler).setEncoder(MessageEncoder.TO_STRING);
   }
@@ -0,0 +1,130 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.jooby.MessageEncoder;
+import io.jooby.Route;
+import io.jooby.Router;
+
+public class CompiledRouteTreeTest {
+
+  private static final List<String> PATTERNS =
+      List.of(
+          "/",
+          "/abcd",
+          "/abc",
+          "/api/users",
+          "/api/users/{id}",
+          "/api/users/{id:[0-9]+}/orders",
+          "/api/users/{name}/profile",
+          "/api/files/*",
+          "/{lang:[a-z]{2}}/docs",
+          "/{lang}/blog/{slug}",
+          "/products/{id}.json",
+          "/products/{id}.{format}",
+          "/z",
+          "/été/{season}",
+          "/static/*path");
+
+  private static final List<String> PATHS =
+      List.of(
+          "/",
+          "/abcd",
+          "/abc",
+          "/ab",
+          "/api/users",
+          "/api/users/",
+          "/api/users/123",
+          "/api/users/123/orders",
+          "/api/users/abc/orders",
+          "/api/users/abc/profile",
+          "/api/files",
+          "/api/files/css/app.css",
+          "/en/docs",
+          "/eng/docs",
+          "/en/blog/hello",
+          "/en/blog/hello/world",
+          "/products/1.json",
+          "/products/1.xml",
+          "/z",
+          "/été/summer",
+          "/static/js/app.js",
+          "/missing");
+
+  @Test
+  public void shouldMatchLikeChi() {
+    Chi chi = new Chi();
+    for (String pattern : PATTERNS) {
+      chi.insert(route(Router.GET, pattern));
+    }
+    chi.insert(route(Router.POST, "/api/users"));
+    chi.insert(route(Router.DELETE, "/api/users/{id}"));
+    chi.insert(route("PURGE", "/api/files/*"));
+
+    RouteTree compiled = chi.compile();
+    for (String method : List.of(Router.GET, Router.POST, Router.DELETE, "PURGE", "CUSTOM")) {
+      for (String path : PATHS) {
+        Router.Match expected = chi.find(method, path);
+        Router.Match actual = compiled.find(method, path);
+        String message = method + " " + path;
+        assertEquals(expected.matches(), actual.matches(), message);
+        if (expected.matches()) {
+          assertSame(expected.route(), actual.route(), message);
+        } else {
+          // not found vs method not allowed
+          assertEquals(
+              expected.route().getHandler() == Route.NOT_FOUND,
+              actual.route().getHandler() == Route.NOT_FOUND,
+              message);
+        }
+        assertEquals(expected.pathMap(), actual.pathMap(), message);
+      }
+    }
+  }
+
+  @Test
+  public void shouldMatchLargeTable() {
+    Chi chi = new Chi();
+    for (int i = 0; i < 300; i++) {
+      chi.insert(route(Router.GET, "/r" + i + "/{id}"));
+      chi.insert(route(Router.GET, "/" + (char) ('a' + i % 26) + i));
+    }
+    RouteTree compiled = chi.compile();
+    for (int i = 0; i < 300; i++) {
+      Router.Match match = compiled.find(Router.GET, "/r" + i + "/x");
+      assertTrue(match.matches());
+      assertEquals("/r" + i + "/{id}", match.route().getPattern());
+      assertEquals("x", match.pathMap().get("id"));
+
+      assertTrue(compiled.exists(Router.GET, "/" + (char) ('a' + i % 26) + i));
+    }
+    assertFalse(compiled.exists(Router.GET, "/r1"));
+  }
+
+  @Test
+  public void shouldBeReadOnly() {
+    RouteTree compiled = new Chi().compile();
+    assertThrows(
+        UnsupportedOperationException.class,
+        () -> compiled.insert(Router.GET, "/", route(Router.GET, "/")));
+  }
+
+  private Route route(String method, String pattern) {
+    Route route = new Route(method, pattern, ctx -> pattern).setEncoder(MessageEncoder.TO_STRING);
+    route.setPathKeys(Router.pathKeys(pattern));
+    return route;
+  }
+}
@@ -0,0 +1,202 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.jooby.Context;
+import io.jooby.MediaType;
+import io.jooby.MessageEncoder;
+import io.jooby.ModelAndView;
+import io.jooby.Route;
+import io.jooby.TemplateEngine;
+
+public class HttpMessageEncoderTest {
+
+  private static class Engine implements TemplateEngine {
+    private final String extension;
+
+    Engine(String extension) {
+      this.extension = extension;
+    }
+
+    @Override
+    public String render(Context ctx, ModelAndView modelAndView) {
+      return extension + ":" + modelAndView.getView();
+    }
+
+    @Override
+    public List<String> extensions() {
+      return List.of(extension);
+    }
+  }
+
+  private static class Bean {
+    @Override
+    public String toString() {
+      return "bean";
+    }
+  }
+
+  private interface Greeting {}
+
+  /** Implements a custom return type and a built-in type. */
+  private static class Hello implements Greeting, CharSequence {
+    private final String value = "hello";
+
+    @Override
+    public int length() {
+      return value.length();
+    }
+
+    @Override
+    public char charAt(int index) {
+      return value.charAt(index);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+      return value.subSequence(start, end);
+    }
+
+    @Override
+    public String toString() {
+      return value;
+    }
+  }
+
+  @Test
+  public void stringRoute() throws Exception {
+    HttpMessageEncoder generic = new HttpMessageEncoder();
+    Context ctx = mock(Context.class);
+
+    RouteEncoder encoder = generic.forRoute(route(String.class));
+    assertNotSame(generic, encoder);
+    assertEquals("text", string(encoder.encode(ctx, "text")));
+    // unexpected type goes to generic encoder
+    assertEquals("42", string(encoder.encode(ctx, 42)));
+  }
+
+  @Test
+  public void bytesRoute() throws Exception {
+    HttpMessageEncoder generic = new HttpMessageEncoder();
+    Context ctx = mock(Context.class);
+
+    RouteEncoder encoder = generic.forRoute(route(byte[].class));
+    assertNotSame(generic, encoder);
+    byte[] bytes = "bytes".getBytes(StandardCharsets.UTF_8);
+    assertSame(bytes, encoder.encode(ctx, bytes));
+    assertEquals("text", string(encoder.encode(ctx, "text")));
+  }
+
+  @Test
+  public void viewRouteWithTwoEngines() throws Exception {
+    HttpMessageEncoder generic =
+        new HttpMessageEncoder()
+            .add(MediaType.html, new Engine(".hbs"))
+            .add(MediaType.html, new Engine(".ftl"));
+    Context ctx = mock(Context.class);
+
+    RouteEncoder encoder = generic.forRoute(route(ModelAndView.class));
+    assertNotSame(generic, encoder);
+    assertEquals(".hbs:index.hbs", string(encoder.encode(ctx, new ModelAndView("index.hbs"))));
+    assertEquals(".ftl:index.ftl", string(encoder.encode(ctx, new ModelAndView("index.ftl"))));
+    // cached engine
+    assertEquals(".hbs:index.hbs", string(encoder.encode(ctx, new ModelAndView("index.hbs"))));
+  }
+
+  @Test
+  public void viewRouteWithoutEngines() {
+    HttpMessageEncoder generic = new HttpMessageEncoder();
+
+    assertSame(generic, generic.forRoute(route(ModelAndView.class)));
+  }
+
+  @Test
+  public void singleEncoder() throws Exception {
+    MessageEncoder json = json();
+    HttpMessageEncoder generic = new HttpMessageEncoder().add(MediaType.json, json);
+    Context ctx = mock(Context.class);
+    when(ctx.accept(MediaType.json)).thenReturn(true);
+
+    RouteEncoder encoder = generic.forRoute(route(Bean.class));
+    assertNotSame(generic, encoder);
+    assertEquals("{bean}", string(encoder.encode(ctx, new Bean())));
+  }
+
+  @Test
+  public void singleEncoderAcceptMismatch() throws Exception {
+    MessageEncoder json = json();
+    HttpMessageEncoder generic = new HttpMessageEncoder().add(MediaType.json, json);
+    Context ctx = mock(Context.class);
+    when(ctx.accept(MediaType.json)).thenReturn(false);
+    when(ctx.getResponseType()).thenReturn(MediaType.text);
+    when(ctx.accept(MediaType.text)).thenReturn(true);
+
+    RouteEncoder encoder = generic.forRoute(route(Bean.class));
+    assertEquals("bean", string(encoder.encode(ctx, new Bean())));
+    verify(json, never()).encode(any(), any());
+  }
+
+  @Test
+  public void singleEncoderBuiltInSubtype() throws Exception {
+    MessageEncoder json = json();
+    HttpMessageEncoder generic = new HttpMessageEncoder().add(MediaType.json, json);
+    Context ctx = mock(Context.class);
+    when(ctx.accept(MediaType.json)).thenReturn(true);
+
+    RouteEncoder encoder = generic.forRoute(route(Greeting.class));
+    assertNotSame(generic, encoder);
+    assertEquals("hello", string(encoder.encode(ctx, new Hello())));
+    verify(json, never()).encode(any(), any());
+  }
+
+  @Test
+  public void genericRoutes() throws Exception {
+    HttpMessageEncoder generic = new HttpMessageEncoder().add(MediaType.json, json());
+
+    assertSame(generic, generic.forRoute(route(null)));
+    assertSame(generic, generic.forRoute(route(Object.class)));
+    // might be a built-in type
+    assertSame(generic, generic.forRoute(route(CharSequence.class)));
+
+    Route produces = route(Bean.class);
+    when(produces.getProduces()).thenReturn(List.of(MediaType.json));
+    assertSame(generic, generic.forRoute(produces));
+  }
+
+  private static MessageEncoder json() throws Exception {
+    MessageEncoder json = mock(MessageEncoder.class);
+    when(json.encode(any(), any()))
+        .thenAnswer(
+            invocation -> ("{" + invocation.getArgument(1) + "}").getBytes(StandardCharsets.UTF_8));
+    return json;
+  }
+
+  private static Route route(Type returnType) {
+    Route route = mock(Route.class);
+    when(route.getReturnType()).thenReturn(returnType);
+    when(route.getProduces()).thenReturn(List.of());
+    return route;
+  }
+
+  private static String string(byte[] bytes) {
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,86 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import io.jooby.Context;
+import io.jooby.Session;
+import io.jooby.SessionToken;
+
+public class MemorySessionStoreTest {
+
+  private static class Token implements SessionToken {
+    private String token;
+
+    @Override
+    public String findToken(Context ctx) {
+      return token;
+    }
+
+    @Override
+    public void saveToken(Context ctx, String token) {
+      this.token = token;
+    }
+
+    @Override
+    public void deleteToken(Context ctx, String token) {
+      this.token = null;
+    }
+  }
+
+  @Test
+  public void shouldExpireOnLookup() throws InterruptedException {
+    Context ctx = mock(Context.class);
+    MemorySessionStore store = new MemorySessionStore(new Token(), Duration.ofMinutes(30));
+    Session session = store.newSession(ctx);
+    assertNotNull(session);
+    assertEquals(1, store.getSessionCount());
+    assertNotNull(store.findSession(ctx));
+
+    store.setTimeout(Duration.ofMillis(1));
+    Thread.sleep(10);
+
+    assertNull(store.findSession(ctx));
+    assertEquals(0, store.getSessionCount());
+    assertEquals(1, store.getEvictionCount());
+  }
+
+  @Test
+  public void shouldRescheduleSweeperOnTimeoutChange() throws InterruptedException {
+    Context ctx = mock(Context.class);
+    MemorySessionStore store = new MemorySessionStore(new Token(), Duration.ofMinutes(30));
+    store.newSession(ctx);
+    assertEquals(1, store.getSessionCount());
+
+    // without a lookup, only the sweeper removes the session
+    store.setTimeout(Duration.ofMillis(1));
+    long deadline = System.currentTimeMillis() + 5000;
+    while (store.getSessionCount() > 0 && System.currentTimeMillis() < deadline) {
+      Thread.sleep(50);
+    }
+    assertEquals(0, store.getSessionCount());
+    assertEquals(1, store.getEvictionCount());
+  }
+
+  @Test
+  public void shouldNotExpireWithoutTimeout() throws InterruptedException {
+    Context ctx = mock(Context.class);
+    MemorySessionStore store = new MemorySessionStore(new Token(), Duration.ZERO);
+    store.newSession(ctx);
+    Thread.sleep(10);
+
+    assertNotNull(store.findSession(ctx));
+    assertEquals(0, store.getEvictionCount());
+  }
+}
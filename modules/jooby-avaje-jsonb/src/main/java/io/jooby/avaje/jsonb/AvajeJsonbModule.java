@@ -6,6 +6,7 @@
 package io.jooby.avaje.jsonb;
 
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.lang.reflect.Type;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
@@ -16,8 +17,8 @@ import io.jooby.Extension;
 import io.jooby.Jooby;
 import io.jooby.MediaType;
 import io.jooby.MessageDecoder;
-import io.jooby.MessageEncoder;
 import io.jooby.ServiceRegistry;
+import io.jooby.StreamingMessageEncoder;
 
 /**
  * JSON module using Avaje-JsonB: <a
@@ -63,7 +64,7 @@ import io.jooby.ServiceRegistry;
  * @author ZY (kzou227@qq.com)
  * @since 3.0.7
  */
-public class AvajeJsonbModule implements Extension, MessageDecoder, MessageEncoder {
+public class AvajeJsonbModule implements Extension, MessageDecoder, StreamingMessageEncoder {
 
   private final Jsonb jsonb;
 
@@ -107,4 +108,10 @@ public class AvajeJsonbModule implements Extension, MessageDecoder, MessageEncod
     ctx.setDefaultResponseType(MediaType.json);
     return jsonb.toJsonBytes(value);
   }
+
+  @Override
+  public void encode(@NonNull Context ctx, @NonNull Object value, @NonNull OutputStream output) {
+    ctx.setDefaultResponseType(MediaType.json);
+    jsonb.toJson(value, output);
+  }
 }
@@ -0,0 +1,103 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.jooby.jetty.JettyServer;
+import io.jooby.netty.NettyServer;
+import io.jooby.undertow.UndertowServer;
+
+/**
+ * Throughput of a blocking route (simulated with a 10ms sleep, like a JDBC call) when many clients
+ * are waiting: fixed pool of worker threads vs virtual threads. Virtual threads requires Java 21 or
+ * higher, on older versions both runs use worker threads. Port is taken from <code>
+ * BENCHMARK_PORT</code> environment variable, defaults to <code>9999</code>.
+ */
+@Fork(1)
+@Threads(256)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class BlockingRouteBenchmark {
+
+  @Param({"netty", "undertow", "jetty"})
+  private String server;
+
+  @Param({"worker", "virtual"})
+  private String threads;
+
+  /** Size of the worker pool, smaller than the number of clients. */
+  @Param({"32"})
+  private int workerThreads;
+
+  private Server instance;
+
+  private HttpClient client;
+
+  private HttpRequest blocking;
+
+  @Setup
+  public void setup() {
+    int port = Integer.parseInt(System.getenv().getOrDefault("BENCHMARK_PORT", "9999"));
+    Jooby app = new Jooby();
+    app.setStartupSummary(List.of(StartupSummary.NONE));
+    app.setExecutionMode(ExecutionMode.WORKER);
+    app.get(
+        "/blocking",
+        ctx -> {
+          Thread.sleep(10);
+          return "Hello, World!";
+        });
+
+    instance =
+        switch (server) {
+          case "undertow" -> new UndertowServer();
+          case "jetty" -> new JettyServer();
+          default -> new NettyServer();
+        };
+    instance.setOptions(
+        new ServerOptions()
+            .setPort(port)
+            .setWorkerThreads(workerThreads)
+            .setVirtualThreads(threads.equals("virtual")));
+    instance.start(app);
+
+    client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    blocking = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/blocking")).build();
+  }
+
+  @TearDown
+  public void tearDown() {
+    instance.stop();
+  }
+
+  @Benchmark
+  public byte[] blocking() throws Exception {
+    return client.send(blocking, HttpResponse.BodyHandlers.ofByteArray()).body();
+  }
+}
@@ -0,0 +1,139 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.aayushatharva.brotli4j.encoder.Encoder;
+import io.netty.handler.codec.compression.Brotli;
+import io.netty.handler.codec.compression.Zstd;
+
+/**
+ * CPU cost of compressing a JSON response per encoding and compression level (see {@link
+ * ServerOptions#setCompressionLevel(Integer)} and {@link
+ * ServerOptions#setCompressionEncodings(String...)}). Compressed size is reported by the <code>
+ * compressedBytes</code> counter, so cost can be compared against savings.
+ *
+ * <p>The <code>br</code> and <code>zstd</code> encodings require their native libraries, the
+ * benchmark fails at setup when they are missing.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class CompressionBenchmark {
+
+  /** Compressed size of the last operation. */
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  @State(Scope.Thread)
+  public static class Size {
+    private long compressedBytes;
+
+    public long compressedBytes() {
+      return compressedBytes;
+    }
+  }
+
+  @Param({"deflate", "br", "zstd"})
+  private String encoding;
+
+  @Param({"1", "4", "6", "9"})
+  private int level;
+
+  @Param({"512", "16384"})
+  private int size;
+
+  private byte[] input;
+
+  private byte[] output;
+
+  private Deflater deflater;
+
+  private Encoder.Parameters brotli;
+
+  @Setup
+  public void setup() {
+    StringBuilder json = new StringBuilder("[");
+    for (int i = 0; json.length() < size; i++) {
+      json.append("{\"id\":")
+          .append(i)
+          .append(",\"name\":\"user")
+          .append(i)
+          .append("\",\"email\":\"user")
+          .append(i)
+          .append("@jooby.io\",\"active\":")
+          .append(i % 3 == 0)
+          .append("},");
+    }
+    json.setLength(size - 1);
+    json.append(']');
+    input = json.toString().getBytes(StandardCharsets.UTF_8);
+    output = new byte[input.length + 64];
+    switch (encoding) {
+      case "br" -> {
+        if (!Brotli.isAvailable()) {
+          throw new IllegalStateException("Brotli is not available", Brotli.cause());
+        }
+        brotli = new Encoder.Parameters().setQuality(level);
+      }
+      case "zstd" -> {
+        if (!Zstd.isAvailable()) {
+          throw new IllegalStateException("Zstd is not available", Zstd.cause());
+        }
+      }
+      default -> deflater = new Deflater(level, true);
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    if (deflater != null) {
+      deflater.end();
+    }
+  }
+
+  @Benchmark
+  public int compress(Size counter) throws Exception {
+    int length =
+        switch (encoding) {
+          case "br" -> Encoder.compress(input, brotli).length;
+          case "zstd" -> (int) com.github.luben.zstd.Zstd.compress(output, input, level);
+          default -> deflate();
+        };
+    counter.compressedBytes = length;
+    return length;
+  }
+
+  private int deflate() {
+    deflater.reset();
+    deflater.setInput(input);
+    deflater.finish();
+    int length = 0;
+    while (!deflater.finished()) {
+      length += deflater.deflate(output, length, output.length - length);
+    }
+    return length;
+  }
+}
@@ -0,0 +1,64 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.jooby.test.MockContext;
+
+/** Accept header parsing and content negotiation as done per request by {@link Route#ACCEPT}. */
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class MediaTypeBenchmark {
+
+  private static final String BROWSER =
+      "text/html,application/xhtml+xml,application/xml;q=0.9,image/avif,image/webp,*/*;q=0.8";
+
+  private static final String API = "application/json";
+
+  private List<MediaType> produces = List.of(MediaType.json, MediaType.html);
+
+  private Context browser;
+
+  private Context api;
+
+  @Setup
+  public void setup() {
+    browser = new MockContext().setRequestHeader(Context.ACCEPT, BROWSER);
+    api = new MockContext().setRequestHeader(Context.ACCEPT, API);
+  }
+
+  @Benchmark
+  public List<MediaType> parse() {
+    return MediaType.parse(BROWSER);
+  }
+
+  @Benchmark
+  public MediaType acceptBrowser() {
+    return browser.accept(produces);
+  }
+
+  @Benchmark
+  public MediaType acceptApi() {
+    return api.accept(produces);
+  }
+}
@@ -0,0 +1,109 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.jooby.jetty.JettyServer;
+import io.jooby.netty.NettyServer;
+import io.jooby.undertow.UndertowServer;
+
+/**
+ * Full in-process request round-trip: HTTP/1.1 keep-alive client against a running server. Port is
+ * taken from <code>BENCHMARK_PORT</code> environment variable, defaults to <code>9999</code>.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class ServerBenchmark {
+
+  @Param({"netty", "undertow", "jetty"})
+  private String server;
+
+  @Param({"EVENT_LOOP", "WORKER"})
+  private ExecutionMode mode;
+
+  private Server instance;
+
+  private HttpClient client;
+
+  private HttpRequest plaintext;
+
+  private HttpRequest pathParam;
+
+  private HttpRequest echo;
+
+  @Setup
+  public void setup() {
+    int port = Integer.parseInt(System.getenv().getOrDefault("BENCHMARK_PORT", "9999"));
+    Jooby app = new Jooby();
+    app.setStartupSummary(List.of(StartupSummary.NONE));
+    app.setExecutionMode(mode);
+    app.get("/plaintext", ctx -> "Hello, World!");
+    app.get("/users/{id}", ctx -> ctx.path("id").value());
+    app.post("/echo", ctx -> ctx.body().bytes());
+
+    instance =
+        switch (server) {
+          case "undertow" -> new UndertowServer();
+          case "jetty" -> new JettyServer();
+          default -> new NettyServer();
+        };
+    instance.setOptions(new ServerOptions().setPort(port));
+    instance.start(app);
+
+    client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    String base = "http://localhost:" + port;
+    plaintext = HttpRequest.newBuilder(URI.create(base + "/plaintext")).build();
+    pathParam = HttpRequest.newBuilder(URI.create(base + "/users/123")).build();
+    echo =
+        HttpRequest.newBuilder(URI.create(base + "/echo"))
+            .POST(HttpRequest.BodyPublishers.ofString("{\"id\":123,\"name\":\"jooby\"}"))
+            .header("Content-Type", "application/json")
+            .build();
+  }
+
+  @TearDown
+  public void tearDown() {
+    instance.stop();
+  }
+
+  @Benchmark
+  public byte[] plaintext() throws Exception {
+    return client.send(plaintext, HttpResponse.BodyHandlers.ofByteArray()).body();
+  }
+
+  @Benchmark
+  public byte[] pathParam() throws Exception {
+    return client.send(pathParam, HttpResponse.BodyHandlers.ofByteArray()).body();
+  }
+
+  @Benchmark
+  public byte[] echo() throws Exception {
+    return client.send(echo, HttpResponse.BodyHandlers.ofByteArray()).body();
+  }
+}
@@ -0,0 +1,112 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.jooby.Route;
+import io.jooby.Router;
+
+/**
+ * Route lookup against {@link Chi}. Every table size registers the same four route shapes per
+ * resource, lookups target a resource in the middle of the table. Run with <code>-prof gc</code> to
+ * report allocation per match.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ChiBenchmark {
+
+  @Param({"10", "500"})
+  private int routes;
+
+  @Param({"chi", "compiled"})
+  private String tree;
+
+  private Chi chi;
+
+  private RouteTree lookup;
+
+  private String staticPath;
+
+  private String paramPath;
+
+  private String regexPath;
+
+  private String catchAllPath;
+
+  private String missingPath;
+
+  @Setup
+  public void setup() {
+    chi = new Chi();
+    for (int i = 0; i < routes; i++) {
+      String resource = "/api/resource" + i;
+      insert(resource);
+      insert(resource + "/{id}");
+      insert(resource + "/{id}/items/{item:[0-9]+}");
+      insert(resource + "/files/*");
+    }
+    String resource = "/api/resource" + (routes / 2);
+    staticPath = resource;
+    paramPath = resource + "/abc-123";
+    regexPath = resource + "/abc-123/items/456";
+    catchAllPath = resource + "/files/css/app/main.css";
+    missingPath = resource + "/abc-123/missing";
+    lookup = tree.equals("compiled") ? chi.compile() : chi;
+  }
+
+  @Benchmark
+  public Router.Match staticRoute() {
+    return lookup.find(Router.GET, staticPath);
+  }
+
+  @Benchmark
+  public Router.Match paramRoute() {
+    return lookup.find(Router.GET, paramPath);
+  }
+
+  @Benchmark
+  public String paramValue() {
+    return lookup.find(Router.GET, paramPath).pathMap().get("id");
+  }
+
+  @Benchmark
+  public Router.Match regexRoute() {
+    return lookup.find(Router.GET, regexPath);
+  }
+
+  @Benchmark
+  public Router.Match catchAllRoute() {
+    return lookup.find(Router.GET, catchAllPath);
+  }
+
+  @Benchmark
+  public Router.Match notFound() {
+    return lookup.find(Router.GET, missingPath);
+  }
+
+  private void insert(String pattern) {
+    Route route = new Route(Router.GET, pattern, ctx -> "OK");
+    route.setPathKeys(Router.pathKeys(pattern));
+    chi.insert(route);
+  }
+}
@@ -0,0 +1,50 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.jooby.QueryString;
+
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class UrlParserBenchmark {
+
+  private String simple = "q=jooby&page=2&size=20";
+
+  private String encoded = "q=jooby%20framework&sort=name%2Cdesc&currency=%E2%82%AC&empty=&flag";
+
+  private String nested = "user.name=edgar&user.address.city=Lima&tags[0]=a&tags[1]=b&tags[2]=c";
+
+  @Benchmark
+  public QueryString simple() {
+    return UrlParser.queryString(null, simple);
+  }
+
+  @Benchmark
+  public QueryString encoded() {
+    return UrlParser.queryString(null, encoded);
+  }
+
+  @Benchmark
+  public QueryString nested() {
+    return UrlParser.queryString(null, nested);
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.jooby.Context;
+import io.jooby.Router;
+import io.jooby.ValueNode;
+import io.jooby.test.MockContext;
+
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ValueConvertersBenchmark {
+
+  public static class SearchQuery {
+    private String q;
+
+    private int page;
+
+    private int size;
+
+    public String getQ() {
+      return q;
+    }
+
+    public void setQ(String q) {
+      this.q = q;
+    }
+
+    public int getPage() {
+      return page;
+    }
+
+    public void setPage(int page) {
+      this.page = page;
+    }
+
+    public int getSize() {
+      return size;
+    }
+
+    public void setSize(int size) {
+      this.size = size;
+    }
+  }
+
+  public record Pagination(String q, int page, int size) {}
+
+  private Router router;
+
+  private ValueNode query;
+
+  private ValueNode number;
+
+  private ValueNode uuid;
+
+  @Setup
+  public void setup() {
+    router = new RouterImpl();
+    Context ctx = new MockContext().setRouter(router);
+    query = UrlParser.queryString(ctx, "q=jooby&page=2&size=20");
+    number = query.get("page");
+    uuid = UrlParser.queryString(ctx, "id=" + UUID.randomUUID()).get("id");
+  }
+
+  @Benchmark
+  public Object primitive() {
+    return ValueConverters.convert(number, int.class, router, false);
+  }
+
+  @Benchmark
+  public Object converter() {
+    return ValueConverters.convert(uuid, UUID.class, router, false);
+  }
+
+  @Benchmark
+  public Object setterBean() {
+    return ValueConverters.convert(query, SearchQuery.class, router, false);
+  }
+
+  @Benchmark
+  public Object constructorBean() {
+    return ValueConverters.convert(query, Pagination.class, router, false);
+  }
+}
@@ -6,6 +6,7 @@
 package io.jooby.freemarker;
 
 import java.io.StringWriter;
+import java.io.Writer;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -37,8 +38,14 @@ class FreemarkerTemplateEngine implements TemplateEngine {
 
   @Override
   public String render(Context ctx, ModelAndView modelAndView) throws Exception {
-    Template template = freemarker.getTemplate(modelAndView.getView());
     StringWriter writer = new StringWriter();
+    render(ctx, modelAndView, writer);
+    return writer.toString();
+  }
+
+  @Override
+  public void render(Context ctx, ModelAndView modelAndView, Writer writer) throws Exception {
+    Template template = freemarker.getTemplate(modelAndView.getView());
     Map<String, Object> model = new HashMap<>(ctx.getAttributes());
     model.putAll(modelAndView.getModel());
     Locale locale = modelAndView.getLocale();
@@ -48,6 +55,5 @@ class FreemarkerTemplateEngine implements TemplateEngine {
     Environment env = template.createProcessingEnvironment(model, writer);
     env.setLocale(locale);
     env.process();
-    return writer.toString();
   }
 }
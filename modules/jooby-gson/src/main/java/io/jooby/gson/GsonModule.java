@@ -8,8 +8,12 @@ package io.jooby.gson;
 import static java.nio.charset.StandardCharsets.UTF_8;
 
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.lang.reflect.Type;
 
 import com.google.gson.Gson;
@@ -21,8 +25,8 @@ import io.jooby.Extension;
 import io.jooby.Jooby;
 import io.jooby.MediaType;
 import io.jooby.MessageDecoder;
-import io.jooby.MessageEncoder;
 import io.jooby.ServiceRegistry;
+import io.jooby.StreamingMessageEncoder;
 
 /**
  * JSON module using Gson: https://github.com/google/gson.
@@ -67,7 +71,7 @@ import io.jooby.ServiceRegistry;
  * @author edgar
  * @since 2.7.2
  */
-public class GsonModule implements Extension, MessageDecoder, MessageEncoder {
+public class GsonModule implements Extension, MessageDecoder, StreamingMessageEncoder {
 
   private Gson gson;
 
@@ -112,4 +116,13 @@ public class GsonModule implements Extension, MessageDecoder, MessageEncoder {
     ctx.setDefaultResponseType(MediaType.json);
     return gson.toJson(value).getBytes(UTF_8);
   }
+
+  @Override
+  public void encode(@NonNull Context ctx, @NonNull Object value, @NonNull OutputStream output)
+      throws IOException {
+    ctx.setDefaultResponseType(MediaType.json);
+    Writer writer = new OutputStreamWriter(output, UTF_8);
+    gson.toJson(value, writer);
+    writer.flush();
+  }
 }
@@ -0,0 +1,82 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.jackson;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteBufferFeeder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import io.jooby.StatusCode;
+import io.jooby.StreamingMessageDecoder;
+import io.jooby.exception.StatusCodeException;
+
+/**
+ * Feed body chunks into a non-blocking parser and copy tokens into a {@link TokenBuffer}. Tokens
+ * are bound to the requested type once the route asks for the body, so the whole document is kept
+ * in memory as tokens, which takes more heap than the raw bytes. Only used for small bodies (see
+ * {@link JacksonModule#nonBlockingDecoder(boolean)}), large bodies go through the disk-spill and
+ * stream path. Body size is capped by <code>maxRequestSize</code>.
+ */
+class JacksonBodyParser implements StreamingMessageDecoder.Parser {
+
+  private final JsonParser parser;
+
+  private final ByteBufferFeeder feeder;
+
+  private final TokenBuffer tokens;
+
+  private final long maxRequestSize;
+
+  private long size;
+
+  JacksonBodyParser(ObjectMapper mapper, long maxRequestSize) throws IOException {
+    this.maxRequestSize = maxRequestSize;
+    this.parser = mapper.getFactory().createNonBlockingByteBufferParser();
+    this.feeder = (ByteBufferFeeder) parser.getNonBlockingInputFeeder();
+    this.tokens = new TokenBuffer(mapper, false);
+  }
+
+  @Override
+  public void feed(@NonNull ByteBuffer chunk) throws IOException {
+    size += chunk.remaining();
+    if (size > maxRequestSize) {
+      throw new StatusCodeException(
+          StatusCode.REQUEST_ENTITY_TOO_LARGE, "Body exceeds max request size: " + maxRequestSize);
+    }
+    feeder.feedInput(chunk);
+    drain();
+  }
+
+  @Override
+  public void end() throws IOException {
+    feeder.endOfInput();
+    drain();
+    parser.close();
+  }
+
+  /**
+   * Parser over the decoded tokens.
+   *
+   * @return Parser over the decoded tokens.
+   * @throws IOException If something goes wrong.
+   */
+  public JsonParser asParser() throws IOException {
+    return tokens.asParserOnFirstToken();
+  }
+
+  private void drain() throws IOException {
+    JsonToken token;
+    // all input must be consumed before returning, chunk is released by the server
+    while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+      tokens.copyCurrentEvent(parser);
+    }
+  }
+}
@@ -5,7 +5,9 @@
  */
 package io.jooby.jackson;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.lang.reflect.Type;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -13,6 +15,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.stream.Stream;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.Module;
@@ -23,15 +26,18 @@ import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
 import io.jooby.Body;
 import io.jooby.Context;
 import io.jooby.Extension;
 import io.jooby.Jooby;
 import io.jooby.MediaType;
-import io.jooby.MessageDecoder;
-import io.jooby.MessageEncoder;
+import io.jooby.ServerOptions;
 import io.jooby.ServiceRegistry;
+import io.jooby.SneakyThrows;
 import io.jooby.StatusCode;
+import io.jooby.StreamingMessageDecoder;
+import io.jooby.StreamingMessageEncoder;
 
 /**
  * JSON module using Jackson: https://jooby.io/modules/jackson.
@@ -76,7 +82,9 @@ import io.jooby.StatusCode;
  * @author edgar
  * @since 2.0.0
  */
-public class JacksonModule implements Extension, MessageDecoder, MessageEncoder {
+public class JacksonModule implements Extension, StreamingMessageDecoder, StreamingMessageEncoder {
+  private static final String BODY_PARSER = JacksonBodyParser.class.getName();
+
   private final MediaType mediaType;
 
   private final ObjectMapper mapper;
@@ -85,6 +93,8 @@ public class JacksonModule implements Extension, MessageDecoder, MessageEncoder
 
   private final Set<Class<? extends Module>> modules = new HashSet<>();
 
+  private boolean nonBlockingDecoder;
+
   private static final Map<String, MediaType> defaultTypes = new HashMap<>();
 
   static {
@@ -129,6 +139,24 @@ public class JacksonModule implements Extension, MessageDecoder, MessageEncoder
     return this;
   }
 
+  /**
+   * Turn on/off non-blocking body decoding. When on, servers that support it (netty and undertow)
+   * feed the JSON body to a non-blocking parser while it is being received, so the body isn't
+   * copied into a byte array. Parsed tokens of the whole body are kept in memory until the route
+   * reads it, which takes more heap than the raw bytes. So it only applies to bodies with a <code>
+   * Content-Length</code> up to {@link ServerOptions#getFileSizeThreshold()}: larger or chunked
+   * bodies are saved to a temporary file and streamed, as usual. Raw access to the body (like
+   * {@link Context#body()}) isn't available for JSON requests decoded this way. Default is: <code>
+   * false</code>.
+   *
+   * @param enabled True for turning it on.
+   * @return This module.
+   */
+  public JacksonModule nonBlockingDecoder(boolean enabled) {
+    this.nonBlockingDecoder = enabled;
+    return this;
+  }
+
   @Override
   public void install(@NonNull Jooby application) {
     application.decoder(mediaType, this);
@@ -157,8 +185,42 @@ public class JacksonModule implements Extension, MessageDecoder, MessageEncoder
     return mapper.writer().writeValueAsBytes(value);
   }
 
+  @Override
+  public void encode(@NonNull Context ctx, @NonNull Object value, @NonNull OutputStream output)
+      throws Exception {
+    ctx.setDefaultResponseType(mediaType);
+    mapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET).writeValue(output, value);
+  }
+
+  @Nullable @Override
+  public Parser parser(@NonNull Context ctx) {
+    if (!nonBlockingDecoder || !mapper.getFactory().canParseAsync()) {
+      return null;
+    }
+    ServerOptions options = ctx.getRouter().getServerOptions();
+    long length = ctx.getRequestLength();
+    if (length < 0 || length > options.getFileSizeThreshold()) {
+      // tokens take more memory than bytes: let server spill large/unknown bodies to disk
+      return null;
+    }
+    try {
+      JacksonBodyParser parser = new JacksonBodyParser(mapper, options.getMaxRequestSize());
+      ctx.setAttribute(BODY_PARSER, parser);
+      return parser;
+    } catch (IOException x) {
+      throw SneakyThrows.propagate(x);
+    }
+  }
+
   @Override
   public Object decode(Context ctx, Type type) throws Exception {
+    JacksonBodyParser parser = ctx.getAttribute(BODY_PARSER);
+    if (parser != null) {
+      if (type == JsonNode.class) {
+        return mapper.readTree(parser.asParser());
+      }
+      return mapper.readValue(parser.asParser(), typeFactory.constructType(type));
+    }
     Body body = ctx.body();
     if (body.isInMemory()) {
       if (type == JsonNode.class) {
@@ -6,11 +6,16 @@
 package io.jooby.jackson;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -21,6 +26,10 @@ import com.fasterxml.jackson.dataformat.xml.XmlMapper;
 import io.jooby.Body;
 import io.jooby.Context;
 import io.jooby.MediaType;
+import io.jooby.Router;
+import io.jooby.ServerOptions;
+import io.jooby.StatusCode;
+import io.jooby.exception.StatusCodeException;
 
 public class JacksonJsonModuleTest {
 
@@ -52,6 +61,68 @@ public class JacksonJsonModuleTest {
     assertEquals(mapOf("k", "v"), result);
   }
 
+  @Test
+  public void parseJsonIncrementally() throws Exception {
+    byte[] bytes = "{\"k\":\"v\",\"list\":[1,2.5,true,null]}".getBytes(StandardCharsets.UTF_8);
+
+    Context ctx = context(ServerOptions._16KB, bytes.length);
+    JacksonModule jackson = new JacksonModule(new ObjectMapper()).nonBlockingDecoder(true);
+
+    JacksonBodyParser parser = (JacksonBodyParser) jackson.parser(ctx);
+    verify(ctx).setAttribute(JacksonBodyParser.class.getName(), parser);
+    // one byte at a time, so tokens are split across chunks
+    for (byte b : bytes) {
+      parser.feed(ByteBuffer.wrap(new byte[] {b}));
+    }
+    parser.end();
+
+    when(ctx.getAttribute(JacksonBodyParser.class.getName())).thenReturn(parser);
+    Map<String, Object> result = (Map<String, Object>) jackson.decode(ctx, Map.class);
+    assertEquals("v", result.get("k"));
+    assertEquals(Arrays.asList(1, 2.5, true, null), result.get("list"));
+  }
+
+  @Test
+  public void parseJsonIncrementallyUpToMaxRequestSize() throws Exception {
+    Context ctx = context(8, 8);
+    JacksonModule jackson = new JacksonModule(new ObjectMapper()).nonBlockingDecoder(true);
+
+    JacksonBodyParser parser = (JacksonBodyParser) jackson.parser(ctx);
+    parser.feed(ByteBuffer.wrap("{\"k\":".getBytes(StandardCharsets.UTF_8)));
+    StatusCodeException x =
+        assertThrows(
+            StatusCodeException.class,
+            () -> parser.feed(ByteBuffer.wrap("\"v\"}".getBytes(StandardCharsets.UTF_8))));
+    assertEquals(StatusCode.REQUEST_ENTITY_TOO_LARGE, x.getStatusCode());
+  }
+
+  @Test
+  public void parseLargeOrChunkedJsonAsUsual() {
+    JacksonModule jackson = new JacksonModule(new ObjectMapper()).nonBlockingDecoder(true);
+    int threshold = new ServerOptions().getFileSizeThreshold();
+
+    assertNotNull(jackson.parser(context(ServerOptions._16KB, threshold)));
+    assertNull(jackson.parser(context(ServerOptions._16KB, threshold + 1)));
+    assertNull(jackson.parser(context(ServerOptions._16KB, -1)));
+  }
+
+  private Context context(int maxRequestSize, long requestLength) {
+    Context ctx = mock(Context.class);
+    Router router = mock(Router.class);
+    when(router.getServerOptions())
+        .thenReturn(new ServerOptions().setMaxRequestSize(maxRequestSize));
+    when(ctx.getRouter()).thenReturn(router);
+    when(ctx.getRequestLength()).thenReturn(requestLength);
+    return ctx;
+  }
+
+  @Test
+  public void nonBlockingDecoderIsOptIn() {
+    Context ctx = mock(Context.class);
+    assertNull(new JacksonModule(new ObjectMapper()).parser(ctx));
+    assertNull(new JacksonModule(new XmlMapper()).nonBlockingDecoder(true).parser(ctx));
+  }
+
   @Test
   public void renderXml() throws Exception {
     Context ctx = mock(Context.class);
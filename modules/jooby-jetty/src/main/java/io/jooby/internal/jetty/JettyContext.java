@@ -32,11 +32,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.jetty.http.HttpField;
 import org.eclipse.jetty.http.HttpHeader;
 import org.eclipse.jetty.http.HttpHeaderValue;
 import org.eclipse.jetty.http.MimeTypes;
+import org.eclipse.jetty.server.HttpChannel;
 import org.eclipse.jetty.server.HttpOutput;
 import org.eclipse.jetty.server.MultiPartFormInputStream;
 import org.eclipse.jetty.server.Request;
@@ -80,7 +82,7 @@ import jakarta.servlet.http.Part;
 
 public class JettyContext implements DefaultContext {
   private static final ByteBuffer EMPTY_BUFFER = ByteBuffer.wrap(new byte[0]);
-  private final int bufferSize;
+  private final int fileSizeThreshold;
   private final long maxRequestSize;
   Request request;
   Response response;
@@ -106,11 +108,11 @@ public class JettyContext implements DefaultContext {
   private String scheme;
   private int port;
 
-  public JettyContext(Request request, Router router, int bufferSize, long maxRequestSize) {
+  public JettyContext(Request request, Router router, int fileSizeThreshold, long maxRequestSize) {
     this.request = request;
     this.response = request.getResponse();
     this.router = router;
-    this.bufferSize = bufferSize;
+    this.fileSizeThreshold = fileSizeThreshold;
     this.maxRequestSize = maxRequestSize;
     this.method = request.getMethod().toUpperCase();
     this.requestPath = request.getRequestURI();
@@ -223,7 +225,7 @@ public class JettyContext implements DefaultContext {
           request.setAttribute(
               __MULTIPART_CONFIG_ELEMENT,
               new MultipartConfigElement(
-                  router.getTmpdir().toString(), -1L, maxRequestSize, bufferSize));
+                  router.getTmpdir().toString(), -1L, maxRequestSize, fileSizeThreshold));
 
           try {
             Collection<Part> parts = request.getParts();
@@ -336,7 +338,8 @@ public class JettyContext implements DefaultContext {
 
   @NonNull @Override
   public Context dispatch(@NonNull Executor executor, @NonNull Runnable action) {
-    if (router.getWorker() == executor) {
+    if (executor == request.getHttpChannel().getServer().getThreadPool()) {
+      // already running on a server thread
       action.run();
     } else {
       ifStartAsync();
@@ -345,6 +348,16 @@ public class JettyContext implements DefaultContext {
     return this;
   }
 
+  @NonNull @Override
+  public Context schedule(@NonNull Runnable task, long delay, @NonNull TimeUnit unit) {
+    HttpChannel channel = request.getHttpChannel();
+    // scheduler thread is shared by all the connector timeouts: writes are blocking, so run the
+    // task on a worker thread
+    Executor worker = channel.getServer().getThreadPool();
+    channel.getConnector().getScheduler().schedule(() -> worker.execute(task), delay, unit);
+    return this;
+  }
+
   @NonNull @Override
   public Context detach(@NonNull Route.Handler next) throws Exception {
     ifStartAsync();
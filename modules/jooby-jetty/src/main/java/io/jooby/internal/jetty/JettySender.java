@@ -6,6 +6,7 @@
 package io.jooby.internal.jetty;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 
 import org.eclipse.jetty.server.HttpOutput;
 
@@ -33,6 +34,18 @@ public class JettySender implements Sender {
     return this;
   }
 
+  @Override
+  public Sender write(@NonNull ByteBuffer data, @NonNull Callback callback) {
+    try {
+      sender.write(data);
+      sender.flush();
+      callback.onComplete(ctx, null);
+    } catch (IOException e) {
+      callback.onComplete(ctx, e);
+    }
+    return this;
+  }
+
   @Override
   public void close() {
     ctx.complete(null);
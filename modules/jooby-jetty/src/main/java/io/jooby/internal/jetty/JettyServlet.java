@@ -8,7 +8,12 @@ package io.jooby.internal.jetty;
 import org.eclipse.jetty.http.HttpHeader;
 import org.eclipse.jetty.server.Request;
 
+import io.jooby.FileUpload;
+import io.jooby.FileUploadListener;
+import io.jooby.MediaType;
 import io.jooby.Router;
+import io.jooby.StatusCode;
+import io.jooby.exception.StatusCodeException;
 import jakarta.servlet.GenericServlet;
 import jakarta.servlet.ServletRequest;
 import jakarta.servlet.ServletResponse;
@@ -17,12 +22,13 @@ import jakarta.servlet.http.HttpServletResponse;
 public class JettyServlet extends GenericServlet {
   private Router router;
   private boolean defaultHeaders;
-  private int bufferSize;
+  private int fileSizeThreshold;
   private long maxRequestSize;
 
-  public JettyServlet(Router router, int bufferSize, long maxRequestSize, boolean defaultHeaders) {
+  public JettyServlet(
+      Router router, int fileSizeThreshold, long maxRequestSize, boolean defaultHeaders) {
     this.router = router;
-    this.bufferSize = bufferSize;
+    this.fileSizeThreshold = fileSizeThreshold;
     this.maxRequestSize = maxRequestSize;
     this.defaultHeaders = defaultHeaders;
   }
@@ -36,10 +42,38 @@ public class JettyServlet extends GenericServlet {
       if (defaultHeaders) {
         response.setHeader(HttpHeader.SERVER.asString(), "J");
       }
-      JettyContext context = new JettyContext(request, router, bufferSize, maxRequestSize);
-      router.match(context).execute(context);
+      JettyContext context = new JettyContext(request, router, fileSizeThreshold, maxRequestSize);
+      Router.Match route = router.match(context);
+      if (fileUploads(route, context)) {
+        route.execute(context);
+      }
     } finally {
       request.setHandled(true);
     }
   }
+
+  /**
+   * Multipart form is read at once, so file uploads are handed to the route listener before
+   * running the route.
+   *
+   * @return False when an upload was rejected, response was sent.
+   */
+  private boolean fileUploads(Router.Match route, JettyContext context) {
+    FileUploadListener listener = route.matches() ? route.route().getFileUploadListener() : null;
+    MediaType contentType = listener == null ? null : context.getRequestType();
+    if (contentType != null && contentType.getValue().equals(MediaType.MULTIPART_FORMDATA)) {
+      try {
+        for (FileUpload upload : context.files()) {
+          listener.onFileUpload(context, upload);
+        }
+      } catch (StatusCodeException x) {
+        context.sendError(x, x.getStatusCode());
+        return false;
+      } catch (Exception x) {
+        context.sendError(x, StatusCode.BAD_REQUEST);
+        return false;
+      }
+    }
+    return true;
+  }
 }
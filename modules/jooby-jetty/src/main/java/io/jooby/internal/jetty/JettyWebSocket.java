@@ -15,6 +15,7 @@ import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
 
@@ -32,6 +33,7 @@ import io.jooby.WebSocket;
 import io.jooby.WebSocketCloseStatus;
 import io.jooby.WebSocketConfigurer;
 import io.jooby.WebSocketMessage;
+import io.jooby.WebSocketOptions;
 
 public class JettyWebSocket implements WebSocketListener, WebSocketConfigurer, WebSocket {
 
@@ -89,6 +91,7 @@ public class JettyWebSocket implements WebSocketListener, WebSocketConfigurer, W
   private AtomicReference<WebSocket.OnClose> onCloseCallback = new AtomicReference<>();
   private WebSocket.OnError onErrorCallback;
   private AtomicBoolean open = new AtomicBoolean(false);
+  private AtomicInteger pendingBroadcasts = new AtomicInteger();
 
   public JettyWebSocket(JettyContext ctx) {
     this.ctx = ctx;
@@ -263,6 +266,70 @@ public class JettyWebSocket implements WebSocketListener, WebSocketConfigurer, W
         new WriteCallbackAdaptor(this, callback));
   }
 
+  @NonNull @Override
+  public WebSocket broadcast(@NonNull Object value, @NonNull WriteCallback callback) {
+    return broadcastMessage(value, false, callback);
+  }
+
+  @NonNull @Override
+  public WebSocket broadcastBinary(@NonNull Object value, @NonNull WriteCallback callback) {
+    return broadcastMessage(value, true, callback);
+  }
+
+  private WebSocket broadcastMessage(Object value, boolean binary, WriteCallback callback) {
+    try {
+      Context sender = Context.websocket(ctx, this, binary, callback);
+      byte[] bytes = sender.getRoute().getEncoder().encode(sender, value);
+      if (bytes == null) {
+        throw new IllegalArgumentException("Unable to broadcast: " + value.getClass().getName());
+      }
+      int maxPending = WebSocketOptions.from(ctx.getRouter()).getMaxPendingBroadcasts();
+      // encoded once, each session writes a duplicate (or the same string)
+      BiConsumer<RemoteEndpoint, org.eclipse.jetty.websocket.api.WriteCallback> writer;
+      if (binary) {
+        ByteBuffer message = ByteBuffer.wrap(bytes);
+        writer = (remote, writeCallback) -> remote.sendBytes(message.duplicate(), writeCallback);
+      } else {
+        String message = new String(bytes, StandardCharsets.UTF_8);
+        writer = (remote, writeCallback) -> remote.sendString(message, writeCallback);
+      }
+      for (JettyWebSocket ws : all.getOrDefault(key, Collections.emptyList())) {
+        if (ws.isOpen()) {
+          ws.broadcastMessage(writer, maxPending, callback);
+        }
+      }
+    } catch (Throwable x) {
+      onWebSocketError(x);
+    }
+    return this;
+  }
+
+  private void broadcastMessage(
+      BiConsumer<RemoteEndpoint, org.eclipse.jetty.websocket.api.WriteCallback> writer,
+      int maxPending,
+      WriteCallback callback) {
+    if (!isOpen()) {
+      callback.operationComplete(
+          this, new IllegalStateException("Attempt to send a message on closed web socket"));
+    } else if (pendingBroadcasts.get() >= maxPending) {
+      ctx.getRouter().getLog().debug("WebSocket {} is a slow consumer, message dropped", path);
+      callback.operationComplete(
+          this, new IllegalStateException("Slow consumer, broadcast message dropped"));
+    } else {
+      pendingBroadcasts.incrementAndGet();
+      WriteCallback done =
+          (ws, cause) -> {
+            pendingBroadcasts.decrementAndGet();
+            callback.operationComplete(ws, cause);
+          };
+      try {
+        writer.accept(session.getRemote(), new WriteCallbackAdaptor(this, done));
+      } catch (Throwable x) {
+        done.operationComplete(this, x);
+      }
+    }
+  }
+
   private WebSocket sendMessage(
       BiConsumer<RemoteEndpoint, org.eclipse.jetty.websocket.api.WriteCallback> writer,
       org.eclipse.jetty.websocket.api.WriteCallback callback) {
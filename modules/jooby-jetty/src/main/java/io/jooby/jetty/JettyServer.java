@@ -6,11 +6,10 @@
 package io.jooby.jetty;
 
 import java.net.BindException;
-import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ExecutorService;
 import java.util.function.Consumer;
 
 import org.eclipse.jetty.http.UriCompliance;
@@ -33,14 +32,13 @@ import org.eclipse.jetty.util.thread.QueuedThreadPool;
 import org.eclipse.jetty.util.thread.ThreadPool;
 import org.eclipse.jetty.websocket.server.config.JettyWebSocketServletContainerInitializer;
 
-import com.typesafe.config.Config;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import io.jooby.Jooby;
 import io.jooby.Router;
 import io.jooby.ServerOptions;
 import io.jooby.SneakyThrows;
 import io.jooby.SslOptions;
-import io.jooby.WebSocket;
+import io.jooby.WebSocketOptions;
 import io.jooby.internal.jetty.JettyServlet;
 import io.jooby.internal.jetty.http2.JettyHttp2Configurer;
 
@@ -57,6 +55,8 @@ public class JettyServer extends io.jooby.Server.Base {
   private Server server;
 
   private ThreadPool threadPool;
+
+  private ExecutorService virtualWorker;
   private List<Jooby> applications = new ArrayList<>();
 
   private ServerOptions options = new ServerOptions().setServer("jetty").setWorkerThreads(THREADS);
@@ -109,11 +109,15 @@ public class JettyServer extends io.jooby.Server.Base {
       addShutdownHook();
 
       if (threadPool == null) {
-        threadPool = new QueuedThreadPool(options.getWorkerThreads());
-        ((QueuedThreadPool) threadPool).setName("worker");
+        QueuedThreadPool queuedThreadPool = new QueuedThreadPool(options.getWorkerThreads());
+        queuedThreadPool.setName("worker");
+        // application code runs on virtual threads, the pool is for IO
+        virtualWorker = newVirtualWorker(options);
+        queuedThreadPool.setVirtualThreadsExecutor(virtualWorker);
+        threadPool = queuedThreadPool;
       }
 
-      fireStart(applications, threadPool);
+      fireStart(applications, virtualWorker == null ? threadPool : virtualWorker);
 
       this.server = new Server(threadPool);
       server.setStopAtShutdown(false);
@@ -199,8 +203,7 @@ public class JettyServer extends io.jooby.Server.Base {
           application.getRoutes().stream().anyMatch(it -> it.getMethod().equals(Router.WS));
 
       /* ********************************* Compression *************************************/
-      boolean gzip = options.getCompressionLevel() != null;
-      boolean compress = gzip || webSockets;
+      boolean compress = options.getCompressionLevel() != null || webSockets;
       if (compress) {
         int compressionLevel =
             Optional.ofNullable(options.getCompressionLevel())
@@ -213,34 +216,36 @@ public class JettyServer extends io.jooby.Server.Base {
       JettyServlet servlet =
           new JettyServlet(
               applications.get(0),
-              options.getBufferSize(),
+              options.getFileSizeThreshold(),
               options.getMaxRequestSize(),
               options.getDefaultHeaders());
       context.addServlet(new ServletHolder(servlet), "/*");
 
       /* ********************************* Gzip *************************************/
+      boolean gzip =
+          options.getCompressionLevel() != null
+              && options.getCompressionEncodings().contains("gzip");
       if (gzip) {
-        GzipHandler gzipHandler = new GzipHandler();
+        GzipHandler gzipHandler =
+            new GzipHandler() {
+              @Override
+              public boolean isMimeTypeGzipable(String mimetype) {
+                return options.isCompressible(mimetype);
+              }
+            };
+        gzipHandler.setMinGzipSize(options.getCompressionMinSize());
         context.insertHandler(gzipHandler);
       }
       /* ********************************* WebSocket *************************************/
       if (webSockets) {
-        Config conf = application.getConfig();
-        int maxSize =
-            conf.hasPath("websocket.maxSize")
-                ? conf.getBytes("websocket.maxSize").intValue()
-                : WebSocket.MAX_BUFFER_SIZE;
+        WebSocketOptions webSocketOptions = WebSocketOptions.from(application);
         context.setAttribute(DecoratedObjectFactory.ATTR, new DecoratedObjectFactory());
-        long timeout =
-            conf.hasPath("websocket.idleTimeout")
-                ? conf.getDuration("websocket.idleTimeout", TimeUnit.MILLISECONDS)
-                : TimeUnit.MINUTES.toMillis(5);
 
         JettyWebSocketServletContainerInitializer.configure(
             context,
             (servletContext, container) -> {
-              container.setMaxTextMessageSize(maxSize);
-              container.setIdleTimeout(Duration.ofMillis(timeout));
+              container.setMaxTextMessageSize(webSocketOptions.getMaxSize());
+              container.setIdleTimeout(webSocketOptions.getIdleTimeout());
             });
       }
 
@@ -290,6 +295,10 @@ public class JettyServer extends io.jooby.Server.Base {
         throw SneakyThrows.propagate(x);
       } finally {
         server = null;
+        if (virtualWorker != null) {
+          virtualWorker.shutdown();
+          virtualWorker = null;
+        }
       }
     }
     return this;
@@ -5,6 +5,7 @@
  */
 package io.jooby.jte;
 
+import java.io.Writer;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -12,6 +13,7 @@ import java.util.Map;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import gg.jte.TemplateEngine;
 import gg.jte.output.StringOutput;
+import gg.jte.output.WriterOutput;
 import io.jooby.Context;
 import io.jooby.ModelAndView;
 
@@ -32,16 +34,22 @@ class JteTemplateEngine implements io.jooby.TemplateEngine {
   @Override
   public String render(Context ctx, ModelAndView modelAndView) {
     var output = new StringOutput();
+    jte.render(modelAndView.getView(), model(ctx, modelAndView), output);
+    return output.toString();
+  }
+
+  @Override
+  public void render(Context ctx, ModelAndView modelAndView, Writer writer) {
+    jte.render(modelAndView.getView(), model(ctx, modelAndView), new WriterOutput(writer));
+  }
+
+  private static Map<String, Object> model(Context ctx, ModelAndView modelAndView) {
     var attributes = ctx.getAttributes();
-    Map<String, Object> model;
     if (attributes.isEmpty()) {
-      model = modelAndView.getModel();
-    } else {
-      model = new HashMap<>();
-      model.putAll(attributes);
-      model.putAll(model);
+      return modelAndView.getModel();
     }
-    jte.render(modelAndView.getView(), model, output);
-    return output.toString();
+    Map<String, Object> model = new HashMap<>(attributes);
+    model.putAll(modelAndView.getModel());
+    return model;
   }
 }
@@ -7,6 +7,7 @@ package io.jooby.jwt;
 
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.function.Function;
@@ -25,6 +26,7 @@ import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jws;
 import io.jsonwebtoken.JwtBuilder;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 
@@ -44,11 +46,18 @@ import io.jsonwebtoken.security.Keys;
  * <p>This session store delegates to {@link SessionStore#signed(SessionToken, Function, Function)}
  * using JSON Web Token library.
  *
+ * <p>Recently verified tokens are kept in a small cache, so repeated requests with the same token
+ * skip signature verification and claims parsing. Tokens with an expiration or not before claim are
+ * always verified.
+ *
  * @author edgar
  * @since 2.2.0
  */
 public class JwtSessionStore implements SessionStore {
 
+  /** Max number of verified tokens to keep. */
+  private static final int VERIFIED_TOKENS = 1024;
+
   private final SessionStore store;
 
   /**
@@ -113,13 +122,29 @@ public class JwtSessionStore implements SessionStore {
   }
 
   static SneakyThrows.Function<String, Map<String, String>> decoder(SecretKey key) {
+    return decoder(key, new VerifiedTokens(VERIFIED_TOKENS));
+  }
+
+  static SneakyThrows.Function<String, Map<String, String>> decoder(
+      SecretKey key, VerifiedTokens verified) {
+    JwtParser parser = Jwts.parser().verifyWith(key).build();
     return value -> {
+      Map<String, String> attributes = verified.get(value);
+      if (attributes != null) {
+        return attributes;
+      }
       try {
-        Jws<Claims> claims = Jwts.parser().verifyWith(key).build().parseSignedClaims(value);
-        Map<String, String> attributes = new HashMap<>();
-        for (Map.Entry<String, Object> entry : claims.getPayload().entrySet()) {
+        Jws<Claims> claims = parser.parseSignedClaims(value);
+        Claims payload = claims.getPayload();
+        attributes = new HashMap<>();
+        for (Map.Entry<String, Object> entry : payload.entrySet()) {
           attributes.put(entry.getKey(), entry.getValue().toString());
         }
+        attributes = Collections.unmodifiableMap(attributes);
+        // time bound tokens must be checked on every request
+        if (payload.getExpiration() == null && payload.getNotBefore() == null) {
+          verified.put(value, attributes);
+        }
         return attributes;
       } catch (JwtException x) {
         return null;
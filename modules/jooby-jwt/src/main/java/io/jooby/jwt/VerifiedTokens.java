@@ -0,0 +1,48 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.jwt;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Bounded cache of verified tokens. Lookups never lock. Once full, oldest tokens are evicted first
+ * (insertion order, not access order): a token in use is verified again and goes back to the cache.
+ */
+class VerifiedTokens {
+  private final int maxSize;
+
+  private final Map<String, Map<String, String>> tokens = new ConcurrentHashMap<>();
+
+  private final Queue<String> order = new ConcurrentLinkedQueue<>();
+
+  VerifiedTokens(int maxSize) {
+    this.maxSize = maxSize;
+  }
+
+  Map<String, String> get(String token) {
+    return tokens.get(token);
+  }
+
+  void put(String token, Map<String, String> attributes) {
+    if (tokens.putIfAbsent(token, attributes) == null) {
+      order.offer(token);
+      while (tokens.size() > maxSize) {
+        String eldest = order.poll();
+        if (eldest == null) {
+          break;
+        }
+        tokens.remove(eldest);
+      }
+    }
+  }
+
+  int size() {
+    return tokens.size();
+  }
+}
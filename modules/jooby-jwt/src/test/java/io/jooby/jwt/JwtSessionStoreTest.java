@@ -0,0 +1,116 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.jwt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Map;
+
+import javax.crypto.SecretKey;
+
+import org.junit.jupiter.api.Test;
+
+import io.jooby.SneakyThrows;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+public class JwtSessionStoreTest {
+
+  private final SecretKey key =
+      Keys.hmacShaKeyFor("7a85c3b6-3ef0-4625-82d3-a1da36094804".getBytes(StandardCharsets.UTF_8));
+
+  @Test
+  public void shouldServeRepeatedTokenFromCache() {
+    VerifiedTokens cache = new VerifiedTokens(1024);
+    SneakyThrows.Function<String, Map<String, String>> decoder =
+        JwtSessionStore.decoder(key, cache);
+    String token = JwtSessionStore.encoder(key).apply(Map.of("user", "edgar"));
+
+    Map<String, String> attributes = decoder.apply(token);
+    assertEquals(Map.of("user", "edgar"), attributes);
+    assertEquals(1, cache.size());
+    // parsing would produce a new map
+    assertSame(attributes, decoder.apply(token));
+  }
+
+  @Test
+  public void shouldNotCacheTimeBoundTokens() {
+    VerifiedTokens cache = new VerifiedTokens(1024);
+    SneakyThrows.Function<String, Map<String, String>> decoder =
+        JwtSessionStore.decoder(key, cache);
+    long now = System.currentTimeMillis();
+    String expiration =
+        Jwts.builder()
+            .signWith(key)
+            .claim("user", "edgar")
+            .expiration(new Date(now + 60_000))
+            .compact();
+    String notBefore =
+        Jwts.builder()
+            .signWith(key)
+            .claim("user", "edgar")
+            .notBefore(new Date(now - 60_000))
+            .compact();
+
+    for (String token : new String[] {expiration, notBefore}) {
+      Map<String, String> attributes = decoder.apply(token);
+      assertNotNull(attributes);
+      assertNotSame(attributes, decoder.apply(token));
+    }
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void shouldEvictOldestTokens() {
+    VerifiedTokens cache = new VerifiedTokens(1024);
+    SneakyThrows.Function<String, Map<String, String>> decoder =
+        JwtSessionStore.decoder(key, cache);
+    SneakyThrows.Function<Map<String, String>, String> encoder = JwtSessionStore.encoder(key);
+
+    String first = encoder.apply(Map.of("n", "0"));
+    decoder.apply(first);
+    String last = null;
+    for (int i = 1; i <= 1024; i++) {
+      last = encoder.apply(Map.of("n", Integer.toString(i)));
+      decoder.apply(last);
+    }
+
+    assertEquals(1024, cache.size());
+    assertNull(cache.get(first));
+    assertNotNull(cache.get(last));
+  }
+
+  @Test
+  public void shouldRejectTamperedToken() {
+    VerifiedTokens cache = new VerifiedTokens(1024);
+    SneakyThrows.Function<String, Map<String, String>> decoder =
+        JwtSessionStore.decoder(key, cache);
+    String token = JwtSessionStore.encoder(key).apply(Map.of("user", "edgar"));
+    assertNotNull(decoder.apply(token));
+
+    // same signature, different payload
+    String[] parts = token.split("\\.");
+    String payload = Jwts.builder().signWith(key).claim("user", "admin").compact().split("\\.")[1];
+    String tampered = parts[0] + "." + payload + "." + parts[2];
+    assertNull(decoder.apply(tampered));
+
+    // different signature, same payload
+    char last = parts[2].charAt(parts[2].length() - 2);
+    String signature =
+        parts[2].substring(0, parts[2].length() - 2)
+            + (last == 'A' ? 'B' : 'A')
+            + parts[2].charAt(parts[2].length() - 1);
+    assertNull(decoder.apply(parts[0] + "." + parts[1] + "." + signature));
+
+    assertEquals(1, cache.size());
+  }
+}
@@ -0,0 +1,80 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.metrics;
+
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with exponential (power of two) buckets, from <code>2^17ns</code>
+ * (~131µs) up to <code>2^33ns</code> (~8.6s) plus an overflow bucket. Recording a value is a bucket
+ * index computation (leading zeros) and an atomic increment, readers never block writers.
+ */
+class LatencyHistogram {
+  /** Smallest bucket upper bound: 2^17ns. */
+  private static final int MIN_EXPONENT = 17;
+
+  /** Largest bucket upper bound: 2^33ns. */
+  private static final int MAX_EXPONENT = 33;
+
+  /** Number of buckets, last one is <code>+Inf</code>. */
+  static final int BUCKETS = MAX_EXPONENT - MIN_EXPONENT + 2;
+
+  /** Bucket upper bounds as seconds, formatted for text exposition. */
+  static final String[] LE = new String[BUCKETS];
+
+  static {
+    for (int i = 0; i < BUCKETS - 1; i++) {
+      LE[i] = BigDecimal.valueOf(1L << (MIN_EXPONENT + i), 9).stripTrailingZeros().toPlainString();
+    }
+    LE[BUCKETS - 1] = "+Inf";
+  }
+
+  private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+  private final LongAdder sum = new LongAdder();
+
+  /**
+   * Record a value.
+   *
+   * @param nanos Value in nanoseconds.
+   */
+  public void record(long nanos) {
+    if (nanos < 0) {
+      nanos = 0;
+    }
+    // ceil(log2(nanos))
+    int exponent = nanos <= 1 ? 0 : 64 - Long.numberOfLeadingZeros(nanos - 1);
+    int index = Math.min(Math.max(exponent - MIN_EXPONENT, 0), BUCKETS - 1);
+    buckets.incrementAndGet(index);
+    sum.add(nanos);
+  }
+
+  /**
+   * Copy bucket counts (not cumulative) into the given array.
+   *
+   * @param counts Destination array of {@link #BUCKETS} length.
+   * @return Total number of recorded values.
+   */
+  public long counts(long[] counts) {
+    long count = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      counts[i] = buckets.get(i);
+      count += counts[i];
+    }
+    return count;
+  }
+
+  /**
+   * Sum of recorded values.
+   *
+   * @return Sum of recorded values in nanoseconds.
+   */
+  public long sum() {
+    return sum.sum();
+  }
+}
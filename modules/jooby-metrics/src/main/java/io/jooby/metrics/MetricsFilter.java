@@ -5,31 +5,134 @@
  */
 package io.jooby.metrics;
 
+import java.util.IdentityHashMap;
+import java.util.Map;
+
 import com.codahale.metrics.Counter;
+import com.codahale.metrics.Meter;
 import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.Timer;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import io.jooby.Context;
 import io.jooby.Route;
 
+/**
+ * Collect request metrics:
+ *
+ * <ul>
+ *   <li><code>request.actives</code>: number of active requests.
+ *   <li><code>request</code>: request timer.
+ *   <li><code>request.[METHOD].[pattern]</code>: request timer per route, like <code>
+ *       request.GET./users/{id}</code>.
+ *   <li><code>responses.[code]</code>: response status code meter.
+ * </ul>
+ *
+ * Meters are resolved once and route timers are created when routes are defined, so there is no
+ * registry lookup per request.
+ */
 public class MetricsFilter implements Route.Filter {
 
+  /** Meters shared by all the routes. */
+  private static class Meters {
+    private final MetricRegistry registry;
+
+    private final Counter actives;
+
+    private final Timer request;
+
+    /** Response meters indexed by status code, created on first use. */
+    private final Meter[] responses = new Meter[MAX_STATUS_CODE];
+
+    Meters(MetricRegistry registry) {
+      this.registry = registry;
+      this.actives = registry.counter("request.actives");
+      this.request = registry.timer("request");
+    }
+
+    Meter response(int statusCode) {
+      if (statusCode < 0 || statusCode >= MAX_STATUS_CODE) {
+        return registry.meter("responses." + statusCode);
+      }
+      Meter meter = responses[statusCode];
+      if (meter == null) {
+        // benign race: registry always returns the same meter
+        meter = registry.meter("responses." + statusCode);
+        responses[statusCode] = meter;
+      }
+      return meter;
+    }
+  }
+
+  private static final int MAX_STATUS_CODE = 600;
+
+  /** Route timers, populated while routes are defined and read-only after application starts. */
+  private final Map<Route, Timer> routes = new IdentityHashMap<>();
+
+  private volatile Meters meters;
+
+  /** Creates a metrics filter. Metric registry is resolved from application services. */
+  public MetricsFilter() {}
+
+  /**
+   * Creates a metrics filter.
+   *
+   * @param registry Metric registry.
+   */
+  public MetricsFilter(@NonNull MetricRegistry registry) {
+    this.meters = new Meters(registry);
+  }
+
+  @Override
+  public void setRoute(Route route) {
+    Meters meters = this.meters;
+    Timer timer = new Timer();
+    routes.put(route, meters == null ? timer : register(meters.registry, route, timer));
+  }
+
   @NonNull @Override
   public Route.Handler apply(@NonNull Route.Handler next) {
     return ctx -> {
-      MetricRegistry registry = ctx.require(MetricRegistry.class);
-      Counter counter = registry.counter("request.actives");
-      Timer.Context timer = registry.timer("request").time();
+      Meters meters = meters(ctx);
+      Timer.Context timer = meters.request.time();
+      Timer routeTimer = routes.get(ctx.getRoute());
+      Timer.Context routeContext = routeTimer == null ? null : routeTimer.time();
 
-      counter.inc();
+      meters.actives.inc();
 
       ctx.onComplete(
           context -> {
             timer.stop();
-            counter.dec();
-            registry.meter("responses." + context.getResponseCode().value()).mark();
+            if (routeContext != null) {
+              routeContext.stop();
+            }
+            meters.actives.dec();
+            meters.response(context.getResponseCode().value()).mark();
           });
 
       return next.apply(ctx);
     };
   }
+
+  private Meters meters(Context ctx) {
+    Meters meters = this.meters;
+    if (meters == null) {
+      synchronized (this) {
+        meters = this.meters;
+        if (meters == null) {
+          meters = new Meters(ctx.require(MetricRegistry.class));
+          for (Map.Entry<Route, Timer> route : routes.entrySet()) {
+            route.setValue(register(meters.registry, route.getKey(), route.getValue()));
+          }
+          this.meters = meters;
+        }
+      }
+    }
+    return meters;
+  }
+
+  /** Register a route timer, returns the one already registered under the same name if any. */
+  private static Timer register(MetricRegistry registry, Route route, Timer timer) {
+    return registry.timer(
+        MetricRegistry.name("request", route.getMethod(), route.getPattern()), () -> timer);
+  }
 }
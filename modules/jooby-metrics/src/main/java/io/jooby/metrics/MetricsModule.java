@@ -20,6 +20,7 @@ import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
+import com.codahale.metrics.Gauge;
 import com.codahale.metrics.Metric;
 import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.Reporter;
@@ -30,7 +31,9 @@ import edu.umd.cs.findbugs.annotations.NonNull;
 import io.jooby.Extension;
 import io.jooby.Jooby;
 import io.jooby.Router;
+import io.jooby.RouterOption;
 import io.jooby.ServiceRegistry;
+import io.jooby.SessionStore;
 
 public class MetricsModule implements Extension {
 
@@ -50,6 +53,10 @@ public class MetricsModule implements Extension {
 
   private final Set<BiFunction<MetricRegistry, Config, Reporter>> reporters = new LinkedHashSet<>();
 
+  private boolean sessions;
+
+  private boolean openMetrics;
+
   private final MetricRegistry metricRegistry;
   private final HealthCheckRegistry healthCheckRegistry;
 
@@ -146,6 +153,31 @@ public class MetricsModule implements Extension {
     return this;
   }
 
+  /**
+   * Publish session store gauges: <code>session.count</code> (live sessions) and <code>
+   * session.evictions</code> (sessions deleted due to inactivity). Values are available when the
+   * session store implements {@link SessionStore.Stats}, like the default in-memory store.
+   *
+   * @return This metrics module.
+   */
+  public MetricsModule sessions() {
+    this.sessions = true;
+    return this;
+  }
+
+  /**
+   * Expose request metrics using the OpenMetrics (Prometheus) text format at <code>
+   * {pattern}/openmetrics</code>. Routes defined after installing this module are instrumented by
+   * an {@link OpenMetricsFilter}: per route latency histograms, in-flight requests, time waiting
+   * for a worker thread and handler execution time.
+   *
+   * @return This metrics module.
+   */
+  public MetricsModule openMetrics() {
+    this.openMetrics = true;
+    return this;
+  }
+
   /**
    * Append a metric to the {@link MetricRegistry}, this call is identical to {@link
    * MetricRegistry#register(String, Metric)}.
@@ -231,12 +263,36 @@ public class MetricsModule implements Extension {
 
     routes.forEach(r -> r.accept(application));
 
+    if (openMetrics) {
+      OpenMetricsFilter openMetricsFilter = new OpenMetricsFilter();
+      application.getServices().putIfAbsent(OpenMetricsFilter.class, openMetricsFilter);
+      application.setRouterOptions(RouterOption.QUEUE_TIME);
+      application.get(this.pattern + "/openmetrics", new OpenMetricsHandler(openMetricsFilter));
+      application.use(openMetricsFilter);
+    }
+
     ServiceRegistry registry = application.getServices();
 
     registry.putIfAbsent(MetricRegistry.class, metricRegistry);
     registry.putIfAbsent(HealthCheckRegistry.class, healthCheckRegistry);
 
     metrics.forEach(metricRegistry::register);
+    if (sessions) {
+      metricRegistry.register(
+          "session.count",
+          (Gauge<Long>)
+              () ->
+                  application.getSessionStore() instanceof SessionStore.Stats stats
+                      ? stats.getSessionCount()
+                      : 0L);
+      metricRegistry.register(
+          "session.evictions",
+          (Gauge<Long>)
+              () ->
+                  application.getSessionStore() instanceof SessionStore.Stats stats
+                      ? stats.getEvictionCount()
+                      : 0L);
+    }
     healthChecks.forEach(healthCheckRegistry::register);
 
     final Set<Reporter> reporters = new HashSet<>();
@@ -0,0 +1,99 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.metrics;
+
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import io.jooby.Context;
+import io.jooby.Route;
+import io.jooby.RouterOption;
+
+/**
+ * Record request latency histograms per route (method and pattern), in-flight requests per route,
+ * time spent waiting for a worker thread (see {@link RouterOption#QUEUE_TIME}) and handler
+ * execution time on event loop vs worker threads.
+ *
+ * <p>Values are recorded with atomic increments, there is no lock between request threads and
+ * {@link OpenMetricsHandler}. Metrics are exposed by {@link OpenMetricsHandler}:
+ *
+ * <pre>{@code
+ * OpenMetricsFilter metrics = new OpenMetricsFilter();
+ * use(metrics);
+ *
+ * get("/metrics", new OpenMetricsHandler(metrics));
+ * }</pre>
+ */
+public class OpenMetricsFilter implements Route.Filter {
+
+  /** Route metrics. */
+  static class RouteMetrics {
+    final String method;
+
+    final String pattern;
+
+    /** Exposition labels: method and route. */
+    final String labels;
+
+    final LatencyHistogram latency = new LatencyHistogram();
+
+    final LongAdder active = new LongAdder();
+
+    RouteMetrics(String method, String pattern) {
+      this.method = method;
+      this.pattern = pattern;
+      this.labels = OpenMetricsHandler.labels(method, pattern);
+    }
+  }
+
+  /** Route metrics, populated while routes are defined and read-only after application starts. */
+  private final Map<Route, RouteMetrics> routes = new IdentityHashMap<>();
+
+  final LatencyHistogram queue = new LatencyHistogram();
+
+  final LatencyHistogram eventLoop = new LatencyHistogram();
+
+  final LatencyHistogram worker = new LatencyHistogram();
+
+  @Override
+  public void setRoute(Route route) {
+    routes.put(route, new RouteMetrics(route.getMethod(), route.getPattern()));
+  }
+
+  @NonNull @Override
+  public Route.Handler apply(@NonNull Route.Handler next) {
+    return ctx -> {
+      long start = System.nanoTime();
+      Long queueTime = ctx.getAttribute(Context.QUEUE_TIME);
+      long queued = queueTime == null ? 0L : queueTime;
+      if (queueTime != null) {
+        queue.record(queued);
+      }
+      RouteMetrics metrics = routes.get(ctx.getRoute());
+      if (metrics != null) {
+        metrics.active.increment();
+        ctx.onComplete(
+            context -> {
+              metrics.active.decrement();
+              metrics.latency.record(queued + System.nanoTime() - start);
+            });
+      }
+      LatencyHistogram execution = ctx.isInIoThread() ? eventLoop : worker;
+      try {
+        return next.apply(ctx);
+      } finally {
+        execution.record(System.nanoTime() - start);
+      }
+    };
+  }
+
+  Collection<RouteMetrics> routes() {
+    return routes.values();
+  }
+}
@@ -0,0 +1,147 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.metrics;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import io.jooby.Context;
+import io.jooby.Route;
+
+/**
+ * Expose metrics collected by {@link OpenMetricsFilter} using the <a
+ * href="https://openmetrics.io">OpenMetrics</a> text format, or the Prometheus text format when
+ * client doesn't ask for <code>application/openmetrics-text</code>. Reported metrics:
+ *
+ * <ul>
+ *   <li><code>http_server_requests_seconds</code>: request latency histogram by method and route.
+ *   <li><code>http_server_active_requests</code>: in-flight requests by method and route.
+ *   <li><code>http_server_queue_seconds</code>: time waiting for a worker thread.
+ *   <li><code>http_server_execution_seconds</code>: handler execution time by thread (<code>
+ *       event_loop</code> or <code>worker</code>).
+ * </ul>
+ *
+ * Routes without requests are not reported.
+ */
+public class OpenMetricsHandler implements Route.Handler {
+
+  private static final String OPENMETRICS = "application/openmetrics-text";
+
+  private static final String OPENMETRICS_TYPE = OPENMETRICS + "; version=1.0.0; charset=utf-8";
+
+  private static final String TEXT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+  private final OpenMetricsFilter metrics;
+
+  /**
+   * Creates a new handler.
+   *
+   * @param metrics Metrics source.
+   */
+  public OpenMetricsHandler(@NonNull OpenMetricsFilter metrics) {
+    this.metrics = metrics;
+  }
+
+  @NonNull @Override
+  public Object apply(@NonNull Context ctx) {
+    boolean openMetrics = ctx.header(Context.ACCEPT).value("").contains(OPENMETRICS);
+    StringBuilder buffer = new StringBuilder(4096);
+    long[] counts = new long[LatencyHistogram.BUCKETS];
+
+    family(buffer, "http_server_requests_seconds", "histogram", "Request latency by route.");
+    for (OpenMetricsFilter.RouteMetrics route : metrics.routes()) {
+      histogram(buffer, "http_server_requests_seconds", route.labels, route.latency, counts);
+    }
+
+    family(buffer, "http_server_active_requests", "gauge", "In-flight requests by route.");
+    for (OpenMetricsFilter.RouteMetrics route : metrics.routes()) {
+      long active = route.active.sum();
+      if (active > 0) {
+        buffer
+            .append("http_server_active_requests{")
+            .append(route.labels)
+            .append("} ")
+            .append(active)
+            .append('\n');
+      }
+    }
+
+    family(buffer, "http_server_queue_seconds", "histogram", "Time waiting for a worker thread.");
+    histogram(buffer, "http_server_queue_seconds", "", metrics.queue, counts);
+
+    family(
+        buffer, "http_server_execution_seconds", "histogram", "Handler execution time by thread.");
+    histogram(
+        buffer,
+        "http_server_execution_seconds",
+        "thread=\"event_loop\"",
+        metrics.eventLoop,
+        counts);
+    histogram(buffer, "http_server_execution_seconds", "thread=\"worker\"", metrics.worker, counts);
+
+    if (openMetrics) {
+      buffer.append("# EOF\n");
+    }
+    ctx.setResponseHeader(MetricsModule.CACHE_HEADER_NAME, MetricsModule.CACHE_HEADER_VALUE);
+    ctx.setResponseType(openMetrics ? OPENMETRICS_TYPE : TEXT_TYPE);
+    return buffer.toString();
+  }
+
+  private static void family(StringBuilder buffer, String name, String type, String help) {
+    buffer.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    buffer.append("# HELP ").append(name).append(' ').append(help).append('\n');
+  }
+
+  private static void histogram(
+      StringBuilder buffer, String name, String labels, LatencyHistogram histogram, long[] counts) {
+    long count = histogram.counts(counts);
+    if (count == 0) {
+      return;
+    }
+    String prefix = labels.isEmpty() ? "{" : "{" + labels + ",";
+    long cumulative = 0;
+    for (int i = 0; i < counts.length; i++) {
+      cumulative += counts[i];
+      buffer
+          .append(name)
+          .append("_bucket")
+          .append(prefix)
+          .append("le=\"")
+          .append(LatencyHistogram.LE[i])
+          .append("\"} ")
+          .append(cumulative)
+          .append('\n');
+    }
+    String suffix = labels.isEmpty() ? " " : "{" + labels + "} ";
+    buffer.append(name).append("_count").append(suffix).append(cumulative).append('\n');
+    buffer.append(name).append("_sum").append(suffix).append(histogram.sum() / 1e9).append('\n');
+  }
+
+  static String labels(String method, String pattern) {
+    return "method=\"" + escape(method) + "\",route=\"" + escape(pattern) + "\"";
+  }
+
+  private static String escape(String value) {
+    StringBuilder buffer = null;
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      String replacement =
+          switch (c) {
+            case '\\' -> "\\\\";
+            case '"' -> "\\\"";
+            case '\n' -> "\\n";
+            default -> null;
+          };
+      if (replacement != null) {
+        if (buffer == null) {
+          buffer = new StringBuilder(value.length() + 8).append(value, 0, i);
+        }
+        buffer.append(replacement);
+      } else if (buffer != null) {
+        buffer.append(c);
+      }
+    }
+    return buffer == null ? value : buffer.toString();
+  }
+}
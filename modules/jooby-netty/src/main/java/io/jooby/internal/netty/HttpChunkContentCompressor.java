@@ -5,15 +5,74 @@
  */
 package io.jooby.internal.netty;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import io.jooby.ServerOptions;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelPromise;
+import io.netty.handler.codec.compression.Brotli;
+import io.netty.handler.codec.compression.CompressionOptions;
+import io.netty.handler.codec.compression.StandardCompressionOptions;
+import io.netty.handler.codec.compression.Zstd;
 import io.netty.handler.codec.http.DefaultHttpContent;
 import io.netty.handler.codec.http.HttpContentCompressor;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpResponse;
 
 class HttpChunkContentCompressor extends HttpContentCompressor {
-  public HttpChunkContentCompressor(int compressionLevel) {
-    super(compressionLevel < 0 ? 0 : compressionLevel);
+  /** Zlib defaults. */
+  private static final int WINDOW_BITS = 15;
+
+  private static final int MEM_LEVEL = 8;
+
+  private final ServerOptions options;
+
+  public HttpChunkContentCompressor(ServerOptions options, CompressionOptions[] compression) {
+    super(options.getCompressionMinSize(), compression);
+    this.options = options;
+  }
+
+  /**
+   * Compression options from server options. Brotli and Zstd are skipped when their native
+   * libraries are missing.
+   *
+   * @param options Server options.
+   * @return Compression options.
+   */
+  public static CompressionOptions[] compressionOptions(ServerOptions options) {
+    int level = Math.max(0, options.getCompressionLevel());
+    List<CompressionOptions> result = new ArrayList<>();
+    for (String encoding : options.getCompressionEncodings()) {
+      switch (encoding) {
+        case "br" -> {
+          if (Brotli.isAvailable()) {
+            result.add(StandardCompressionOptions.brotli());
+          }
+        }
+        case "zstd" -> {
+          if (Zstd.isAvailable()) {
+            result.add(StandardCompressionOptions.zstd());
+          }
+        }
+        case "gzip" -> result.add(StandardCompressionOptions.gzip(level, WINDOW_BITS, MEM_LEVEL));
+        case "deflate" -> result.add(
+            StandardCompressionOptions.deflate(level, WINDOW_BITS, MEM_LEVEL));
+        default -> {
+          // unsupported
+        }
+      }
+    }
+    return result.toArray(new CompressionOptions[0]);
+  }
+
+  @Override
+  protected Result beginEncode(HttpResponse response, String acceptEncoding) throws Exception {
+    if (!options.isCompressible(response.headers().get(HttpHeaderNames.CONTENT_TYPE))) {
+      return null;
+    }
+    return super.beginEncode(response, acceptEncoding);
   }
 
   @Override
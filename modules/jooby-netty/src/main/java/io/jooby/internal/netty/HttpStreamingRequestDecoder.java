@@ -0,0 +1,97 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal.netty;
+
+import static io.jooby.internal.netty.SlowPathChecks.isLastHttpContent;
+
+import java.util.Collections;
+import java.util.List;
+
+import io.jooby.StreamingMessageDecoder;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.multipart.HttpPostRequestDecoder;
+import io.netty.handler.codec.http.multipart.InterfaceHttpData;
+import io.netty.handler.codec.http.multipart.InterfaceHttpPostRequestDecoder;
+
+/**
+ * Feed body chunks to a {@link StreamingMessageDecoder.Parser} as they arrive. Nothing is kept, so
+ * the raw body is always empty.
+ */
+public class HttpStreamingRequestDecoder implements InterfaceHttpPostRequestDecoder {
+
+  private final StreamingMessageDecoder.Parser parser;
+
+  public HttpStreamingRequestDecoder(StreamingMessageDecoder.Parser parser) {
+    this.parser = parser;
+  }
+
+  @Override
+  public boolean isMultipart() {
+    return false;
+  }
+
+  @Override
+  public void setDiscardThreshold(int discardThreshold) {}
+
+  @Override
+  public int getDiscardThreshold() {
+    return 0;
+  }
+
+  @Override
+  public List<InterfaceHttpData> getBodyHttpDatas() {
+    return Collections.emptyList();
+  }
+
+  @Override
+  public List<InterfaceHttpData> getBodyHttpDatas(String name) {
+    return Collections.emptyList();
+  }
+
+  @Override
+  public InterfaceHttpData getBodyHttpData(String name) {
+    return null;
+  }
+
+  @Override
+  public InterfaceHttpPostRequestDecoder offer(HttpContent content) {
+    try {
+      if (content.content().isReadable()) {
+        parser.feed(content.content().nioBuffer());
+      }
+      if (isLastHttpContent(content)) {
+        parser.end();
+      }
+      return this;
+    } catch (Exception x) {
+      throw new HttpPostRequestDecoder.ErrorDataDecoderException(x);
+    }
+  }
+
+  @Override
+  public boolean hasNext() {
+    return false;
+  }
+
+  @Override
+  public InterfaceHttpData next() {
+    return null;
+  }
+
+  @Override
+  public InterfaceHttpData currentPartialHttpData() {
+    return null;
+  }
+
+  @Override
+  public void destroy() {}
+
+  @Override
+  public void cleanFiles() {}
+
+  @Override
+  public void removeHttpDataFromClean(InterfaceHttpData data) {}
+}
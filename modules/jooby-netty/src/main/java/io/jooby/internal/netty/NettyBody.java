@@ -10,7 +10,9 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
 import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.channels.ReadableByteChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
@@ -63,7 +65,29 @@ public class NettyBody implements Body {
 
   @Override
   public ReadableByteChannel channel() {
-    return Channels.newChannel(stream());
+    try {
+      if (data.isInMemory()) {
+        return Channels.newChannel(stream());
+      }
+      return FileChannel.open(data.getFile().toPath());
+    } catch (IOException x) {
+      throw SneakyThrows.propagate(x);
+    }
+  }
+
+  @NonNull @Override
+  public ByteBuffer buffer() {
+    try {
+      if (data.isInMemory()) {
+        return data.getByteBuf().nioBuffer().asReadOnlyBuffer();
+      }
+      // mapping is valid after channel is closed
+      try (FileChannel channel = FileChannel.open(data.getFile().toPath())) {
+        return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      }
+    } catch (IOException x) {
+      throw SneakyThrows.propagate(x);
+    }
   }
 
   @Override
@@ -19,7 +19,6 @@ import static io.netty.handler.codec.http.HttpVersion.HTTP_1_1;
 import static io.netty.handler.codec.http.LastHttpContent.EMPTY_LAST_CONTENT;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
-import static java.util.concurrent.TimeUnit.MINUTES;
 
 import java.io.FileInputStream;
 import java.io.IOException;
@@ -42,11 +41,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 
 import javax.net.ssl.SSLPeerUnverifiedException;
 
-import com.typesafe.config.Config;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
 import io.jooby.Body;
@@ -56,6 +55,7 @@ import io.jooby.Context;
 import io.jooby.Cookie;
 import io.jooby.DefaultContext;
 import io.jooby.FileUpload;
+import io.jooby.FileUploadListener;
 import io.jooby.Formdata;
 import io.jooby.MediaType;
 import io.jooby.QueryString;
@@ -72,7 +72,9 @@ import io.jooby.StatusCode;
 import io.jooby.Value;
 import io.jooby.ValueNode;
 import io.jooby.WebSocket;
+import io.jooby.WebSocketOptions;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufOutputStream;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
@@ -247,6 +249,12 @@ public class NettyContext implements DefaultContext, ChannelFutureListener {
     return this;
   }
 
+  @NonNull @Override
+  public Context schedule(@NonNull Runnable task, long delay, @NonNull TimeUnit unit) {
+    ctx.executor().schedule(task, delay, unit);
+    return this;
+  }
+
   @NonNull @Override
   public Context detach(@NonNull Route.Handler next) throws Exception {
     next.apply(this);
@@ -267,7 +275,11 @@ public class NettyContext implements DefaultContext, ChannelFutureListener {
   public Formdata form() {
     if (formdata == null) {
       formdata = Formdata.create(this);
-      decodeForm(formdata);
+      try {
+        decodeForm(formdata, null);
+      } catch (Exception x) {
+        throw SneakyThrows.propagate(x);
+      }
     }
     return formdata;
   }
@@ -410,18 +422,14 @@ public class NettyContext implements DefaultContext, ChannelFutureListener {
   public Context upgrade(WebSocket.Initializer handler) {
     try {
       responseStarted = true;
-      Config conf = getRouter().getConfig();
-      int maxSize =
-          conf.hasPath("websocket.maxSize")
-              ? conf.getBytes("websocket.maxSize").intValue()
-              : WebSocket.MAX_BUFFER_SIZE;
+      WebSocketOptions options = WebSocketOptions.from(getRouter());
       String webSocketURL = getProtocol() + "://" + req.headers().get(HttpHeaderNames.HOST) + path;
       WebSocketDecoderConfig config =
           WebSocketDecoderConfig.newBuilder()
               .allowExtensions(true)
               .allowMaskMismatch(false)
               .withUTF8Validator(false)
-              .maxFramePayloadLength(maxSize)
+              .maxFramePayloadLength(options.getMaxSize())
               .build();
       webSocket = new NettyWebSocket(this);
       handler.init(Context.readOnly(this), webSocket);
@@ -438,10 +446,7 @@ public class NettyContext implements DefaultContext, ChannelFutureListener {
       WebSocketServerHandshaker handshaker = factory.newHandshaker(webSocketRequest);
       handshaker.handshake(ctx.channel(), webSocketRequest);
       webSocket.fireConnect();
-      long timeout =
-          conf.hasPath("websocket.idleTimeout")
-              ? conf.getDuration("websocket.idleTimeout", MILLISECONDS)
-              : MINUTES.toMillis(5);
+      long timeout = options.getIdleTimeout().toMillis();
       if (timeout > 0) {
         IdleStateHandler idle = new IdleStateHandler(timeout, 0, 0, MILLISECONDS);
         ctx.pipeline().addBefore("handler", "idle", idle);
@@ -581,6 +586,20 @@ public class NettyContext implements DefaultContext, ChannelFutureListener {
     return newOutputStream();
   }
 
+  @NonNull @Override
+  public Context responseBuffer(@NonNull SneakyThrows.Consumer<OutputStream> consumer)
+      throws Exception {
+    // write straight into a pooled buffer, released by netty once the response is written
+    ByteBuf buffer = ctx.alloc().buffer(bufferSize);
+    try {
+      consumer.accept(new ByteBufOutputStream(buffer));
+    } catch (Throwable x) {
+      buffer.release();
+      throw x;
+    }
+    return send(buffer);
+  }
+
   @NonNull @Override
   public Context send(@NonNull String data) {
     return send(copiedBuffer(data, UTF_8));
@@ -888,8 +907,24 @@ public class NettyContext implements DefaultContext, ChannelFutureListener {
     return upload;
   }
 
-  private void decodeForm(Formdata form) {
-    if (decoder == null || decoder instanceof HttpRawPostRequestDecoder) {
+  /**
+   * Decode form parts read so far and notify file uploads to the listener. Decoded parts are added
+   * to the form, so they aren't decoded again once the body is complete.
+   *
+   * @param listener File upload listener.
+   * @throws Exception When the listener rejects an upload.
+   */
+  void decodeForm(FileUploadListener listener) throws Exception {
+    if (formdata == null) {
+      formdata = Formdata.create(this);
+    }
+    decodeForm(formdata, listener);
+  }
+
+  private void decodeForm(Formdata form, FileUploadListener listener) throws Exception {
+    if (decoder == null
+        || decoder instanceof HttpRawPostRequestDecoder
+        || decoder instanceof HttpStreamingRequestDecoder) {
       // empty/bad form
       return;
     }
@@ -897,20 +932,20 @@ public class NettyContext implements DefaultContext, ChannelFutureListener {
       while (decoder.hasNext()) {
         HttpData next = (HttpData) decoder.next();
         if (next.getHttpDataType() == InterfaceHttpData.HttpDataType.FileUpload) {
-          form.put(
-              next.getName(),
+          FileUpload upload =
               register(
                   new NettyFileUpload(
-                      router.getTmpdir(),
-                      (io.netty.handler.codec.http.multipart.FileUpload) next)));
+                      router.getTmpdir(), (io.netty.handler.codec.http.multipart.FileUpload) next));
+          form.put(next.getName(), upload);
+          if (listener != null) {
+            listener.onFileUpload(this, upload);
+          }
         } else {
           form.put(next.getName(), next.getString(UTF_8));
         }
       }
     } catch (HttpPostRequestDecoder.EndOfDataDecoderException x) {
       // ignore, silly netty
-    } catch (Exception x) {
-      throw SneakyThrows.propagate(x);
     }
   }
 
@@ -34,7 +34,7 @@ public class NettyFileUpload implements FileUpload {
   @Override
   public byte[] bytes() {
     try {
-      if (upload.isInMemory()) {
+      if (path == null && upload.isInMemory()) {
         return upload.get();
       }
       return Files.readAllBytes(path());
@@ -46,7 +46,7 @@ public class NettyFileUpload implements FileUpload {
   @Override
   public InputStream stream() {
     try {
-      if (upload.isInMemory()) {
+      if (path == null && upload.isInMemory()) {
         return new ByteBufInputStream(upload.content(), true);
       }
       return Files.newInputStream(path());
@@ -21,13 +21,16 @@ import java.util.concurrent.atomic.AtomicReference;
 
 import org.slf4j.Logger;
 
+import io.jooby.FileUploadListener;
 import io.jooby.MediaType;
 import io.jooby.Route;
 import io.jooby.Router;
 import io.jooby.Server;
 import io.jooby.SneakyThrows;
 import io.jooby.StatusCode;
+import io.jooby.StreamingMessageDecoder;
 import io.jooby.WebSocketCloseStatus;
+import io.jooby.exception.StatusCodeException;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.handler.codec.http.HttpContent;
@@ -64,6 +67,12 @@ public class NettyHandler extends ChannelInboundHandlerAdapter {
 
   private NettyContext context;
 
+  /** Route matched while looking for a body parser, reused once body is complete. */
+  private Router.Match match;
+
+  /** File upload listener of matched route, for multipart requests. */
+  private FileUploadListener listener;
+
   public NettyHandler(
       ScheduledExecutorService scheduler,
       Router router,
@@ -99,8 +108,10 @@ public class NettyHandler extends ChannelInboundHandlerAdapter {
       } else {
         // possibly body:
         contentLength = contentLength(req);
+        match = null;
+        listener = null;
         if (contentLength > 0 || isTransferEncodingChunked(req)) {
-          context.decoder = newDecoder(req, factory);
+          context.decoder = newDecoder(context, req, factory);
         } else {
           // no body, move on
           router.match(context).execute(context);
@@ -118,10 +129,18 @@ public class NettyHandler extends ChannelInboundHandlerAdapter {
             return;
           }
 
-          offer(context, chunk);
+          if (!offer(context, chunk)) {
+            // bad request, response was sent
+            return;
+          }
+
+          if (listener != null && !fileUploads(context)) {
+            // upload was rejected, response was sent
+            return;
+          }
 
           if (isLastHttpContent(msg)) {
-            Router.Match route = router.match(context);
+            Router.Match route = match == null ? router.match(context) : match;
             resetDecoderState(context, !route.matches());
             route.execute(context);
           }
@@ -187,18 +206,40 @@ public class NettyHandler extends ChannelInboundHandlerAdapter {
     }
   }
 
-  private void offer(NettyContext context, HttpContent chunk) {
+  private boolean offer(NettyContext context, HttpContent chunk) {
     try {
       context.decoder.offer(chunk);
+      return true;
     } catch (HttpPostRequestDecoder.ErrorDataDecoderException x) {
-      resetDecoderState(context, true);
-      context.sendError(x, StatusCode.BAD_REQUEST);
+      badRequest(context, x.getCause() instanceof StatusCodeException cause ? cause : x);
+      return false;
+    }
+  }
+
+  private boolean fileUploads(NettyContext context) {
+    try {
+      context.decodeForm(listener);
+      return true;
+    } catch (Exception x) {
+      badRequest(context, x);
+      return false;
+    }
+  }
+
+  private void badRequest(NettyContext context, Throwable cause) {
+    resetDecoderState(context, true);
+    if (cause instanceof StatusCodeException x) {
+      context.sendError(x, x.getStatusCode());
+    } else {
+      context.sendError(cause, StatusCode.BAD_REQUEST);
     }
   }
 
   private void resetDecoderState(NettyContext context, boolean destroy) {
     chunkSize = 0;
     contentLength = -1;
+    match = null;
+    listener = null;
     if (destroy && context.decoder != null) {
       var decoder = context.decoder;
       context.decoder = null;
@@ -206,20 +247,38 @@ public class NettyHandler extends ChannelInboundHandlerAdapter {
     }
   }
 
-  private static InterfaceHttpPostRequestDecoder newDecoder(
-      HttpRequest request, HttpDataFactory factory) {
+  private InterfaceHttpPostRequestDecoder newDecoder(
+      NettyContext context, HttpRequest request, HttpDataFactory factory) {
     String contentType = request.headers().get(HttpHeaderNames.CONTENT_TYPE);
     if (contentType != null) {
       String lowerContentType = contentType.toLowerCase();
       if (lowerContentType.startsWith(MediaType.MULTIPART_FORMDATA)) {
+        match = router.match(context);
+        listener = match.matches() ? match.route().getFileUploadListener() : null;
         return new HttpPostMultipartRequestDecoder(factory, request, StandardCharsets.UTF_8);
       } else if (lowerContentType.startsWith(MediaType.FORM_URLENCODED)) {
         return new HttpPostStandardRequestDecoder(factory, request, StandardCharsets.UTF_8);
       }
     }
+    StreamingMessageDecoder.Parser parser = parser(context);
+    if (parser != null) {
+      return new HttpStreamingRequestDecoder(parser);
+    }
     return new HttpRawPostRequestDecoder(factory, request);
   }
 
+  private StreamingMessageDecoder.Parser parser(NettyContext context) {
+    MediaType contentType = context.getRequestType();
+    if (contentType != null) {
+      match = router.match(context);
+      if (match.matches()
+          && match.route().decoder(contentType) instanceof StreamingMessageDecoder decoder) {
+        return decoder.parser(context);
+      }
+    }
+    return null;
+  }
+
   static String pathOnly(String uri) {
     int len = uri.indexOf('?');
     return len > 0 ? uri.substring(0, len) : uri;
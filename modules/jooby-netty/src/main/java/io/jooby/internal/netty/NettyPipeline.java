@@ -11,12 +11,14 @@ import static io.jooby.netty.NettyServer.VALIDATE_HEADERS;
 
 import java.util.function.Supplier;
 
+import io.jooby.ServerOptions;
 import io.jooby.internal.netty.http2.NettyHttp2Configurer;
 import io.netty.channel.ChannelInboundHandler;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOutboundHandler;
 import io.netty.channel.ChannelPipeline;
 import io.netty.channel.socket.SocketChannel;
+import io.netty.handler.codec.compression.CompressionOptions;
 import io.netty.handler.codec.http.HttpServerCodec;
 import io.netty.handler.codec.http.HttpServerExpectContinueHandler;
 import io.netty.handler.codec.http.HttpServerUpgradeHandler;
@@ -26,6 +28,8 @@ import io.netty.handler.ssl.SslContext;
 public class NettyPipeline extends ChannelInitializer<SocketChannel> {
   private static final String H2_HANDSHAKE = "h2-handshake";
   private Integer compressionLevel;
+  private ServerOptions options;
+  private CompressionOptions[] compression;
   private int bufferSize;
   private long maxRequestSize;
   private SslContext sslContext;
@@ -36,13 +40,17 @@ public class NettyPipeline extends ChannelInitializer<SocketChannel> {
   public NettyPipeline(
       Supplier<NettyHandler> handlerFactory,
       SslContext sslContext,
-      Integer compressionLevel,
+      ServerOptions options,
       int bufferSize,
       long maxRequestSize,
       boolean http2,
       boolean is100ContinueExpected) {
     this.sslContext = sslContext;
-    this.compressionLevel = compressionLevel;
+    this.options = options;
+    this.compressionLevel = options.getCompressionLevel();
+    if (compressionLevel != null) {
+      this.compression = HttpChunkContentCompressor.compressionOptions(options);
+    }
     this.bufferSize = bufferSize;
     this.maxRequestSize = maxRequestSize;
     this.is100ContinueExpected = is100ContinueExpected;
@@ -85,7 +93,10 @@ public class NettyPipeline extends ChannelInitializer<SocketChannel> {
 
   private void setupCompression(ChannelPipeline p) {
     if (compressionLevel != null) {
-      p.addLast("compressor", new HttpChunkContentCompressor(compressionLevel));
+      // an empty array makes netty fallback to its own defaults
+      if (compression.length > 0) {
+        p.addLast("compressor", new HttpChunkContentCompressor(options, compression));
+      }
       p.addLast("ws-compressor", new NettyWebSocketCompressor(compressionLevel));
     }
   }
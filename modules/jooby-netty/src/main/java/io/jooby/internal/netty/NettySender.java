@@ -5,6 +5,8 @@
  */
 package io.jooby.internal.netty;
 
+import java.nio.ByteBuffer;
+
 import edu.umd.cs.findbugs.annotations.NonNull;
 import io.jooby.Sender;
 import io.netty.buffer.Unpooled;
@@ -31,6 +33,14 @@ public class NettySender implements Sender {
     return this;
   }
 
+  @Override
+  public Sender write(@NonNull ByteBuffer data, @NonNull Callback callback) {
+    context
+        .writeAndFlush(new DefaultHttpContent(Unpooled.wrappedBuffer(data)))
+        .addListener(newChannelFutureListener(ctx, callback));
+    return this;
+  }
+
   @Override
   public void close() {
     context.writeAndFlush(LastHttpContent.EMPTY_LAST_CONTENT).addListener(ctx);
@@ -14,6 +14,7 @@ import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
@@ -25,6 +26,7 @@ import io.jooby.WebSocket;
 import io.jooby.WebSocketCloseStatus;
 import io.jooby.WebSocketConfigurer;
 import io.jooby.WebSocketMessage;
+import io.jooby.WebSocketOptions;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelFuture;
@@ -95,6 +97,7 @@ public class NettyWebSocket implements WebSocketConfigurer, WebSocket {
   private OnError onErrorCallback;
   private CountDownLatch ready = new CountDownLatch(1);
   private AtomicBoolean open = new AtomicBoolean(false);
+  private AtomicInteger pendingBroadcasts = new AtomicInteger();
 
   public NettyWebSocket(NettyContext ctx) {
     this.netty = ctx;
@@ -142,21 +145,83 @@ public class NettyWebSocket implements WebSocketConfigurer, WebSocket {
     return this;
   }
 
+  @NonNull @Override
+  public WebSocket broadcast(@NonNull Object value, @NonNull WriteCallback callback) {
+    return broadcastMessage(value, false, callback);
+  }
+
+  @NonNull @Override
+  public WebSocket broadcastBinary(@NonNull Object value, @NonNull WriteCallback callback) {
+    return broadcastMessage(value, true, callback);
+  }
+
+  private WebSocket broadcastMessage(Object value, boolean binary, WriteCallback callback) {
+    try {
+      Context sender = Context.websocket(netty, this, binary, callback);
+      byte[] bytes = sender.getRoute().getEncoder().encode(sender, value);
+      if (bytes == null) {
+        throw new IllegalArgumentException("Unable to broadcast: " + value.getClass().getName());
+      }
+      int maxPending = WebSocketOptions.from(netty.getRouter()).getMaxPendingBroadcasts();
+      // encoded once, each session writes a retained duplicate
+      ByteBuf message = Unpooled.wrappedBuffer(bytes);
+      try {
+        for (NettyWebSocket ws : all.getOrDefault(key, Collections.emptyList())) {
+          if (ws.isOpen()) {
+            ws.broadcastMessage(message, binary, maxPending, callback);
+          }
+        }
+      } finally {
+        message.release();
+      }
+    } catch (Throwable x) {
+      handleError(x);
+    }
+    return this;
+  }
+
+  private void broadcastMessage(
+      ByteBuf message, boolean binary, int maxPending, WriteCallback callback) {
+    if (!isOpen()) {
+      callback.operationComplete(
+          this, new IllegalStateException("Attempt to send a message on closed web socket"));
+    } else if (!netty.ctx.channel().isWritable() || pendingBroadcasts.get() >= maxPending) {
+      netty
+          .getRouter()
+          .getLog()
+          .debug("WebSocket {} is a slow consumer, message dropped", netty.getRequestPath());
+      callback.operationComplete(
+          this, new IllegalStateException("Slow consumer, broadcast message dropped"));
+    } else {
+      pendingBroadcasts.incrementAndGet();
+      // no second open check: a channel closed in between fails the write, which releases the
+      // duplicate and completes the callback
+      writeMessage(
+          message.retainedDuplicate(),
+          binary,
+          (ws, cause) -> {
+            pendingBroadcasts.decrementAndGet();
+            callback.operationComplete(ws, cause);
+          });
+    }
+  }
+
   private WebSocket sendMessage(ByteBuf buffer, boolean binary, WriteCallback callback) {
     if (isOpen()) {
-      WebSocketFrame frame =
-          binary ? new BinaryWebSocketFrame(buffer) : new TextWebSocketFrame(buffer);
-      netty
-          .ctx
-          .channel()
-          .writeAndFlush(frame)
-          .addListener(new WriteCallbackAdaptor(this, callback));
+      writeMessage(buffer, binary, callback);
     } else {
+      buffer.release();
       handleError(new IllegalStateException("Attempt to send a message on closed web socket"));
     }
     return this;
   }
 
+  private void writeMessage(ByteBuf buffer, boolean binary, WriteCallback callback) {
+    WebSocketFrame frame =
+        binary ? new BinaryWebSocketFrame(buffer) : new TextWebSocketFrame(buffer);
+    netty.ctx.channel().writeAndFlush(frame).addListener(new WriteCallbackAdaptor(this, callback));
+  }
+
   @Override
   public Context getContext() {
     return Context.readOnly(netty);
@@ -108,6 +108,9 @@ public class NettyServer extends Server.Base {
       addShutdownHook();
 
       /** Worker: Application blocking code */
+      if (worker == null) {
+        worker = newVirtualWorker(options);
+      }
       if (worker == null) {
         worker =
             Executors.newFixedThreadPool(
@@ -129,7 +132,7 @@ public class NettyServer extends Server.Base {
       this.eventloop = transport.createEventLoop(options.getIoThreads(), "eventloop", _100);
 
       /** File data factory: */
-      HttpDataFactory factory = new DefaultHttpDataFactory(options.getBufferSize());
+      HttpDataFactory factory = new DefaultHttpDataFactory(options.getFileSizeThreshold());
 
       boolean http2 = options.isHttp2() == Boolean.TRUE;
       /** Bootstrap: */
@@ -194,7 +197,7 @@ public class NettyServer extends Server.Base {
     return new NettyPipeline(
         () -> createHandler(executor, router, options, factory, http2),
         sslContext,
-        options.getCompressionLevel(),
+        options,
         options.getBufferSize(),
         options.getMaxRequestSize(),
         http2,
@@ -37,8 +37,14 @@ class PebbleTemplateEngine implements TemplateEngine {
 
   @Override
   public String render(Context ctx, ModelAndView modelAndView) throws Exception {
-    PebbleTemplate template = engine.getTemplate(modelAndView.getView());
     Writer writer = new StringWriter();
+    render(ctx, modelAndView, writer);
+    return writer.toString();
+  }
+
+  @Override
+  public void render(Context ctx, ModelAndView modelAndView, Writer writer) throws Exception {
+    PebbleTemplate template = engine.getTemplate(modelAndView.getView());
     Map<String, Object> model = new HashMap<>(ctx.getAttributes());
     model.putAll(modelAndView.getModel());
     Locale locale = modelAndView.getLocale();
@@ -46,6 +52,5 @@ class PebbleTemplateEngine implements TemplateEngine {
       locale = ctx.locale();
     }
     template.evaluate(writer, model, locale);
-    return writer.toString();
   }
 }
@@ -8,10 +8,15 @@ package io.jooby.redis;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.pool2.impl.GenericObjectPool;
 import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
@@ -25,29 +30,133 @@ import io.jooby.Session;
 import io.jooby.SessionStore;
 import io.jooby.SessionToken;
 import io.jooby.SneakyThrows;
+import io.lettuce.core.LettuceFutures;
 import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.ScriptOutputType;
 import io.lettuce.core.api.StatefulRedisConnection;
 import io.lettuce.core.api.async.RedisAsyncCommands;
-import io.lettuce.core.api.sync.RedisCommands;
 import io.lettuce.core.support.ConnectionPoolSupport;
 
 /**
  * Redis session store.
  *
+ * <p>Sessions are saved as Redis hashes. Attribute changes are tracked per session, so only
+ * modified attributes are written (<code>HSET</code>/<code>HDEL</code>). Looking up a session
+ * refreshes its time to live and last accessed time. Sessions might be cached in memory for a short
+ * period of time, see {@link #setCacheTimeout(Duration)}.
+ *
  * @author edgar
  * @since 2.8.5
  */
 public class RedisSessionStore implements SessionStore {
 
+  /**
+   * Attributes to write and attributes to delete.
+   *
+   * @param changes Attributes to write (<code>HSET</code>).
+   * @param removed Attributes to delete (<code>HDEL</code>).
+   */
+  record Delta(Map<String, String> changes, Set<String> removed) {}
+
+  /** Session attributes that keep track of modified keys. */
+  static class Attributes extends ConcurrentHashMap<String, String> {
+    private final Set<String> dirty = ConcurrentHashMap.newKeySet();
+
+    Attributes(Map<String, String> attributes) {
+      // skip tracking of initial values
+      super.putAll(attributes);
+    }
+
+    @Override
+    public String put(@NonNull String key, @NonNull String value) {
+      dirty.add(key);
+      return super.put(key, value);
+    }
+
+    @Override
+    public void putAll(Map<? extends String, ? extends String> map) {
+      map.forEach(this::put);
+    }
+
+    @Override
+    public String remove(@NonNull Object key) {
+      String value = super.remove(key);
+      if (value != null) {
+        dirty.add((String) key);
+      }
+      return value;
+    }
+
+    @Override
+    public void clear() {
+      dirty.addAll(keySet());
+      super.clear();
+    }
+
+    /**
+     * Modified attributes since last call. Resets tracking.
+     *
+     * @return Modified attributes or <code>null</code> when nothing changed.
+     */
+    Delta delta() {
+      if (dirty.isEmpty()) {
+        return null;
+      }
+      Map<String, String> changes = new HashMap<>();
+      Set<String> removed = new HashSet<>();
+      for (String key : dirty) {
+        dirty.remove(key);
+        String value = get(key);
+        if (value == null) {
+          removed.add(key);
+        } else {
+          changes.put(key, value);
+        }
+      }
+      return new Delta(changes, removed);
+    }
+  }
+
+  /** Session cached in memory. */
+  private record CachedSession(
+      Map<String, String> attributes,
+      Instant creationTime,
+      Instant lastAccessedTime,
+      long expiresAt) {
+    boolean isExpired() {
+      return System.nanoTime() - expiresAt >= 0;
+    }
+  }
+
   private static final String LAST_ACCESSED_AT = "__accessed_at";
   private static final String CREATED_AT = "__created_at";
 
+  /**
+   * Update an existing session, never recreate it. <code>ARGV</code>: time to live in millis (or
+   * <code>0</code>), number of attributes to delete, attributes to delete, attributes to write as
+   * field/value pairs.
+   */
+  private static final String UPDATE_SCRIPT =
+      "if redis.call('exists', KEYS[1]) == 0 then return 0 end\n"
+          + "local removed = tonumber(ARGV[2])\n"
+          + "if removed > 0 then redis.call('hdel', KEYS[1], unpack(ARGV, 3, removed + 2)) end\n"
+          + "redis.call('hset', KEYS[1], unpack(ARGV, removed + 3))\n"
+          + "local ttl = tonumber(ARGV[1])\n"
+          + "if ttl > 0 then redis.call('pexpire', KEYS[1], ttl) end\n"
+          + "return 1";
+
+  /** Max number of sessions to cache in memory. */
+  private static final int MAX_CACHE_SIZE = 10_000;
+
   private Logger log = LoggerFactory.getLogger(getClass());
 
   private SessionToken token = SessionToken.cookieId(SessionToken.SID);
   private String namespace = "sessions";
   private Duration timeout = Duration.ofMinutes(DEFAULT_TIMEOUT);
   private GenericObjectPool<StatefulRedisConnection<String, String>> pool;
+  private Duration cacheTimeout;
+  private final Map<String, CachedSession> cache = new ConcurrentHashMap<>();
 
   /**
    * Creates a new session store.
@@ -120,6 +229,34 @@ public class RedisSessionStore implements SessionStore {
     return this;
   }
 
+  /**
+   * In-memory cache timeout.
+   *
+   * @return In-memory cache timeout or <code>null</code> when cache is disabled (default).
+   */
+  public @Nullable Duration getCacheTimeout() {
+    return cacheTimeout;
+  }
+
+  /**
+   * Keep sessions found in Redis in memory for the given time. Lookups of a cached session don't
+   * hit Redis, so time to live and last accessed time are refreshed at most once per cache timeout.
+   * Sessions saved or deleted by this store are updated/removed from cache, but changes made by
+   * other application instances are not visible until the cached session expires, so keep it short
+   * (a few seconds) when running more than one instance.
+   *
+   * @param cacheTimeout Cache timeout must be positive value. Otherwise, cache is disabled.
+   * @return This store.
+   */
+  public @NonNull RedisSessionStore setCacheTimeout(@Nullable Duration cacheTimeout) {
+    this.cacheTimeout =
+        Optional.ofNullable(cacheTimeout).filter(t -> t.toMillis() > 0).orElse(null);
+    if (this.cacheTimeout == null) {
+      cache.clear();
+    }
+    return this;
+  }
+
   /**
    * Session token.
    *
@@ -151,11 +288,18 @@ public class RedisSessionStore implements SessionStore {
     data.put(LAST_ACCESSED_AT, isoNow);
     data.put(CREATED_AT, isoNow);
 
-    saveSession(sessionId, data);
+    withConnection(
+        connection -> {
+          RedisAsyncCommands<String, String> commands = connection.async();
+          String redisId = key(sessionId);
+          commands.hset(redisId, data);
+          expire(commands, redisId);
+          return null;
+        });
 
     token.saveToken(ctx, sessionId);
 
-    return Session.create(ctx, sessionId, new ConcurrentHashMap<>())
+    return Session.create(ctx, sessionId, new Attributes(Map.of()))
         .setLastAccessedTime(now)
         .setCreationTime(now);
   }
@@ -166,32 +310,58 @@ public class RedisSessionStore implements SessionStore {
     if (sessionId == null) {
       return null;
     }
-    return withConnection(
-        connection -> {
-          RedisCommands<String, String> commands = connection.sync();
-          String redisId = key(sessionId);
-          Map<String, String> data = commands.hgetall(redisId);
-          if (data == null || data.isEmpty()) {
-            return null;
-          }
-          Optional.ofNullable(timeout)
-              .map(Duration::getSeconds)
-              .ifPresent(seconds -> commands.expire(redisId, seconds));
-          Instant lastAccessedTime = Instant.parse(data.remove(LAST_ACCESSED_AT));
-          Instant createdAt = Instant.parse(data.remove(CREATED_AT));
+    CachedSession cached = cacheTimeout == null ? null : cache.get(sessionId);
+    if (cached != null && cached.isExpired()) {
+      cache.remove(sessionId, cached);
+      cached = null;
+    }
+    if (cached == null) {
+      cached =
+          withConnection(
+              connection -> {
+                RedisAsyncCommands<String, String> commands = connection.async();
+                String redisId = key(sessionId);
+                // pipelined: hgetall + expire, single round-trip
+                RedisFuture<Map<String, String>> future = commands.hgetall(redisId);
+                expire(commands, redisId);
+                Map<String, String> data =
+                    LettuceFutures.awaitOrCancel(
+                        future, connection.getTimeout().toNanos(), TimeUnit.NANOSECONDS);
+                if (data == null || data.isEmpty()) {
+                  return null;
+                }
+                data.remove(LAST_ACCESSED_AT);
+                String createdAt = data.remove(CREATED_AT);
+                if (createdAt == null) {
+                  // partial hash, not a session
+                  return null;
+                }
+                Instant now = Instant.now();
+                Map<String, String> changes = new HashMap<>();
+                changes.put(LAST_ACCESSED_AT, DateTimeFormatter.ISO_INSTANT.format(now));
+                changes.put(CREATED_AT, createdAt);
+                CachedSession result = cache(sessionId, data, Instant.parse(createdAt), now);
+                // don't wait for this one
+                update(commands, sessionId, changes, Set.of());
+                return result;
+              });
+      if (cached == null) {
+        return null;
+      }
+    }
 
-          token.saveToken(ctx, sessionId);
+    token.saveToken(ctx, sessionId);
 
-          return Session.create(ctx, sessionId, new ConcurrentHashMap<>(data))
-              .setCreationTime(createdAt)
-              .setLastAccessedTime(lastAccessedTime);
-        });
+    return Session.create(ctx, sessionId, new Attributes(cached.attributes))
+        .setCreationTime(cached.creationTime)
+        .setLastAccessedTime(cached.lastAccessedTime);
   }
 
   @Override
   public void deleteSession(@NonNull Context ctx, @NonNull Session session) {
     String sessionId = session.getId();
 
+    cache.remove(sessionId);
     withConnection(connection -> connection.async().del(key(sessionId)));
 
     token.deleteToken(ctx, sessionId);
@@ -206,48 +376,126 @@ public class RedisSessionStore implements SessionStore {
 
   @Override
   public void saveSession(@NonNull Context ctx, @NonNull Session session) {
-    saveSession(session.getId(), new HashMap<>(session.toMap()));
-  }
+    String sessionId = session.getId();
+    Map<String, String> attributes = session.toMap();
+    Delta delta;
+    if (attributes instanceof Attributes tracked) {
+      delta = tracked.delta();
+      if (delta == null) {
+        // nothing to save, time to live and last accessed time were refreshed on lookup
+        return;
+      }
+    } else {
+      // not created by us, write everything
+      delta = null;
+    }
+    Instant now = Instant.now();
+    Map<String, String> changes = new HashMap<>(delta == null ? attributes : delta.changes());
+    changes.put(LAST_ACCESSED_AT, DateTimeFormatter.ISO_INSTANT.format(now));
+    changes.put(CREATED_AT, DateTimeFormatter.ISO_INSTANT.format(session.getCreationTime()));
 
-  @Override
-  public void renewSessionId(@NonNull Context ctx, @NonNull Session session) {}
+    // cache before writing, so a failed write is able to invalidate it
+    if (cacheTimeout != null) {
+      cache(sessionId, attributes, session.getCreationTime(), now);
+    }
 
-  private void saveSession(String sessionId, Map<String, String> data) {
     withConnection(
         connection -> {
-          Instant now = Instant.now();
-          String isoNow = DateTimeFormatter.ISO_INSTANT.format(now);
+          RedisAsyncCommands<String, String> commands = connection.async();
+          if (delta == null) {
+            String redisId = key(sessionId);
+            // start transaction
+            commands.multi();
+            // delete existing
+            commands.del(redisId);
+            // save again
+            commands.hset(redisId, changes);
+            expire(commands, redisId);
+            commands.exec().whenComplete((value, cause) -> onSave(sessionId, cause));
+          } else {
+            update(commands, sessionId, changes, delta.removed());
+          }
+          return null;
+        });
+  }
 
-          data.put(LAST_ACCESSED_AT, isoNow);
-          data.put(CREATED_AT, isoNow);
+  @Override
+  public void renewSessionId(@NonNull Context ctx, @NonNull Session session) {}
 
-          RedisAsyncCommands<String, String> commands = connection.async();
-          String redisId = key(sessionId);
-          // start transaction
-          commands.multi();
-          // delete existing
-          commands.del(redisId);
-          // save again
-          commands.hset(redisId, data);
-          // commit
-          return commands
-              .exec()
-              .handle(
-                  (value, cause) -> {
-                    if (cause != null) {
-                      log.error("unable to create session: {}", sessionId, cause);
-                      return sessionId;
-                    } else {
-                      Optional.ofNullable(timeout)
-                          .map(Duration::getSeconds)
-                          .ifPresent(seconds -> commands.expire(redisId, seconds));
-                      return value;
-                    }
-                  });
+  /**
+   * Write changes to an existing session. Sessions deleted or expired in the meantime are not
+   * recreated.
+   */
+  private void update(
+      RedisAsyncCommands<String, String> commands,
+      String sessionId,
+      Map<String, String> changes,
+      Set<String> removed) {
+    List<String> args = new ArrayList<>(2 + removed.size() + changes.size() * 2);
+    Duration timeout = this.timeout;
+    args.add(Long.toString(timeout == null ? 0 : timeout.toMillis()));
+    args.add(Integer.toString(removed.size()));
+    args.addAll(removed);
+    changes.forEach(
+        (key, value) -> {
+          args.add(key);
+          args.add(value);
+        });
+    RedisFuture<Long> future =
+        commands.eval(
+            UPDATE_SCRIPT,
+            ScriptOutputType.INTEGER,
+            new String[] {key(sessionId)},
+            args.toArray(new String[0]));
+    future.whenComplete(
+        (value, cause) -> {
+          if (cause == null && (value == null || value == 0)) {
+            log.debug("session is gone: {}", sessionId);
+            cache.remove(sessionId);
+          } else {
+            onSave(sessionId, cause);
+          }
         });
   }
 
-  private <T> T withConnection(SneakyThrows.Function<StatefulRedisConnection, T> callback) {
+  private void onSave(String sessionId, Throwable cause) {
+    if (cause != null) {
+      cache.remove(sessionId);
+      log.error("unable to save session: {}", sessionId, cause);
+    }
+  }
+
+  private void expire(RedisAsyncCommands<String, String> commands, String redisId) {
+    Duration timeout = this.timeout;
+    if (timeout != null) {
+      commands.pexpire(redisId, timeout.toMillis());
+    }
+  }
+
+  private CachedSession cache(
+      String sessionId,
+      Map<String, String> attributes,
+      Instant creationTime,
+      Instant lastAccessedTime) {
+    CachedSession cached =
+        new CachedSession(
+            Map.copyOf(attributes),
+            creationTime,
+            lastAccessedTime,
+            System.nanoTime() + (cacheTimeout == null ? 0 : cacheTimeout.toNanos()));
+    if (cacheTimeout != null) {
+      if (cache.size() >= MAX_CACHE_SIZE) {
+        cache.values().removeIf(CachedSession::isExpired);
+      }
+      if (cache.size() < MAX_CACHE_SIZE || cache.containsKey(sessionId)) {
+        cache.put(sessionId, cached);
+      }
+    }
+    return cached;
+  }
+
+  private <T> T withConnection(
+      SneakyThrows.Function<StatefulRedisConnection<String, String>, T> callback) {
     try (StatefulRedisConnection<String, String> connection = pool.borrowObject()) {
       return callback.apply(connection);
     } catch (Exception cause) {
@@ -0,0 +1,247 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.redis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.apache.commons.pool2.impl.GenericObjectPool;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.jooby.Context;
+import io.jooby.Router;
+import io.jooby.Session;
+import io.jooby.SessionToken;
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.ScriptOutputType;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.async.RedisAsyncCommands;
+
+public class RedisSessionStoreTest {
+
+  private static class Done<T> extends CompletableFuture<T> implements RedisFuture<T> {
+    static <T> Done<T> of(T value) {
+      Done<T> future = new Done<>();
+      future.complete(value);
+      return future;
+    }
+
+    static <T> Done<T> failed(Throwable cause) {
+      Done<T> future = new Done<>();
+      future.completeExceptionally(cause);
+      return future;
+    }
+
+    @Override
+    public String getError() {
+      return null;
+    }
+
+    @Override
+    public boolean await(long timeout, TimeUnit unit) {
+      return true;
+    }
+  }
+
+  private static class Token implements SessionToken {
+    private String token = "sid";
+
+    @Override
+    public String findToken(Context ctx) {
+      return token;
+    }
+
+    @Override
+    public void saveToken(Context ctx, String token) {
+      this.token = token;
+    }
+
+    @Override
+    public void deleteToken(Context ctx, String token) {
+      this.token = null;
+    }
+  }
+
+  private Map<String, String> hash;
+
+  private Supplier<RedisFuture<Long>> eval;
+
+  private List<List<String>> updates;
+
+  private RedisAsyncCommands<String, String> commands;
+
+  private RedisSessionStore store;
+
+  private Context ctx;
+
+  @BeforeEach
+  public void setup() throws Exception {
+    hash = new HashMap<>();
+    hash.put("__created_at", "2023-01-01T00:00:00Z");
+    hash.put("__accessed_at", "2023-01-01T00:00:00Z");
+    hash.put("foo", "bar");
+    eval = () -> Done.of(1L);
+    updates = new CopyOnWriteArrayList<>();
+
+    commands = mock(RedisAsyncCommands.class);
+    when(commands.hgetall(anyString())).thenAnswer(invocation -> Done.of(new HashMap<>(hash)));
+    when(commands.pexpire(anyString(), anyLong())).thenReturn(Done.of(true));
+    when(commands.del(any())).thenReturn(Done.of(1L));
+    when(commands.eval(
+            anyString(), any(ScriptOutputType.class), any(String[].class), any(String[].class)))
+        .thenAnswer(
+            invocation -> {
+              updates.add(Arrays.asList((String[]) invocation.getRawArguments()[3]));
+              return eval.get();
+            });
+
+    StatefulRedisConnection<String, String> connection = mock(StatefulRedisConnection.class);
+    when(connection.async()).thenReturn(commands);
+    when(connection.getTimeout()).thenReturn(Duration.ofSeconds(1));
+
+    GenericObjectPool<StatefulRedisConnection<String, String>> pool = mock(GenericObjectPool.class);
+    when(pool.borrowObject()).thenReturn(connection);
+
+    store =
+        new RedisSessionStore(pool).setToken(new Token()).setCacheTimeout(Duration.ofMinutes(1));
+
+    Router router = mock(Router.class);
+    when(router.getSessionStore()).thenReturn(store);
+    ctx = mock(Context.class);
+    when(ctx.getRouter()).thenReturn(router);
+  }
+
+  @Test
+  public void shouldTrackModifiedAttributes() {
+    RedisSessionStore.Attributes attributes =
+        new RedisSessionStore.Attributes(Map.of("a", "1", "b", "2", "c", "3"));
+    assertNull(attributes.delta());
+
+    attributes.put("a", "x");
+    attributes.remove("b");
+    attributes.remove("missing");
+    attributes.putAll(Map.of("d", "4"));
+
+    RedisSessionStore.Delta delta = attributes.delta();
+    assertEquals(Map.of("a", "x", "d", "4"), delta.changes());
+    assertEquals(Set.of("b"), delta.removed());
+    assertNull(attributes.delta());
+
+    attributes.clear();
+    delta = attributes.delta();
+    assertEquals(Map.of(), delta.changes());
+    assertEquals(Set.of("a", "c", "d"), delta.removed());
+  }
+
+  @Test
+  public void shouldWriteChangesOnly() {
+    Session session = store.findSession(ctx);
+    updates.clear();
+
+    session.put("foo", "baz");
+    session.remove("foo");
+
+    assertEquals(2, updates.size());
+    List<String> put = updates.get(0);
+    // ttl, no deleted attributes, then field/value pairs
+    assertEquals(List.of("1800000", "0"), put.subList(0, 2));
+    assertEquals("baz", value(put, "foo"));
+    assertEquals("2023-01-01T00:00:00Z", value(put, "__created_at"));
+    assertNotNull(value(put, "__accessed_at"));
+
+    List<String> remove = updates.get(1);
+    assertEquals(List.of("1800000", "1", "foo"), remove.subList(0, 3));
+    assertNull(value(remove, "foo"));
+    assertEquals("2023-01-01T00:00:00Z", value(remove, "__created_at"));
+  }
+
+  @Test
+  public void shouldCacheLookup() {
+    assertEquals("bar", store.findSession(ctx).get("foo").value());
+    assertEquals("bar", store.findSession(ctx).get("foo").value());
+    verify(commands, times(1)).hgetall("sessions:sid");
+  }
+
+  @Test
+  public void shouldUpdateCacheOnSave() {
+    store.findSession(ctx).put("foo", "baz");
+
+    assertEquals("baz", store.findSession(ctx).get("foo").value());
+    verify(commands, times(1)).hgetall("sessions:sid");
+  }
+
+  @Test
+  public void shouldInvalidateCacheWhenSessionIsGone() {
+    Session session = store.findSession(ctx);
+    eval = () -> Done.of(0L);
+    session.put("foo", "baz");
+
+    hash.clear();
+    assertNull(store.findSession(ctx));
+    verify(commands, times(2)).hgetall("sessions:sid");
+  }
+
+  @Test
+  public void shouldInvalidateCacheOnFailedSave() {
+    Session session = store.findSession(ctx);
+    eval = () -> Done.failed(new IllegalStateException("save failed"));
+    session.put("foo", "baz");
+
+    assertEquals("bar", store.findSession(ctx).get("foo").value());
+    verify(commands, times(2)).hgetall("sessions:sid");
+  }
+
+  @Test
+  public void shouldInvalidateCacheOnDelete() {
+    Session session = store.findSession(ctx);
+    store.deleteSession(ctx, session);
+    verify(commands).del("sessions:sid");
+
+    store.setToken(new Token());
+    hash.clear();
+    assertNull(store.findSession(ctx));
+    verify(commands, times(2)).hgetall("sessions:sid");
+  }
+
+  @Test
+  public void shouldIgnorePartialSession() {
+    hash.remove("__created_at");
+
+    assertNull(store.findSession(ctx));
+    assertTrue(updates.isEmpty());
+  }
+
+  private static String value(List<String> args, String key) {
+    // field/value pairs start after ttl, deleted count and deleted attributes
+    for (int i = 2 + Integer.parseInt(args.get(1)); i + 1 < args.size(); i += 2) {
+      if (args.get(i).equals(key)) {
+        return args.get(i + 1);
+      }
+    }
+    return null;
+  }
+}
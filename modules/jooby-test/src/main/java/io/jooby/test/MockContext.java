@@ -26,6 +26,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -459,6 +460,13 @@ public class MockContext implements DefaultContext {
     return this;
   }
 
+  @NonNull @Override
+  public MockContext schedule(@NonNull Runnable task, long delay, @NonNull TimeUnit unit) {
+    // no timer: run it right away
+    task.run();
+    return this;
+  }
+
   @NonNull @Override
   public MockContext detach(@NonNull Route.Handler next) throws Exception {
     next.apply(this);
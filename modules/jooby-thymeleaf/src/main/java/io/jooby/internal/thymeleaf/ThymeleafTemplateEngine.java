@@ -5,6 +5,7 @@
  */
 package io.jooby.internal.thymeleaf;
 
+import java.io.Writer;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -34,6 +35,15 @@ public class ThymeleafTemplateEngine implements io.jooby.TemplateEngine {
 
   @Override
   public String render(io.jooby.Context ctx, ModelAndView modelAndView) {
+    return templateEngine.process(templateName(modelAndView), context(ctx, modelAndView));
+  }
+
+  @Override
+  public void render(io.jooby.Context ctx, ModelAndView modelAndView, Writer writer) {
+    templateEngine.process(templateName(modelAndView), context(ctx, modelAndView), writer);
+  }
+
+  private static Context context(io.jooby.Context ctx, ModelAndView modelAndView) {
     Map<String, Object> model = new HashMap<>(ctx.getAttributes());
     model.putAll(modelAndView.getModel());
 
@@ -43,11 +53,14 @@ public class ThymeleafTemplateEngine implements io.jooby.TemplateEngine {
       locale = ctx.locale();
     }
 
-    Context context = new Context(locale, model);
+    return new Context(locale, model);
+  }
+
+  private static String templateName(ModelAndView modelAndView) {
     String templateName = modelAndView.getView();
     if (!templateName.startsWith("/")) {
       templateName = "/" + templateName;
     }
-    return templateEngine.process(templateName, context);
+    return templateName;
   }
 }
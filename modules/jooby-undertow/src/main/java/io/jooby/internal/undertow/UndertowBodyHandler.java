@@ -19,6 +19,9 @@ import java.util.List;
 import io.jooby.Body;
 import io.jooby.Route;
 import io.jooby.Router;
+import io.jooby.StatusCode;
+import io.jooby.StreamingMessageDecoder;
+import io.jooby.exception.StatusCodeException;
 import io.undertow.io.Receiver;
 import io.undertow.server.ExchangeCompletionListener;
 import io.undertow.server.HttpServerExchange;
@@ -37,17 +40,27 @@ public class UndertowBodyHandler
   private Path file;
   private FileChannel channel;
   private long position;
+  private StreamingMessageDecoder.Parser parser;
 
   public UndertowBodyHandler(
-      Router.Match route, UndertowContext context, int bufferSize, long maxRequestSize) {
+      Router.Match route,
+      UndertowContext context,
+      int bufferSize,
+      long maxRequestSize,
+      StreamingMessageDecoder.Parser parser) {
     this.route = route;
     this.context = context;
     this.bufferSize = bufferSize;
     this.maxRequestSize = maxRequestSize;
+    this.parser = parser;
   }
 
   @Override
   public void handle(HttpServerExchange exchange, byte[] bytes) {
+    if (parser != null) {
+      parse(bytes, true);
+      return;
+    }
     context.body = Body.of(context, bytes);
     route.execute(context);
   }
@@ -65,6 +78,10 @@ public class UndertowBodyHandler
 
   @Override
   public void handle(HttpServerExchange exchange, byte[] chunk, boolean last) {
+    if (parser != null) {
+      parse(chunk, last);
+      return;
+    }
     try {
       if (chunk.length > 0) {
         chunkSize += chunk.length;
@@ -124,6 +141,35 @@ public class UndertowBodyHandler
     }
   }
 
+  private void parse(byte[] chunk, boolean last) {
+    if (route == null) {
+      // request was rejected, ignore remaining chunks
+      return;
+    }
+    try {
+      if (chunk.length > 0) {
+        chunkSize += chunk.length;
+        if (chunkSize > maxRequestSize) {
+          Router.Match route = this.route;
+          this.route = null;
+          route.execute(context, Route.REQUEST_ENTITY_TOO_LARGE);
+          return;
+        }
+        parser.feed(ByteBuffer.wrap(chunk));
+      }
+      if (last) {
+        parser.end();
+        route.execute(context);
+      }
+    } catch (StatusCodeException x) {
+      route = null;
+      context.sendError(x, x.getStatusCode());
+    } catch (Exception x) {
+      route = null;
+      context.sendError(x, StatusCode.BAD_REQUEST);
+    }
+  }
+
   private void closeChannel() {
     if (channel != null) {
       try {
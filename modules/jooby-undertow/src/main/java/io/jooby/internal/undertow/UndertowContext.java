@@ -34,6 +34,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
 import javax.net.ssl.SSLPeerUnverifiedException;
 
@@ -315,6 +316,12 @@ public class UndertowContext implements DefaultContext, IoCallback {
     return this;
   }
 
+  @NonNull @Override
+  public Context schedule(@NonNull Runnable task, long delay, @NonNull TimeUnit unit) {
+    exchange.getIoThread().executeAfter(task, delay, unit);
+    return this;
+  }
+
   @NonNull @Override
   public Context detach(@NonNull Route.Handler next) throws Exception {
     exchange.dispatch(
@@ -628,7 +635,7 @@ public class UndertowContext implements DefaultContext, IoCallback {
         Deque<FormData.FormValue> values = data.get(path);
         for (FormData.FormValue value : values) {
           if (value.isFileItem()) {
-            ((Formdata) form).put(path, new UndertowFileUpload(path, value));
+            ((Formdata) form).put(path, new UndertowFileUpload(router.getTmpdir(), path, value));
           } else {
             form.put(path, value.getValue());
           }
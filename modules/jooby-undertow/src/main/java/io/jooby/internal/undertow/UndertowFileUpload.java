@@ -8,6 +8,7 @@ package io.jooby.internal.undertow;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
@@ -19,10 +20,13 @@ import io.undertow.util.Headers;
 
 public class UndertowFileUpload implements FileUpload {
 
+  private final Path basedir;
   private final FormData.FormValue upload;
   private final String name;
+  private Path path;
 
-  public UndertowFileUpload(String name, FormData.FormValue upload) {
+  public UndertowFileUpload(Path basedir, String name, FormData.FormValue upload) {
+    this.basedir = basedir;
     this.name = name;
     this.upload = upload;
   }
@@ -68,7 +72,20 @@ public class UndertowFileUpload implements FileUpload {
 
   @Override
   public Path path() {
-    return upload.getFileItem().getFile();
+    FormData.FileItem item = upload.getFileItem();
+    if (!item.isInMemory()) {
+      return item.getFile();
+    }
+    try {
+      // small upload, kept in memory: save it on first access
+      if (path == null) {
+        path = Files.createTempFile(basedir, "undertow", "upload");
+        item.write(path);
+      }
+      return path;
+    } catch (IOException x) {
+      throw SneakyThrows.propagate(x);
+    }
   }
 
   @Override
@@ -84,6 +101,9 @@ public class UndertowFileUpload implements FileUpload {
   public void close() {
     try {
       upload.getFileItem().delete();
+      if (path != null) {
+        Files.deleteIfExists(path);
+      }
     } catch (IOException x) {
       throw SneakyThrows.propagate(x);
     }
@@ -8,9 +8,12 @@ package io.jooby.internal.undertow;
 import java.nio.charset.StandardCharsets;
 
 import io.jooby.Context;
+import io.jooby.FileUploadListener;
+import io.jooby.MediaType;
 import io.jooby.Route;
 import io.jooby.Router;
 import io.jooby.StatusCode;
+import io.jooby.StreamingMessageDecoder;
 import io.undertow.io.Receiver;
 import io.undertow.server.HttpHandler;
 import io.undertow.server.HttpServerExchange;
@@ -26,13 +29,31 @@ public class UndertowHandler implements HttpHandler {
   private final long maxRequestSize;
   private final int bufferSize;
   private final boolean defaultHeaders;
+  private final long fileSizeThreshold;
+  private final FormParserFactory formParserFactory;
 
   public UndertowHandler(
-      Router router, int bufferSize, long maxRequestSize, boolean defaultHeaders) {
+      Router router,
+      int bufferSize,
+      long maxRequestSize,
+      long fileSizeThreshold,
+      boolean defaultHeaders) {
     this.router = router;
     this.maxRequestSize = maxRequestSize;
     this.bufferSize = bufferSize;
     this.defaultHeaders = defaultHeaders;
+    this.fileSizeThreshold = fileSizeThreshold;
+    /** Parser definitions are stateless, a new parser is created per request: */
+    MultiPartParserDefinition multipart =
+        new MultiPartParserDefinition(router.getTmpdir())
+            .setDefaultEncoding(StandardCharsets.UTF_8.name());
+    multipart.setFileSizeThreshold(fileSizeThreshold);
+    this.formParserFactory =
+        FormParserFactory.builder(false)
+            .addParser(multipart)
+            .addParser(
+                new FormEncodedDataDefinition().setDefaultEncoding(StandardCharsets.UTF_8.name()))
+            .build();
   }
 
   @Override
@@ -65,23 +86,20 @@ public class UndertowHandler implements HttpHandler {
           return;
         }
 
+        /** Streaming multipart: */
+        if (isMultipart(context) && fileUploads(exchange, context)) {
+          return;
+        }
+
         /** Eager body parsing: */
-        FormDataParser parser =
-            FormParserFactory.builder(false)
-                .addParser(
-                    new MultiPartParserDefinition(router.getTmpdir())
-                        .setDefaultEncoding(StandardCharsets.UTF_8.name()))
-                .addParser(
-                    new FormEncodedDataDefinition()
-                        .setDefaultEncoding(StandardCharsets.UTF_8.name()))
-                .build()
-                .createParser(exchange);
+        FormDataParser parser = formParserFactory.createParser(exchange);
         if (parser == null) {
           // Read raw body
           Receiver receiver = exchange.getRequestReceiver();
           Router.Match route = router.match(context);
+          StreamingMessageDecoder.Parser bodyParser = parser(route, context);
           UndertowBodyHandler reader =
-              new UndertowBodyHandler(route, context, bufferSize, maxRequestSize);
+              new UndertowBodyHandler(route, context, bufferSize, maxRequestSize, bodyParser);
           if (len > 0 && len <= bufferSize) {
             receiver.receiveFullBytes(reader);
           } else {
@@ -101,6 +119,44 @@ public class UndertowHandler implements HttpHandler {
     }
   }
 
+  /**
+   * Hand file uploads to the route listener as they arrive.
+   *
+   * @return True when the body is read by the streaming parser.
+   */
+  private boolean fileUploads(HttpServerExchange exchange, UndertowContext context) {
+    Router.Match route = router.match(context);
+    FileUploadListener listener = route.matches() ? route.route().getFileUploadListener() : null;
+    if (listener == null) {
+      return false;
+    }
+    UndertowMultipartParser parser =
+        UndertowMultipartParser.create(context, listener, fileSizeThreshold);
+    if (parser == null) {
+      return false;
+    }
+    exchange
+        .getRequestReceiver()
+        .receivePartialBytes(
+            new UndertowBodyHandler(route, context, bufferSize, maxRequestSize, parser));
+    return true;
+  }
+
+  private static boolean isMultipart(Context ctx) {
+    MediaType contentType = ctx.getRequestType();
+    return contentType != null && contentType.getValue().equals(MediaType.MULTIPART_FORMDATA);
+  }
+
+  private static StreamingMessageDecoder.Parser parser(Router.Match route, Context ctx) {
+    MediaType contentType = ctx.getRequestType();
+    if (contentType != null
+        && route.matches()
+        && route.route().decoder(contentType) instanceof StreamingMessageDecoder decoder) {
+      return decoder.parser(ctx);
+    }
+    return null;
+  }
+
   private static long parseLen(String value) {
     try {
       return value == null ? -1 : Long.parseLong(value);
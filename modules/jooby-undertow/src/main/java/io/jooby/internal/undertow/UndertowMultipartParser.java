@@ -0,0 +1,236 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal.undertow;
+
+import static io.undertow.server.handlers.form.FormDataParser.FORM_DATA;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import io.jooby.FileUploadListener;
+import io.jooby.SneakyThrows;
+import io.jooby.StreamingMessageDecoder;
+import io.undertow.server.ExchangeCompletionListener;
+import io.undertow.server.HttpServerExchange;
+import io.undertow.server.handlers.form.FormData;
+import io.undertow.util.HeaderMap;
+import io.undertow.util.Headers;
+import io.undertow.util.MultipartParser;
+
+/**
+ * Multipart parser fed from request body chunks. File uploads are handed to a {@link
+ * FileUploadListener} as soon as each part is complete. Files up to <code>fileSizeThreshold</code>
+ * are kept in memory, larger files are written to the application tmpdir as they arrive.
+ *
+ * <p>Parsed parts are attached as {@link io.undertow.server.handlers.form.FormDataParser#FORM_DATA}
+ * once the body is complete, like the default (fully read) multipart parser does.
+ */
+public class UndertowMultipartParser
+    implements StreamingMessageDecoder.Parser,
+        MultipartParser.PartHandler,
+        ExchangeCompletionListener {
+
+  private static final int MAX_PARAMETERS = 1000;
+
+  private final UndertowContext context;
+
+  private final FileUploadListener listener;
+
+  private final long fileSizeThreshold;
+
+  private final MultipartParser.ParseState state;
+
+  private final FormData data = new FormData(MAX_PARAMETERS);
+
+  private final List<Path> files = new ArrayList<>();
+
+  private final List<UndertowFileUpload> uploads = new ArrayList<>();
+
+  /* Current part: */
+  private HeaderMap headers;
+
+  private String name;
+
+  private String fileName;
+
+  private ByteArrayOutputStream bytes;
+
+  private Path file;
+
+  private FileChannel channel;
+
+  private UndertowMultipartParser(
+      UndertowContext context,
+      String boundary,
+      FileUploadListener listener,
+      long fileSizeThreshold) {
+    this.context = context;
+    this.listener = listener;
+    this.fileSizeThreshold = fileSizeThreshold;
+    HttpServerExchange exchange = context.exchange;
+    this.state =
+        MultipartParser.beginParse(
+            exchange.getConnection().getByteBufferPool(),
+            this,
+            boundary.getBytes(StandardCharsets.US_ASCII),
+            StandardCharsets.UTF_8.name());
+    exchange.addExchangeCompleteListener(this);
+  }
+
+  /**
+   * Creates a multipart parser or <code>null</code> when the request has no multipart boundary.
+   *
+   * @param context Web context.
+   * @param listener File upload listener.
+   * @param fileSizeThreshold File uploads up to this size are kept in memory.
+   * @return Multipart parser or <code>null</code>.
+   */
+  public static UndertowMultipartParser create(
+      UndertowContext context, FileUploadListener listener, long fileSizeThreshold) {
+    String contentType = context.exchange.getRequestHeaders().getFirst(Headers.CONTENT_TYPE);
+    String boundary =
+        contentType == null ? null : Headers.extractQuotedValueFromHeader(contentType, "boundary");
+    if (boundary == null) {
+      return null;
+    }
+    return new UndertowMultipartParser(context, boundary, listener, fileSizeThreshold);
+  }
+
+  @Override
+  public void feed(@NonNull ByteBuffer chunk) throws Exception {
+    state.parse(chunk);
+  }
+
+  @Override
+  public void end() throws Exception {
+    if (!state.isComplete()) {
+      throw new IOException("Incomplete multipart body");
+    }
+    context.exchange.putAttachment(FORM_DATA, data);
+  }
+
+  @Override
+  public void beginPart(HeaderMap headers) {
+    this.headers = headers;
+    this.bytes = new ByteArrayOutputStream();
+    String disposition = headers.getFirst(Headers.CONTENT_DISPOSITION);
+    if (disposition != null && disposition.startsWith("form-data")) {
+      name = Headers.extractQuotedValueFromHeader(disposition, "name");
+      fileName = Headers.extractQuotedValueFromHeaderWithEncoding(disposition, "filename");
+    } else {
+      name = null;
+      fileName = null;
+    }
+  }
+
+  @Override
+  public void data(ByteBuffer buffer) throws IOException {
+    if (name == null) {
+      // not a form field
+      return;
+    }
+    if (fileName != null
+        && channel == null
+        && bytes.size() + buffer.remaining() > fileSizeThreshold) {
+      // overflow
+      file = Files.createTempFile(context.getRouter().getTmpdir(), "undertow", "upload");
+      files.add(file);
+      channel = FileChannel.open(file, WRITE);
+      channel.write(ByteBuffer.wrap(bytes.toByteArray()));
+      bytes = null;
+    }
+    if (channel != null) {
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+    } else {
+      byte[] chunk = new byte[buffer.remaining()];
+      buffer.get(chunk);
+      bytes.write(chunk);
+    }
+  }
+
+  @Override
+  public void endPart() {
+    if (name == null) {
+      return;
+    }
+    try {
+      if (fileName == null) {
+        String charset = charset(headers.getFirst(Headers.CONTENT_TYPE));
+        data.add(name, bytes.toString(charset), charset, headers);
+      } else {
+        if (channel == null) {
+          data.add(name, bytes.toByteArray(), fileName, headers);
+        } else {
+          channel.close();
+          channel = null;
+          data.add(name, file, fileName, headers);
+        }
+        UndertowFileUpload upload =
+            new UndertowFileUpload(context.getRouter().getTmpdir(), name, data.getLast(name));
+        uploads.add(upload);
+        listener.onFileUpload(context, upload);
+      }
+    } catch (Exception x) {
+      // rejected by listener: abort parsing
+      throw SneakyThrows.propagate(x);
+    } finally {
+      bytes = null;
+      file = null;
+    }
+  }
+
+  @Override
+  public void exchangeEvent(HttpServerExchange exchange, NextListener next) {
+    try {
+      if (channel != null) {
+        closeChannel();
+      }
+      for (UndertowFileUpload upload : uploads) {
+        try {
+          upload.close();
+        } catch (Exception x) {
+          context.getRouter().getLog().debug("file upload destroy resulted in exception", x);
+        }
+      }
+      for (Path file : files) {
+        try {
+          Files.deleteIfExists(file);
+        } catch (IOException x) {
+          context.getRouter().getLog().debug("file upload destroy resulted in exception", x);
+        }
+      }
+    } finally {
+      next.proceed();
+    }
+  }
+
+  private void closeChannel() {
+    try {
+      channel.close();
+    } catch (IOException x) {
+      // close didn't succeed
+    } finally {
+      channel = null;
+    }
+  }
+
+  private static String charset(String contentType) {
+    String charset =
+        contentType == null ? null : Headers.extractQuotedValueFromHeader(contentType, "charset");
+    return charset == null ? StandardCharsets.UTF_8.name() : charset;
+  }
+}
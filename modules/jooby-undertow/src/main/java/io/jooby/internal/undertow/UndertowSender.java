@@ -28,6 +28,12 @@ public class UndertowSender implements Sender {
     return this;
   }
 
+  @Override
+  public Sender write(@NonNull ByteBuffer data, @NonNull Callback callback) {
+    exchange.getResponseSender().send(data, newIoCallback(ctx, callback));
+    return this;
+  }
+
   @Override
   public void close() {
     ctx.destroy(null);
@@ -17,14 +17,13 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.xnio.IoUtils;
 import org.xnio.Pooled;
 
-import com.typesafe.config.Config;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import io.jooby.Context;
 import io.jooby.Server;
@@ -33,6 +32,7 @@ import io.jooby.WebSocket;
 import io.jooby.WebSocketCloseStatus;
 import io.jooby.WebSocketConfigurer;
 import io.jooby.WebSocketMessage;
+import io.jooby.WebSocketOptions;
 import io.undertow.websockets.core.AbstractReceiveListener;
 import io.undertow.websockets.core.BufferedBinaryMessage;
 import io.undertow.websockets.core.BufferedTextMessage;
@@ -100,7 +100,8 @@ public class UndertowWebSocket extends AbstractReceiveListener
   private String key;
   private CountDownLatch ready = new CountDownLatch(1);
   private AtomicBoolean open = new AtomicBoolean(false);
-  private int maxSize;
+  private AtomicInteger pendingBroadcasts = new AtomicInteger();
+  private final WebSocketOptions options;
 
   public UndertowWebSocket(UndertowContext ctx, WebSocketChannel channel) {
     this.ctx = ctx;
@@ -108,21 +109,17 @@ public class UndertowWebSocket extends AbstractReceiveListener
     this.dispatch = !ctx.isInIoThread();
     this.key = ctx.getRoute().getPattern();
 
-    Config conf = ctx.getRouter().getConfig();
-    maxSize =
-        conf.hasPath("websocket.maxSize")
-            ? conf.getBytes("websocket.maxSize").intValue()
-            : WebSocket.MAX_BUFFER_SIZE;
+    this.options = WebSocketOptions.from(ctx.getRouter());
   }
 
   @Override
   protected long getMaxTextBufferSize() {
-    return maxSize;
+    return options.getMaxSize();
   }
 
   @Override
   protected long getMaxBinaryBufferSize() {
-    return maxSize;
+    return options.getMaxSize();
   }
 
   @NonNull @Override
@@ -179,14 +176,67 @@ public class UndertowWebSocket extends AbstractReceiveListener
     return sendMessage(ByteBuffer.wrap(message), true, callback);
   }
 
+  @NonNull @Override
+  public WebSocket broadcast(@NonNull Object value, @NonNull WriteCallback callback) {
+    return broadcastMessage(value, false, callback);
+  }
+
+  @NonNull @Override
+  public WebSocket broadcastBinary(@NonNull Object value, @NonNull WriteCallback callback) {
+    return broadcastMessage(value, true, callback);
+  }
+
+  private WebSocket broadcastMessage(Object value, boolean binary, WriteCallback callback) {
+    try {
+      Context sender = Context.websocket(ctx, this, binary, callback);
+      byte[] bytes = sender.getRoute().getEncoder().encode(sender, value);
+      if (bytes == null) {
+        throw new IllegalArgumentException("Unable to broadcast: " + value.getClass().getName());
+      }
+      int maxPending = options.getMaxPendingBroadcasts();
+      // encoded once, each session writes a duplicate
+      ByteBuffer message = ByteBuffer.wrap(bytes);
+      for (UndertowWebSocket ws : all.getOrDefault(key, Collections.emptyList())) {
+        if (ws.isOpen()) {
+          ws.broadcastMessage(message, binary, maxPending, callback);
+        }
+      }
+    } catch (Throwable x) {
+      onError(channel, x);
+    }
+    return this;
+  }
+
+  private void broadcastMessage(
+      ByteBuffer message, boolean binary, int maxPending, WriteCallback callback) {
+    if (!isOpen()) {
+      callback.operationComplete(
+          this, new IllegalStateException("Attempt to send a message on closed web socket"));
+    } else if (pendingBroadcasts.get() >= maxPending) {
+      ctx.getRouter()
+          .getLog()
+          .debug("WebSocket {} is a slow consumer, message dropped", ctx.getRequestPath());
+      callback.operationComplete(
+          this, new IllegalStateException("Slow consumer, broadcast message dropped"));
+    } else {
+      pendingBroadcasts.incrementAndGet();
+      WriteCallback done =
+          (ws, cause) -> {
+            pendingBroadcasts.decrementAndGet();
+            callback.operationComplete(ws, cause);
+          };
+      try {
+        writeMessage(message.duplicate(), binary, done);
+      } catch (Throwable x) {
+        done.operationComplete(this, x);
+      }
+    }
+  }
+
   private WebSocket sendMessage(ByteBuffer buffer, boolean binary, WriteCallback callback) {
     if (isOpen()) {
       try {
-        if (binary) {
-          WebSockets.sendBinary(buffer, channel, new WriteCallbackAdaptor(this, callback));
-        } else {
-          WebSockets.sendText(buffer, channel, new WriteCallbackAdaptor(this, callback));
-        }
+        writeMessage(buffer, binary, callback);
       } catch (Throwable x) {
         onError(channel, x);
       }
@@ -196,6 +246,14 @@ public class UndertowWebSocket extends AbstractReceiveListener
     return this;
   }
 
+  private void writeMessage(ByteBuffer buffer, boolean binary, WriteCallback callback) {
+    if (binary) {
+      WebSockets.sendBinary(buffer, channel, new WriteCallbackAdaptor(this, callback));
+    } else {
+      WebSockets.sendText(buffer, channel, new WriteCallbackAdaptor(this, callback));
+    }
+  }
+
   @NonNull @Override
   public WebSocket render(@NonNull Object value, @NonNull WriteCallback callback) {
     return renderMessage(value, false, callback);
@@ -250,11 +308,7 @@ public class UndertowWebSocket extends AbstractReceiveListener
     try {
       open.set(true);
       addSession(this);
-      Config conf = ctx.getRouter().getConfig();
-      long timeout =
-          conf.hasPath("websocket.idleTimeout")
-              ? conf.getDuration("websocket.idleTimeout", TimeUnit.MILLISECONDS)
-              : TimeUnit.MINUTES.toMillis(5);
+      long timeout = options.getIdleTimeout().toMillis();
       if (timeout > 0) {
         channel.setIdleTimeout(timeout);
       }
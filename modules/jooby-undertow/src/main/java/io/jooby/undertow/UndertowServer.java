@@ -12,6 +12,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
 
 import javax.net.ssl.SSLContext;
 
@@ -30,12 +31,15 @@ import io.jooby.internal.undertow.UndertowHandler;
 import io.jooby.internal.undertow.UndertowWebSocket;
 import io.undertow.Undertow;
 import io.undertow.UndertowOptions;
+import io.undertow.predicate.Predicate;
 import io.undertow.server.HttpHandler;
 import io.undertow.server.handlers.HttpContinueReadHandler;
 import io.undertow.server.handlers.encoding.ContentEncodingRepository;
 import io.undertow.server.handlers.encoding.DeflateEncodingProvider;
 import io.undertow.server.handlers.encoding.EncodingHandler;
 import io.undertow.server.handlers.encoding.GzipEncodingProvider;
+import io.undertow.util.HeaderMap;
+import io.undertow.util.Headers;
 
 /**
  * Web server implementation using <a href="http://undertow.io/">Undertow</a>.
@@ -53,6 +57,8 @@ public class UndertowServer extends Server.Base {
 
   private Undertow server;
 
+  private ExecutorService virtualWorker;
+
   private List<Jooby> applications = new ArrayList<>();
 
   private ServerOptions options =
@@ -86,17 +92,23 @@ public class UndertowServer extends Server.Base {
               applications.get(0),
               options.getBufferSize(),
               options.getMaxRequestSize(),
+              options.getFileSizeThreshold(),
               options.getDefaultHeaders());
 
       if (options.getCompressionLevel() != null) {
         int compressionLevel = options.getCompressionLevel();
-        handler =
-            new EncodingHandler(
-                handler,
-                new ContentEncodingRepository()
-                    .addEncodingHandler("gzip", new GzipEncodingProvider(compressionLevel), _100)
-                    .addEncodingHandler(
-                        "deflate", new DeflateEncodingProvider(compressionLevel), _10));
+        Predicate compressible = compressible(options);
+        ContentEncodingRepository encodings = new ContentEncodingRepository();
+        List<String> supported = options.getCompressionEncodings();
+        if (supported.contains("gzip")) {
+          encodings.addEncodingHandler(
+              "gzip", new GzipEncodingProvider(compressionLevel), _100, compressible);
+        }
+        if (supported.contains("deflate")) {
+          encodings.addEncodingHandler(
+              "deflate", new DeflateEncodingProvider(compressionLevel), _10, compressible);
+        }
+        handler = new EncodingHandler(handler, encodings);
       }
 
       if (options.isExpectContinue() == Boolean.TRUE) {
@@ -145,7 +157,8 @@ public class UndertowServer extends Server.Base {
       server = builder.build();
       server.start();
       // NOT IDEAL, but we need to fire onStart after server.start to get access to Worker
-      fireStart(applications, server.getWorker());
+      virtualWorker = newVirtualWorker(options);
+      fireStart(applications, virtualWorker == null ? server.getWorker() : virtualWorker);
 
       fireReady(Collections.singletonList(application));
 
@@ -165,6 +178,25 @@ public class UndertowServer extends Server.Base {
     return List.of("org.xnio", "io.undertow", "org.jboss.threads");
   }
 
+  /**
+   * Compress responses of compressible media types and at least the min size. Predicate runs once
+   * response headers are set. Responses of unknown length are compressed.
+   *
+   * @param options Server options.
+   * @return Compression predicate.
+   */
+  private static Predicate compressible(ServerOptions options) {
+    long minSize = options.getCompressionMinSize();
+    return exchange -> {
+      HeaderMap headers = exchange.getResponseHeaders();
+      if (!options.isCompressible(headers.getFirst(Headers.CONTENT_TYPE))) {
+        return false;
+      }
+      String contentLength = headers.getFirst(Headers.CONTENT_LENGTH);
+      return contentLength == null || Long.parseLong(contentLength) >= minSize;
+    };
+  }
+
   private SslClientAuthMode toSslClientAuthMode(SslOptions.ClientAuth clientAuth) {
     switch (clientAuth) {
       case REQUESTED:
@@ -192,6 +224,10 @@ public class UndertowServer extends Server.Base {
   }
 
   private void shutdownServer() {
+    if (virtualWorker != null) {
+      virtualWorker.shutdown();
+      virtualWorker = null;
+    }
     if (server != null) {
       try {
         server.stop();
@@ -5,12 +5,19 @@
  */
 package io.jooby.internal.utow;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 
 import org.junit.jupiter.api.Test;
 
@@ -19,6 +26,8 @@ import io.undertow.server.handlers.form.FormData;
 
 public class UtowFileUploadTest {
 
+  private static final Path TMPDIR = Paths.get(System.getProperty("java.io.tmpdir"));
+
   @Test
   public void shouldGetFileSize() throws IOException {
     long fileSize = 678;
@@ -29,7 +38,7 @@ public class UtowFileUploadTest {
     FormData.FormValue upload = mock(FormData.FormValue.class);
     when(upload.getFileItem()).thenReturn(fileItem);
 
-    assertEquals(fileSize, new UndertowFileUpload("file", upload).getFileSize());
+    assertEquals(fileSize, new UndertowFileUpload(TMPDIR, "file", upload).getFileSize());
   }
 
   @Test
@@ -42,6 +51,27 @@ public class UtowFileUploadTest {
     FormData.FormValue upload = mock(FormData.FormValue.class);
     when(upload.getFileItem()).thenReturn(fileItem);
 
-    assertEquals(fileSize, new UndertowFileUpload("file", upload).getFileSize());
+    assertEquals(fileSize, new UndertowFileUpload(TMPDIR, "file", upload).getFileSize());
+  }
+
+  @Test
+  public void shouldSaveInMemoryUploadOnPathAccess() throws IOException {
+    byte[] content = "small upload".getBytes(StandardCharsets.UTF_8);
+    FormData.FileItem fileItem = new FormData.FileItem(content);
+
+    FormData.FormValue upload = mock(FormData.FormValue.class);
+    when(upload.getFileItem()).thenReturn(fileItem);
+
+    UndertowFileUpload fileUpload = new UndertowFileUpload(TMPDIR, "file", upload);
+    assertArrayEquals(content, fileUpload.bytes());
+
+    Path path = fileUpload.path();
+    assertEquals(TMPDIR, path.getParent());
+    assertArrayEquals(content, Files.readAllBytes(path));
+    assertEquals(path, fileUpload.path());
+
+    fileUpload.close();
+    assertFalse(Files.exists(path));
+    assertTrue(fileItem.isInMemory());
   }
 }
@@ -10,6 +10,7 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.lang.reflect.Type;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
@@ -20,8 +21,8 @@ import io.jooby.Extension;
 import io.jooby.Jooby;
 import io.jooby.MediaType;
 import io.jooby.MessageDecoder;
-import io.jooby.MessageEncoder;
 import io.jooby.ServiceRegistry;
+import io.jooby.StreamingMessageEncoder;
 import jakarta.json.bind.Jsonb;
 import jakarta.json.bind.JsonbBuilder;
 
@@ -65,7 +66,7 @@ import jakarta.json.bind.JsonbBuilder;
  *
  * Complete documentation is available at: https://jooby.io/modules/jsonb.
  */
-public class YassonModule implements Extension, MessageDecoder, MessageEncoder {
+public class YassonModule implements Extension, MessageDecoder, StreamingMessageEncoder {
 
   private final Jsonb jsonb;
 
@@ -106,4 +107,11 @@ public class YassonModule implements Extension, MessageDecoder, MessageEncoder {
     ctx.setDefaultResponseType(MediaType.json);
     return jsonb.toJson(value).getBytes(UTF_8);
   }
+
+  @Override
+  public void encode(
+      @NonNull final Context ctx, @NonNull final Object value, @NonNull OutputStream output) {
+    ctx.setDefaultResponseType(MediaType.json);
+    jsonb.toJson(value, output);
+  }
 }
@@ -25,6 +25,7 @@ import java.io.Reader;
 import java.io.StringReader;
 import java.io.Writer;
 import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
@@ -48,16 +49,23 @@ import java.util.Scanner;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 import java.util.zip.GZIPInputStream;
 
 import org.apache.commons.io.IOUtils;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
 
 import com.google.common.base.Splitter;
+import com.typesafe.config.ConfigFactory;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import io.jooby.AttachedFile;
 import io.jooby.Context;
@@ -79,6 +87,7 @@ import io.jooby.ServiceKey;
 import io.jooby.ServiceRegistry;
 import io.jooby.SneakyThrows;
 import io.jooby.StatusCode;
+import io.jooby.exception.StatusCodeException;
 import io.jooby.handlebars.HandlebarsModule;
 import io.jooby.handler.AccessLogHandler;
 import io.jooby.handler.AssetHandler;
@@ -87,6 +96,8 @@ import io.jooby.handler.CacheControl;
 import io.jooby.handler.CorsHandler;
 import io.jooby.handler.CsrfHandler;
 import io.jooby.handler.HeadHandler;
+import io.jooby.handler.RateLimitHandler;
+import io.jooby.handler.RateLimiter;
 import io.jooby.handler.TraceHandler;
 import io.jooby.handler.WebVariables;
 import io.jooby.jackson.JacksonModule;
@@ -455,6 +466,72 @@ public class FeaturedTest {
             });
   }
 
+  @ServerTest
+  public void gzipMinSizeAndMediaTypes(ServerTestRunner runner) {
+    String text = "Praesent blandit, justo a luctus elementum. ".repeat(20);
+    runner
+        .define(
+            app -> {
+              app.setServerOptions(
+                  new ServerOptions()
+                      .setCompressionLevel(ServerOptions.DEFAULT_COMPRESSION_LEVEL)
+                      .setCompressionMinSize(64));
+              app.get("/small", ctx -> "small response");
+              app.get(
+                  "/png",
+                  ctx -> ctx.setResponseType(io.jooby.MediaType.valueOf("image/png")).send(text));
+              app.get("/json", ctx -> ctx.setResponseType(io.jooby.MediaType.json).send(text));
+            })
+        .ready(
+            client -> {
+              client.header("Accept-Encoding", "gzip");
+              client.get(
+                  "/small",
+                  rsp -> {
+                    assertEquals(null, rsp.header("content-encoding"));
+                    assertEquals("small response", rsp.body().string());
+                  });
+              client.header("Accept-Encoding", "gzip");
+              client.get(
+                  "/png",
+                  rsp -> {
+                    assertEquals(null, rsp.header("content-encoding"));
+                    assertEquals(text, rsp.body().string());
+                  });
+              client.header("Accept-Encoding", "gzip");
+              client.get(
+                  "/json",
+                  rsp -> {
+                    assertEquals("gzip", rsp.header("content-encoding"));
+                    assertEquals(text.trim(), ungzip(rsp.body().bytes()).trim());
+                  });
+            });
+  }
+
+  @ServerTest
+  public void gzipUnsupportedEncodings(ServerTestRunner runner) {
+    String text = "Praesent blandit, justo a luctus elementum. ".repeat(20);
+    runner
+        .define(
+            app -> {
+              app.setServerOptions(
+                  new ServerOptions()
+                      .setCompressionLevel(ServerOptions.DEFAULT_COMPRESSION_LEVEL)
+                      .setCompressionEncodings("compress"));
+              app.get("/json", ctx -> ctx.setResponseType(io.jooby.MediaType.json).send(text));
+            })
+        .ready(
+            client -> {
+              client.header("Accept-Encoding", "gzip, deflate, br");
+              client.get(
+                  "/json",
+                  rsp -> {
+                    assertEquals(null, rsp.header("content-encoding"));
+                    assertEquals(text, rsp.body().string());
+                  });
+            });
+  }
+
   private String ungzip(byte[] buff) throws IOException {
     GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(buff));
     Scanner scanner = new Scanner(gzip);
@@ -870,6 +947,116 @@ public class FeaturedTest {
             });
   }
 
+  @ServerTest
+  public void fileSizeThreshold(ServerTestRunner runner) {
+    runner
+        .define(
+            app -> {
+              app.setServerOptions(new ServerOptions().setFileSizeThreshold(ServerOptions._4KB));
+
+              app.post(
+                  "/threshold",
+                  ctx ->
+                      ctx.files("f").stream()
+                          .map(
+                              f -> {
+                                try {
+                                  return f.getFileName()
+                                      + "="
+                                      + f.getFileSize()
+                                      + ":"
+                                      + Files.readString(f.path()).equals(new String(f.bytes()));
+                                } catch (IOException x) {
+                                  throw SneakyThrows.propagate(x);
+                                }
+                              })
+                          .collect(Collectors.toList()));
+            })
+        .ready(
+            client -> {
+              client.post(
+                  "/threshold",
+                  new MultipartBody.Builder()
+                      .setType(MultipartBody.FORM)
+                      .addFormDataPart(
+                          "f", "small.txt", create("text1", MediaType.parse("text/plain")))
+                      .addFormDataPart(
+                          "f", "19kb.txt", create(_19kb, MediaType.parse("text/plain")))
+                      .build(),
+                  rsp -> {
+                    assertEquals(
+                        "[small.txt=5:true, 19kb.txt=" + _19kb.length() + ":true]",
+                        rsp.body().string());
+                  });
+            });
+  }
+
+  @ServerTest
+  public void fileUploadListener(ServerTestRunner runner) {
+    runner
+        .define(
+            app -> {
+              app.setServerOptions(new ServerOptions().setFileSizeThreshold(ServerOptions._4KB));
+
+              List<String> uploads = new CopyOnWriteArrayList<>();
+              app.post(
+                      "/listener",
+                      ctx -> {
+                        String result =
+                            uploads + ";" + ctx.form("name").value() + ";" + ctx.files().size();
+                        uploads.clear();
+                        return result;
+                      })
+                  .setFileUploadListener(
+                      (ctx, upload) ->
+                          uploads.add(
+                              upload.getFileName()
+                                  + "="
+                                  + upload.getFileSize()
+                                  + ":"
+                                  + Files.readString(upload.path())
+                                      .equals(
+                                          upload.getFileName().equals("small.txt")
+                                              ? "text1"
+                                              : _19kb)));
+
+              app.post("/reject", ctx -> "unreachable")
+                  .setFileUploadListener(
+                      (ctx, upload) -> {
+                        throw new StatusCodeException(StatusCode.FORBIDDEN, upload.getFileName());
+                      });
+            })
+        .ready(
+            client -> {
+              client.post(
+                  "/listener",
+                  new MultipartBody.Builder()
+                      .setType(MultipartBody.FORM)
+                      .addFormDataPart("name", "uploads")
+                      .addFormDataPart(
+                          "f", "small.txt", create("text1", MediaType.parse("text/plain")))
+                      .addFormDataPart(
+                          "f", "19kb.txt", create(_19kb, MediaType.parse("text/plain")))
+                      .build(),
+                  rsp -> {
+                    assertEquals(
+                        "[small.txt=5:true, 19kb.txt=" + _19kb.length() + ":true];uploads;2",
+                        rsp.body().string());
+                  });
+
+              client.post(
+                  "/reject",
+                  new MultipartBody.Builder()
+                      .setType(MultipartBody.FORM)
+                      .addFormDataPart(
+                          "f", "small.txt", create("text1", MediaType.parse("text/plain")))
+                      .build(),
+                  rsp -> {
+                    assertEquals(StatusCode.FORBIDDEN.value(), rsp.code());
+                  });
+            });
+  }
+
   /* No Jetty bc always use a worker thread */
   @ServerTest(
       server = {NettyServer.class, UndertowServer.class},
@@ -1008,6 +1195,113 @@ public class FeaturedTest {
             });
   }
 
+  @ServerTest
+  public void nonBlockingDecoder(ServerTestRunner runner) {
+    String large = "x".repeat(100_000);
+    runner
+        .define(
+            app -> {
+              app.install(new JacksonModule().nonBlockingDecoder(true));
+
+              AtomicInteger calls = new AtomicInteger();
+              app.post(
+                  "/map",
+                  ctx -> {
+                    calls.incrementAndGet();
+                    return ctx.body(Map.class);
+                  });
+
+              app.get("/calls", ctx -> calls.get());
+
+              app.post("/size", ctx -> ((String) ctx.body(Map.class).get("text")).length());
+            })
+        .ready(
+            client -> {
+              client.header("Content-Type", "application/json");
+              client.post(
+                  "/map",
+                  create("{\"foo\": [1, {\"bar\": true}]}", json),
+                  rsp -> {
+                    assertEquals("{\"foo\":[1,{\"bar\":true}]}", rsp.body().string());
+                  });
+
+              client.header("Content-Type", "application/json");
+              client.post(
+                  "/size",
+                  create("{\"text\": \"" + large + "\"}", json),
+                  rsp -> {
+                    assertEquals("100000", rsp.body().string());
+                  });
+
+              client.header("Content-Type", "application/json");
+              client.post(
+                  "/map",
+                  create("{\"foo\": }", json),
+                  rsp -> {
+                    assertEquals(400, rsp.code());
+                  });
+
+              // route must not run when streaming decoder fails (jetty reads the body as usual)
+              client.get(
+                  "/calls",
+                  rsp -> {
+                    assertEquals(
+                        runner.getServer().equals("Jetty") ? "2" : "1", rsp.body().string());
+                  });
+            });
+  }
+
+  @ServerTest
+  public void streamingEncoder(ServerTestRunner runner) {
+    runner
+        .define(
+            app -> {
+              app.install(new JacksonModule());
+
+              app.get("/small", ctx -> Map.of("foo", "bar"));
+
+              app.get("/large", ctx -> Map.of("text", "x".repeat(40_000)));
+
+              app.get(
+                  "/error",
+                  ctx ->
+                      Map.of(
+                          "value",
+                          new Object() {
+                            public String getValue() {
+                              throw new IllegalStateException("not serializable");
+                            }
+                          }));
+            })
+        .ready(
+            client -> {
+              client.get(
+                  "/small",
+                  rsp -> {
+                    assertEquals(200, rsp.code());
+                    assertEquals("13", rsp.header("content-length"));
+                    assertEquals("{\"foo\":\"bar\"}", rsp.body().string());
+                  });
+
+              client.get(
+                  "/large",
+                  rsp -> {
+                    String expected = "{\"text\":\"" + "x".repeat(40_000) + "\"}";
+                    assertEquals(200, rsp.code());
+                    assertEquals(
+                        Integer.toString(expected.getBytes(StandardCharsets.UTF_8).length),
+                        rsp.header("content-length"));
+                    assertEquals(expected, rsp.body().string());
+                  });
+
+              client.get(
+                  "/error",
+                  rsp -> {
+                    assertEquals(500, rsp.code());
+                  });
+            });
+  }
+
   @ServerTest
   public void jsonVsRawOutput(ServerTestRunner runner) {
     runner
@@ -1516,6 +1810,39 @@ public class FeaturedTest {
             });
   }
 
+  @ServerTest
+  public void chunkedFlow(ServerTestRunner runner) {
+    runner
+        .define(
+            app -> {
+              app.getEnvironment()
+                  .setConfig(
+                      ConfigFactory.parseMap(Map.of("stream.demand", 8, "stream.chunkSize", "64b"))
+                          .withFallback(app.getConfig()));
+              app.install(new JacksonModule());
+              app.use(Reactor.reactor());
+              app.get("/json", ctx -> Flux.range(1, 1000).map(i -> Map.of("id", i)));
+              app.get("/empty", ctx -> Flux.empty().map(i -> Map.of("id", i)));
+              app.get(
+                  "/slow", ctx -> Flux.interval(Duration.ofMillis(100)).take(3).map(i -> i + ","));
+            })
+        .ready(
+            client -> {
+              String json =
+                  IntStream.rangeClosed(1, 1000)
+                      .mapToObj(i -> "{\"id\":" + i + "}")
+                      .collect(Collectors.joining(",", "[", "]"));
+              client.get(
+                  "/json",
+                  rsp -> {
+                    assertEquals("chunked", rsp.header("transfer-encoding").toLowerCase());
+                    assertEquals(json, rsp.body().string());
+                  });
+              client.get("/empty", rsp -> assertEquals("", rsp.body().string()));
+              client.get("/slow", rsp -> assertEquals("0,1,2,", rsp.body().string()));
+            });
+  }
+
   @ServerTest
   public void completableFuture(ServerTestRunner runner) {
     runner
@@ -1777,6 +2104,55 @@ public class FeaturedTest {
             });
   }
 
+  @ServerTest
+  public void bodyBufferAndTransferTo(ServerTestRunner runner) {
+    runner
+        .define(
+            app -> {
+              app.setServerOptions(
+                  new ServerOptions()
+                      .setBufferSize(ServerOptions._4KB)
+                      .setFileSizeThreshold(ServerOptions._4KB));
+              app.post(
+                  "/buffer",
+                  ctx -> {
+                    ByteBuffer buffer = ctx.body().buffer();
+                    return buffer.isReadOnly() + ":" + StandardCharsets.UTF_8.decode(buffer);
+                  });
+
+              app.post(
+                  "/transferTo",
+                  ctx -> {
+                    Path file = Files.createTempFile(app.getTmpdir(), "body", ".txt");
+                    try {
+                      long size = ctx.body().transferTo(file);
+                      return size + ":" + Files.readString(file);
+                    } finally {
+                      Files.deleteIfExists(file);
+                    }
+                  });
+            })
+        .ready(
+            client -> {
+              for (String body : List.of("small body", _19kb)) {
+                client.post(
+                    "/buffer",
+                    RequestBody.create(body, MediaType.get("text/plain")),
+                    rsp -> {
+                      assertEquals("true:" + body, rsp.body().string());
+                    });
+                client.post(
+                    "/transferTo",
+                    RequestBody.create(body, MediaType.get("text/plain")),
+                    rsp -> {
+                      assertEquals(
+                          body.getBytes(StandardCharsets.UTF_8).length + ":" + body,
+                          rsp.body().string());
+                    });
+              }
+            });
+  }
+
   @ServerTest
   public void maxRequestSize(ServerTestRunner runner) {
     runner
@@ -3288,6 +3664,68 @@ public class FeaturedTest {
             });
   }
 
+  @ServerTest
+  public void assetCache(ServerTestRunner runner) throws IOException {
+    Path dir = Files.createTempDirectory("assets");
+    String js = "console.log('cached');";
+    Files.writeString(dir.resolve("app.js"), js);
+    // content doesn't matter, client doesn't decode when Accept-Encoding is set explicitly
+    Files.writeString(dir.resolve("app.js.gz"), "gzipped");
+    Files.writeString(dir.resolve("large.txt"), _19kb);
+    runner
+        .define(
+            app -> {
+              app.assets(
+                  "/c/*",
+                  new AssetHandler(AssetSource.create(dir))
+                      .setCache(ServerOptions._4KB)
+                      .setPrecompressed(true));
+            })
+        .ready(
+            client -> {
+              for (int i = 0; i < 2; i++) {
+                client.header("Accept-Encoding", "br");
+                client.get(
+                    "/c/app.js",
+                    rsp -> {
+                      assertEquals(200, rsp.code());
+                      assertEquals(null, rsp.header("Content-Encoding"));
+                      assertEquals("Accept-Encoding", rsp.header("Vary"));
+                      assertEquals(String.valueOf(js.length()), rsp.header("Content-Length"));
+                      assertEquals(js, rsp.body().string());
+
+                      // same variant: identity
+                      client.header("Accept-Encoding", "br");
+                      client.header("If-None-Match", rsp.header("ETag"));
+                      client.get("/c/app.js", etag -> assertEquals(304, etag.code()));
+                    });
+                client.header("Accept-Encoding", "br, gzip");
+                client.get(
+                    "/c/app.js",
+                    rsp -> {
+                      assertEquals("gzip", rsp.header("Content-Encoding"));
+                      assertEquals("7", rsp.header("Content-Length"));
+                      assertEquals("gzipped", rsp.body().string());
+                    });
+                client.header("Accept-Encoding", "gzip;q=0, br");
+                client.get(
+                    "/c/app.js",
+                    rsp -> {
+                      assertEquals(null, rsp.header("Content-Encoding"));
+                      assertEquals(js, rsp.body().string());
+                    });
+                // larger than cache max size: sent from file
+                client.get(
+                    "/c/large.txt",
+                    rsp -> {
+                      assertEquals(String.valueOf(_19kb.length()), rsp.header("Content-Length"));
+                      assertEquals(_19kb, rsp.body().string());
+                    });
+              }
+              client.get("/c/missing.js", rsp -> assertEquals(404, rsp.code()));
+            });
+  }
+
   @ServerTest
   public void assetSingleFile(ServerTestRunner runner) {
     runner
@@ -4362,6 +4800,85 @@ public class FeaturedTest {
             });
   }
 
+  @ServerTest
+  public void accessLogAsync(ServerTestRunner runner) throws IOException {
+    Path file = Files.createTempFile("access", ".log");
+    file.toFile().deleteOnExit();
+    AccessLogHandler accessLog =
+        new AccessLogHandler().async(4, AccessLogHandler.Overflow.BLOCK).file(file);
+    runner
+        .define(
+            app -> {
+              app.use(accessLog);
+              app.onStop(accessLog);
+
+              app.get("/async", ctx -> "async");
+            })
+        .ready(
+            client -> {
+              for (int i = 0; i < 10; i++) {
+                client.get(
+                    "/async?q=" + i,
+                    rsp -> {
+                      assertEquals("async", rsp.body().string());
+                    });
+              }
+              List<String> lines = Files.readAllLines(file);
+              long timeout = System.currentTimeMillis() + 5000;
+              while (lines.size() < 10 && System.currentTimeMillis() < timeout) {
+                Thread.sleep(50);
+                lines = Files.readAllLines(file);
+              }
+              assertEquals(10, lines.size());
+              for (int i = 0; i < 10; i++) {
+                String request = "\"GET /async?q=" + i + " HTTP/1.1\" 200 5 ";
+                assertTrue(lines.stream().anyMatch(line -> line.contains(request)), request);
+              }
+              assertEquals(0, accessLog.getDroppedLines());
+            });
+  }
+
+  @ServerTest
+  public void rateLimit(ServerTestRunner runner) {
+    runner
+        .define(
+            app -> {
+              app.before(new RateLimitHandler(new RateLimiter(2, Duration.ofMinutes(1)), "ApiKey"));
+
+              app.get("/limit", Context::getRequestPath);
+            })
+        .ready(
+            client -> {
+              for (int i = 1; i >= 0; i--) {
+                String remaining = Integer.toString(i);
+                client.header("ApiKey", "a");
+                client.get(
+                    "/limit",
+                    rsp -> {
+                      assertEquals(200, rsp.code());
+                      assertEquals("2", rsp.header("RateLimit-Limit"));
+                      assertEquals(remaining, rsp.header("RateLimit-Remaining"));
+                    });
+              }
+              client.header("ApiKey", "a");
+              client.get(
+                  "/limit",
+                  rsp -> {
+                    assertEquals(StatusCode.TOO_MANY_REQUESTS_CODE, rsp.code());
+                    assertEquals("0", rsp.header("RateLimit-Remaining"));
+                    assertEquals("30", rsp.header("Retry-After"));
+                    assertEquals("60", rsp.header("RateLimit-Reset"));
+                  });
+              client.header("ApiKey", "b");
+              client.get(
+                  "/limit",
+                  rsp -> {
+                    assertEquals(200, rsp.code());
+                    assertEquals("1", rsp.header("RateLimit-Remaining"));
+                  });
+            });
+  }
+
   @ServerTest
   public void csrf(ServerTestRunner runner) {
     String token = UUID.randomUUID().toString();
@@ -4660,6 +5177,50 @@ public class FeaturedTest {
             });
   }
 
+  @ServerTest(executionMode = WORKER)
+  @EnabledForJreRange(min = JRE.JAVA_21)
+  public void virtualThreads(ServerTestRunner runner) {
+    runner
+        .define(
+            app -> {
+              app.setServerOptions(new ServerOptions().setVirtualThreads(true));
+              app.get("/worker", ctx -> "virtual:" + isVirtual(Thread.currentThread()));
+              app.get("/virtual", ctx -> "virtual:" + isVirtual(Thread.currentThread()))
+                  .setExecutorKey("virtual");
+            })
+        .ready(
+            client -> {
+              client.get("/worker", rsp -> assertEquals("virtual:true", rsp.body().string()));
+              client.get("/virtual", rsp -> assertEquals("virtual:true", rsp.body().string()));
+            });
+  }
+
+  /* Thread.isVirtual() is Java 21+, tests compile for Java 17: */
+  private static boolean isVirtual(Thread thread) throws ReflectiveOperationException {
+    return (Boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+  }
+
+  @ServerTest(executionMode = WORKER)
+  public void queueTime(ServerTestRunner runner) {
+    ExecutorService single = Executors.newSingleThreadExecutor();
+    runner
+        .define(
+            app -> {
+              app.setRouterOptions(RouterOption.QUEUE_TIME);
+              app.get("/worker", ctx -> ctx.<Long>getAttribute(Context.QUEUE_TIME) >= 0);
+              app.dispatch(
+                  single,
+                  () ->
+                      app.get("/dispatch", ctx -> ctx.<Long>getAttribute(Context.QUEUE_TIME) >= 0));
+              app.onStop(single::shutdown);
+            })
+        .ready(
+            client -> {
+              client.get("/worker", rsp -> assertEquals("true", rsp.body().string()));
+              client.get("/dispatch", rsp -> assertEquals("true", rsp.body().string()));
+            });
+  }
+
   private byte[][] partition(byte[] bytes, int size) {
     List<byte[]> result = new ArrayList<>();
     int offset = 0;
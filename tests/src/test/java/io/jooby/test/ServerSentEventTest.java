@@ -21,6 +21,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
 import io.jooby.ExecutionMode;
+import io.jooby.ServerSentHub;
 import io.jooby.ServerSentMessage;
 import io.jooby.jackson.JacksonModule;
 import io.jooby.junit.ServerTest;
@@ -326,4 +327,49 @@ public class ServerSentEventTest {
                   .verify();
             });
   }
+
+  @ServerTest
+  public void shouldReplayAndPublishFromHub(ServerTestRunner runner) {
+    ServerSentHub hub = new ServerSentHub();
+    runner
+        .define(
+            app -> {
+              app.onStop(hub);
+              app.onStarted(
+                  () -> {
+                    hub.publish("news", "one");
+                    hub.publish("news", "two");
+                    hub.publish("news", new ServerSentMessage("three").setEvent("update"));
+                  });
+              app.sse(
+                  "/news",
+                  sse -> {
+                    hub.subscribe("news", sse);
+                    hub.publish("news", "live");
+                  });
+            })
+        .ready(
+            client -> {
+              client.header("Last-Event-ID", "1");
+              client
+                  .sse("/news")
+                  .next(
+                      message -> {
+                        assertEquals("2", message.getId());
+                        assertEquals("two", message.getData());
+                      })
+                  .next(
+                      message -> {
+                        assertEquals("3", message.getId());
+                        assertEquals("update", message.getEvent());
+                        assertEquals("three", message.getData());
+                      })
+                  .next(
+                      message -> {
+                        assertEquals("4", message.getId());
+                        assertEquals("live", message.getData());
+                      })
+                  .verify();
+            });
+  }
 }
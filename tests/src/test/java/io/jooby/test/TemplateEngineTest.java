@@ -7,11 +7,15 @@ package io.jooby.test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.nio.charset.StandardCharsets;
+
 import io.jooby.ModelAndView;
 import io.jooby.freemarker.FreemarkerModule;
 import io.jooby.handlebars.HandlebarsModule;
+import io.jooby.jte.JteModule;
 import io.jooby.junit.ServerTest;
 import io.jooby.junit.ServerTestRunner;
+import io.jooby.pebble.PebbleModule;
 import io.jooby.thymeleaf.ThymeleafModule;
 
 public class TemplateEngineTest {
@@ -23,10 +27,17 @@ public class TemplateEngineTest {
               app.install(new ThymeleafModule());
               app.install(new HandlebarsModule());
               app.install(new FreemarkerModule());
+              app.install(new PebbleModule());
+              app.install(
+                  new JteModule(
+                      runner.resolvePath("src", "test", "resources", "views"),
+                      runner.resolvePath("target", "jte-classes")));
 
               app.get("/1", ctx -> new ModelAndView("index.hbs").put("name", "Handlebars"));
               app.get("/2", ctx -> new ModelAndView("index.ftl").put("name", "Freemarker"));
               app.get("/3", ctx -> new ModelAndView("index.html").put("name", "Thymeleaf"));
+              app.get("/4", ctx -> new ModelAndView("index.peb").put("name", "Pebble"));
+              app.get("/5", ctx -> new ModelAndView("index.jte").put("name", "Jte"));
             })
         .ready(
             client -> {
@@ -54,6 +65,16 @@ public class TemplateEngineTest {
                             + "</html>",
                         rsp.body().string().replace("\r", "").trim());
                   });
+              client.get(
+                  "/4",
+                  rsp -> {
+                    assertEquals("Hello Pebble!", rsp.body().string().trim());
+                  });
+              client.get(
+                  "/5",
+                  rsp -> {
+                    assertEquals("Hello Jte!", rsp.body().string().trim());
+                  });
             });
   }
 
@@ -125,4 +146,38 @@ public class TemplateEngineTest {
                   });
             });
   }
+
+  @ServerTest
+  public void largeTemplate(ServerTestRunner runner) {
+    StringBuilder expected = new StringBuilder();
+    for (int i = 1; i <= 20000; i++) {
+      expected.append(i).append(" ñandú €\n");
+    }
+    runner
+        .define(
+            app -> {
+              app.install(new FreemarkerModule());
+
+              app.get("/large", ctx -> new ModelAndView("large.ftl").put("count", 20000));
+
+              app.get("/missing", ctx -> new ModelAndView("large.ftl"));
+            })
+        .ready(
+            client -> {
+              client.get(
+                  "/large",
+                  rsp -> {
+                    byte[] bytes = rsp.body().bytes();
+                    assertEquals(expected.toString(), new String(bytes, StandardCharsets.UTF_8));
+                    assertEquals(Integer.toString(bytes.length), rsp.header("Content-Length"));
+                    assertEquals(
+                        "text/html;charset=utf-8", rsp.header("Content-Type").toLowerCase());
+                  });
+              client.get(
+                  "/missing",
+                  rsp -> {
+                    assertEquals(500, rsp.code());
+                  });
+            });
+  }
 }
@@ -144,6 +144,45 @@ public class WebSocketTest {
             });
   }
 
+  @ServerTest
+  public void webSocketBroadcast(ServerTestRunner runner) {
+    runner
+        .define(
+            app -> {
+              app.install(new JacksonModule());
+
+              app.ws(
+                  "/broadcast",
+                  (ctx, initializer) -> {
+                    initializer.onMessage(
+                        (ws, message) -> {
+                          JsonNode node = message.to(JsonNode.class);
+                          if (node.has("binary")) {
+                            ws.broadcastBinary(node);
+                          } else {
+                            ws.broadcast(node);
+                          }
+                        });
+                  });
+            })
+        .ready(
+            client -> {
+              client.syncWebSocket(
+                  "/broadcast",
+                  ws1 -> {
+                    client.syncWebSocket(
+                        "/broadcast",
+                        ws2 -> {
+                          assertEquals("{\"message\":\"Hi\"}", ws2.send("{\"message\":\"Hi\"}"));
+                          assertEquals("{\"message\":\"Hi\"}", ws1.lastMessage());
+
+                          assertEquals("{\"binary\":true}", ws1.send("{\"binary\":true}"));
+                          assertEquals("{\"binary\":true}", ws2.lastMessage());
+                        });
+                  });
+            });
+  }
+
   @ServerTest
   public void webSocketBinary(ServerTestRunner runner) {
     runner
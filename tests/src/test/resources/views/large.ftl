@@ -0,0 +1,2 @@
+<#list 1..count as i>${i?c} ñandú €
+</#list>